@@ -1,6 +1,10 @@
 package com.leap.training.gateway.config;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Properties specific to Document.
@@ -9,4 +13,140 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final Jpa jpa = new Jpa();
+
+    private final JwtCache jwtCache = new JwtCache();
+
+    private final Cache cache = new Cache();
+
+    public Jpa getJpa() {
+        return jpa;
+    }
+
+    public JwtCache getJwtCache() {
+        return jwtCache;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public static class Jpa {
+
+        /**
+         * Hibernate optimizer used for the {@code sequenceGenerator} ids, {@code pooled-lo} or {@code pooled}.
+         * Both hand out a block of {@code allocationSize} ids per sequence call. Moving from {@code pooled-lo}
+         * back to {@code pooled} on a live database can reuse ids, so do not switch in that direction.
+         */
+        private String idOptimizer = "pooled-lo";
+
+        /**
+         * Number of statements Hibernate groups into one JDBC batch, inserts and updates are ordered to fill them.
+         */
+        private int batchSize = 50;
+
+        public String getIdOptimizer() {
+            return idOptimizer;
+        }
+
+        public void setIdOptimizer(String idOptimizer) {
+            this.idOptimizer = idOptimizer;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+
+    public static class JwtCache {
+
+        /**
+         * Maximum number of verified tokens whose authentication is kept, 0 to verify every token on every request.
+         */
+        private int maxEntries = 10_000;
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Settings of the cache regions by region name, the entity class name or the collection role for the
+         * Hibernate caches. A region, or a setting, left out keeps {@code jhipster.cache.ehcache}.
+         */
+        private final Map<String, Region> regions = new LinkedHashMap<>();
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public static class Region {
+
+            /**
+             * Maximum number of entries kept on the heap.
+             */
+            private Long heapEntries;
+
+            /**
+             * Size of an off-heap tier behind the heap, none if not set. Off-heap entries are stored serialized
+             * and do not add to the garbage collector work.
+             */
+            private DataSize offHeap;
+
+            /**
+             * How long an entry is kept after it is written.
+             */
+            private Duration timeToLive;
+
+            /**
+             * When set, each read of an entry keeps it for this long from the read, instead of the remaining
+             * time to live.
+             */
+            private Duration timeToIdle;
+
+            public Long getHeapEntries() {
+                return heapEntries;
+            }
+
+            public void setHeapEntries(Long heapEntries) {
+                this.heapEntries = heapEntries;
+            }
+
+            public DataSize getOffHeap() {
+                return offHeap;
+            }
+
+            public void setOffHeap(DataSize offHeap) {
+                this.offHeap = offHeap;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+
+            public Duration getTimeToIdle() {
+                return timeToIdle;
+            }
+
+            public void setTimeToIdle(Duration timeToIdle) {
+                this.timeToIdle = timeToIdle;
+            }
+        }
+    }
+}
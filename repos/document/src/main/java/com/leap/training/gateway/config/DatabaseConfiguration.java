@@ -1,8 +1,10 @@
 package com.leap.training.gateway.config;
 
 import java.sql.SQLException;
+import org.hibernate.cfg.AvailableSettings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -41,6 +43,26 @@ public class DatabaseConfiguration {
         return H2ConfigurationHelper.createServer(port);
     }
 
+    /**
+     * Configure id allocation and JDBC batching from {@link ApplicationProperties.Jpa}, so that inserts take
+     * their ids from memory and reach the database in batches.
+     *
+     * @param applicationProperties the application properties.
+     * @return the Hibernate properties customizer.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateBatchingCustomizer(ApplicationProperties applicationProperties) {
+        ApplicationProperties.Jpa jpa = applicationProperties.getJpa();
+        log.debug("Hibernate id optimizer: {}, JDBC batch size: {}", jpa.getIdOptimizer(), jpa.getBatchSize());
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, jpa.getIdOptimizer());
+            hibernateProperties.put(AvailableSettings.STATEMENT_BATCH_SIZE, jpa.getBatchSize());
+            hibernateProperties.put(AvailableSettings.ORDER_INSERTS, true);
+            hibernateProperties.put(AvailableSettings.ORDER_UPDATES, true);
+            hibernateProperties.put(AvailableSettings.BATCH_VERSIONED_DATA, true);
+        };
+    }
+
     private String getValidPortForH2() {
         int port = Integer.parseInt(env.getProperty("server.port"));
         if (port < 10000) {
@@ -1,7 +1,11 @@
 package com.leap.training.gateway.repository;
 
 import com.leap.training.gateway.domain.Document;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +13,13 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface DocumentRepository extends JpaRepository<Document, Long> {}
+public interface DocumentRepository extends JpaRepository<Document, Long> {
+    Page<Document> findAllByEmployeeId(Long employeeId, Pageable pageable);
+
+    @Query("select document from Document document where document.employeeId = :employeeId and document.id > :afterId order by document.id asc")
+    List<Document> findAllByEmployeeIdAfter(
+        @Param("employeeId") Long employeeId,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+}
@@ -0,0 +1,148 @@
+package com.leap.training.gateway.security.jwt;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Bounded cache of the {@link Authentication} parsed from valid JWTs.
+ * <p>
+ * Entries are keyed by the SHA-256 digest of the token and are dropped once the token expires, so a cached
+ * authentication is never returned for a token the parser would now reject. Only valid tokens are stored.
+ * <p>
+ * When the cache is full, a tenth of it is freed at once, the expired tokens first and then the tokens expiring
+ * soonest, so that the cost of a full sweep is shared by the puts that follow it.
+ * <p>
+ * The gateway and each service build separately and share no module, so this class is a per-service copy of the
+ * gateway's {@code TokenCache}: keep the copies in sync.
+ */
+class TokenCache {
+
+    private static final String CACHE_NAME = "jwt";
+
+    private static final int EVICTION_FRACTION = 10;
+
+    private final int maxEntries;
+
+    private final Clock clock;
+
+    private final Map<ByteBuffer, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter evictions;
+
+    TokenCache(int maxEntries, MeterRegistry meterRegistry, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        this.hits = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", CACHE_NAME).register(meterRegistry);
+        Gauge.builder("cache.size", entries, Map::size).tag("cache", CACHE_NAME).register(meterRegistry);
+    }
+
+    /**
+     * @param token the JWT.
+     * @return the authentication of the token, or {@code null} if it is not cached or has expired.
+     */
+    Authentication get(String token) {
+        ByteBuffer key = digest(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAt <= clock.millis()) {
+            if (entries.remove(key, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.authentication;
+    }
+
+    /**
+     * @param token the JWT, which must have been verified.
+     * @param authentication the authentication parsed from the token.
+     * @param expiration the expiration of the token; tokens without one are not cached.
+     */
+    void put(String token, Authentication authentication, Date expiration) {
+        if (maxEntries <= 0 || expiration == null) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            makeRoom();
+        }
+        entries.put(digest(token), new Entry(authentication, expiration.getTime()));
+    }
+
+    private synchronized void makeRoom() {
+        int target = maxEntries - Math.max(1, maxEntries / EVICTION_FRACTION);
+        if (entries.size() <= target) {
+            // Another thread has just made room
+            return;
+        }
+        long now = clock.millis();
+        entries
+            .entrySet()
+            .removeIf(entry -> {
+                boolean expired = entry.getValue().expiresAt <= now;
+                if (expired) {
+                    evictions.increment();
+                }
+                return expired;
+            });
+        if (entries.size() <= target) {
+            return;
+        }
+        // Still full of live tokens: drop those expiring soonest, they will simply be parsed again
+        List<ByteBuffer> soonestExpiring = entries
+            .entrySet()
+            .stream()
+            .sorted(Comparator.comparingLong(entry -> entry.getValue().expiresAt))
+            .limit(entries.size() - target)
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList());
+        soonestExpiring.forEach(key -> {
+            if (entries.remove(key) != null) {
+                evictions.increment();
+            }
+        });
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class Entry {
+
+        private final Authentication authentication;
+
+        private final long expiresAt;
+
+        private Entry(Authentication authentication, long expiresAt) {
+            this.authentication = authentication;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package com.leap.training.gateway.security.jwt;
 
+import com.leap.training.gateway.config.ApplicationProperties;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Clock;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,7 +38,13 @@ public class TokenProvider {
 
     private final long tokenValidityInMillisecondsForRememberMe;
 
-    public TokenProvider(JHipsterProperties jHipsterProperties) {
+    private final TokenCache tokenCache;
+
+    private final Timer validTokenTimer;
+
+    private final Timer invalidTokenTimer;
+
+    public TokenProvider(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
         byte[] keyBytes;
         String secret = jHipsterProperties.getSecurity().getAuthentication().getJwt().getBase64Secret();
         if (!ObjectUtils.isEmpty(secret)) {
@@ -52,6 +63,17 @@ public class TokenProvider {
         this.tokenValidityInMilliseconds = 1000 * jHipsterProperties.getSecurity().getAuthentication().getJwt().getTokenValidityInSeconds();
         this.tokenValidityInMillisecondsForRememberMe =
             1000 * jHipsterProperties.getSecurity().getAuthentication().getJwt().getTokenValidityInSecondsForRememberMe();
+        this.tokenCache = new TokenCache(applicationProperties.getJwtCache().getMaxEntries(), meterRegistry, Clock.systemUTC());
+        this.validTokenTimer = verifyTimer(meterRegistry, "valid");
+        this.invalidTokenTimer = verifyTimer(meterRegistry, "invalid");
+    }
+
+    private static Timer verifyTimer(MeterRegistry meterRegistry, String result) {
+        return Timer
+            .builder("security.jwt.verify")
+            .description("Time spent verifying the signature and parsing the claims of a JWT")
+            .tag("result", result)
+            .register(meterRegistry);
     }
 
     public String createToken(Authentication authentication, boolean rememberMe) {
@@ -75,7 +97,19 @@ public class TokenProvider {
     }
 
     public Authentication getAuthentication(String token) {
-        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        Authentication cached = tokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        long start = System.nanoTime();
+        Claims claims;
+        try {
+            claims = jwtParser.parseClaimsJws(token).getBody();
+        } catch (RuntimeException e) {
+            invalidTokenTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        validTokenTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
         Collection<? extends GrantedAuthority> authorities = Arrays
             .stream(claims.get(AUTHORITIES_KEY).toString().split(","))
@@ -85,17 +119,28 @@ public class TokenProvider {
 
         User principal = new User(claims.getSubject(), "", authorities);
 
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        Authentication authentication = new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        tokenCache.put(token, authentication, claims.getExpiration());
+        return authentication;
     }
 
-    public boolean validateToken(String authToken) {
+    /**
+     * Verify the token and build its authentication in one pass.
+     *
+     * @param token the JWT.
+     * @return the authentication, or {@code null} if the token is not valid.
+     */
+    public Authentication getValidAuthentication(String token) {
         try {
-            jwtParser.parseClaimsJws(authToken);
-            return true;
+            return getAuthentication(token);
         } catch (JwtException | IllegalArgumentException e) {
             log.info("Invalid JWT token.");
             log.trace("Invalid JWT token trace.", e);
         }
-        return false;
+        return null;
+    }
+
+    public boolean validateToken(String authToken) {
+        return getValidAuthentication(authToken) != null;
     }
 }
@@ -3,16 +3,13 @@ package com.leap.training.gateway.service;
 import com.leap.training.gateway.domain.Document;
 import com.leap.training.gateway.repository.DocumentRepository;
 
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collector;
-import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -80,29 +77,31 @@ public class DocumentService {
         return documentRepository.findAll(pageable);
     }
 
+    /**
+     * Get all the documents of an employee.
+     *
+     * @param pageable the pagination information.
+     * @param emid the id of the employee owning the documents.
+     * @return the list of entities.
+     */
     @Transactional(readOnly = true)
     public Page<Document> findAllByEmployeeId(Pageable pageable, Long emid) {
-        log.debug("Request to get all Documents");
-        
-        List<Document> list = documentRepository.findAll(pageable)
-                                .stream()
-                                .filter(document-> document.getEmployeeId() == emid)
-                                .collect(Collectors.toList());
-
-        int pageSize = pageable.getPageSize();
-        int currentPage = pageable.getPageNumber();
-        int startItem = currentPage * pageSize;
-
-        List<Document> currentPageList;
-
-        if (list.size() < startItem) {
-            currentPageList = Collections.emptyList();
-        } else {
-            int toIndex = Math.min(startItem + pageSize, list.size());
-            currentPageList = list.subList(startItem, toIndex);
-        }
+        log.debug("Request to get all Documents of Employee : {}", emid);
+        return documentRepository.findAllByEmployeeId(emid, pageable);
+    }
 
-        return new PageImpl<>(currentPageList, pageable, list.size());
+    /**
+     * Get the documents of an employee following the given document id, ordered by id.
+     *
+     * @param emid the id of the employee owning the documents.
+     * @param afterId the id of the last document already returned to the client.
+     * @param size the maximum number of entities to return.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public List<Document> findAllByEmployeeIdAfter(Long emid, Long afterId, int size) {
+        log.debug("Request to get Documents of Employee : {} after : {}", emid, afterId);
+        return documentRepository.findAllByEmployeeIdAfter(emid, afterId, PageRequest.of(0, size));
     }
 
     /**
@@ -152,14 +152,36 @@ public class DocumentResource {
     }
 
     /**
-     * {@code GET  /documents} : get all the documents.
+     * {@code GET  /documents/:emid} : get all the documents of an employee.
+     * <p>
+     * When {@code afterId} is given, the documents following that id are returned in id order without
+     * counting the total, and a {@code next} link to the following slice is added while more may exist.
      *
      * @param pageable the pagination information.
+     * @param emid the id of the employee owning the documents.
+     * @param afterId the id of the last document already read, for keyset pagination.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of documents in body.
      */
     @GetMapping("/documents/{emid}")
-    public ResponseEntity<List<Document>> getAllDocuments(Pageable pageable,@PathVariable Long emid) {
-        log.debug("REST request to get a page of Documents");
+    public ResponseEntity<List<Document>> getAllDocuments(
+        Pageable pageable,
+        @PathVariable Long emid,
+        @RequestParam(value = "afterId", required = false) Long afterId
+    ) {
+        log.debug("REST request to get a page of Documents of Employee : {}", emid);
+        if (afterId != null) {
+            List<Document> documents = documentService.findAllByEmployeeIdAfter(emid, afterId, pageable.getPageSize());
+            HttpHeaders headers = new HttpHeaders();
+            if (documents.size() == pageable.getPageSize()) {
+                String next = ServletUriComponentsBuilder
+                    .fromCurrentRequest()
+                    .replaceQueryParam("afterId", documents.get(documents.size() - 1).getId())
+                    .replaceQueryParam("page")
+                    .toUriString();
+                headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+            }
+            return ResponseEntity.ok().headers(headers).body(documents);
+        }
         Page<Document> page = documentService.findAllByEmployeeId(pageable, emid);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
@@ -1,7 +1,7 @@
 package com.leap.training.gateway.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -16,6 +16,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -130,6 +131,40 @@ class DocumentResourceIT {
             .andExpect(jsonPath("$.[*].employeeId").value(hasItem(DEFAULT_EMPLOYEE_ID.intValue())));
     }
 
+    @Test
+    @Transactional
+    void getAllDocumentsByEmployeeId() throws Exception {
+        // Initialize the database
+        documentRepository.saveAndFlush(document);
+        Document otherDocument = createUpdatedEntity(em);
+        documentRepository.saveAndFlush(otherDocument);
+
+        // Get the documentList of the default employee only
+        restDocumentMockMvc
+            .perform(get(ENTITY_API_URL + "/{emid}?sort=id,desc", DEFAULT_EMPLOYEE_ID))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(document.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(otherDocument.getId().intValue()))))
+            .andExpect(jsonPath("$.[*].employeeId").value(everyItem(is(DEFAULT_EMPLOYEE_ID.intValue()))));
+    }
+
+    @Test
+    @Transactional
+    void getAllDocumentsByEmployeeIdAfterId() throws Exception {
+        // Initialize the database
+        documentRepository.saveAndFlush(document);
+        Document nextDocument = createEntity(em);
+        documentRepository.saveAndFlush(nextDocument);
+
+        // Get the documents following the first one
+        restDocumentMockMvc
+            .perform(get(ENTITY_API_URL + "/{emid}?afterId={afterId}&size=1", DEFAULT_EMPLOYEE_ID, document.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.LINK, containsString("afterId=" + nextDocument.getId())))
+            .andExpect(jsonPath("$.[*].id").value(contains(nextDocument.getId().intValue())));
+    }
+
     @Test
     @Transactional
     void getDocument() throws Exception {
@@ -0,0 +1,90 @@
+package com.leap.training.employee.cache;
+
+import java.util.Objects;
+
+/**
+ * An entry, or a set of entries, of the second level cache that another instance must drop.
+ */
+public class CacheInvalidation {
+
+    public enum Type {
+        /** One entity, by entity name and id. */
+        ENTITY,
+        /** One collection, by collection role and owner id. */
+        COLLECTION,
+        /** All the cached query results. */
+        QUERIES,
+    }
+
+    private Type type;
+
+    private String role;
+
+    private Long id;
+
+    public CacheInvalidation() {}
+
+    private CacheInvalidation(Type type, String role, Long id) {
+        this.type = type;
+        this.role = role;
+        this.id = id;
+    }
+
+    public static CacheInvalidation entity(String entityName, Long id) {
+        return new CacheInvalidation(Type.ENTITY, entityName, id);
+    }
+
+    public static CacheInvalidation collection(String role, Long ownerId) {
+        return new CacheInvalidation(Type.COLLECTION, role, ownerId);
+    }
+
+    public static CacheInvalidation queries() {
+        return new CacheInvalidation(Type.QUERIES, null, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CacheInvalidation)) {
+            return false;
+        }
+        CacheInvalidation that = (CacheInvalidation) o;
+        return type == that.type && Objects.equals(role, that.role) && Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, role, id);
+    }
+
+    @Override
+    public String toString() {
+        return "CacheInvalidation{type=" + type + ", role='" + role + "', id=" + id + "}";
+    }
+}
@@ -0,0 +1,260 @@
+package com.leap.training.employee.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.hibernate.Cache;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the second level cache of the other instances in line with the writes committed by this one.
+ * <p>
+ * The committed updates and deletes of cached entities, the updates of cached collections and, when the query
+ * cache is on, any write at all are queued and sent through the {@link CacheInvalidationTransport} off the committing
+ * thread. Invalidations queued while a send is in progress are deduplicated and sent together. The invalidations
+ * received from the other instances are evicted from the local cache.
+ */
+public class CacheInvalidationBroadcaster implements AutoCloseable {
+
+    private final Logger log = LoggerFactory.getLogger(CacheInvalidationBroadcaster.class);
+
+    private final Cache cache;
+
+    private final boolean queryCacheEnabled;
+
+    private final CacheInvalidationTransport transport;
+
+    private final Executor executor;
+
+    private final int batchSize;
+
+    private final Queue<CacheInvalidation> pending = new ConcurrentLinkedQueue<>();
+
+    private final AtomicBoolean sending = new AtomicBoolean();
+
+    private final Counter sent;
+
+    private final Counter failed;
+
+    private final Counter received;
+
+    public CacheInvalidationBroadcaster(
+        Cache cache,
+        boolean queryCacheEnabled,
+        CacheInvalidationTransport transport,
+        Executor executor,
+        int batchSize,
+        MeterRegistry meterRegistry
+    ) {
+        this.cache = cache;
+        this.queryCacheEnabled = queryCacheEnabled;
+        this.transport = transport;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.sent = invalidationCounter(meterRegistry, "sent");
+        this.failed = invalidationCounter(meterRegistry, "failed");
+        this.received = invalidationCounter(meterRegistry, "received");
+        transport.subscribe(this::receive);
+    }
+
+    private static Counter invalidationCounter(MeterRegistry meterRegistry, String result) {
+        return Counter
+            .builder("cache.invalidations")
+            .description("Second level cache invalidations exchanged with the other instances")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Listen to the writes of a session factory.
+     *
+     * @param eventListenerRegistry the event listener registry of the session factory.
+     */
+    public void register(EventListenerRegistry eventListenerRegistry) {
+        WriteListener listener = new WriteListener();
+        eventListenerRegistry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+        eventListenerRegistry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        eventListenerRegistry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+        eventListenerRegistry.appendListeners(EventType.POST_COLLECTION_UPDATE, listener);
+    }
+
+    /**
+     * Queue an invalidation for the other instances.
+     *
+     * @param invalidation the invalidation to send.
+     */
+    public void invalidate(CacheInvalidation invalidation) {
+        pending.add(invalidation);
+        scheduleSend();
+    }
+
+    private void scheduleSend() {
+        if (!pending.isEmpty() && sending.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::send);
+            } catch (RejectedExecutionException e) {
+                sending.set(false);
+                log.warn("Dropping {} cache invalidations, the broadcaster is shut down", pending.size());
+                pending.clear();
+            }
+        }
+    }
+
+    private void send() {
+        try {
+            while (!pending.isEmpty()) {
+                Set<CacheInvalidation> queued = new LinkedHashSet<>();
+                CacheInvalidation invalidation;
+                while ((invalidation = pending.poll()) != null) {
+                    queued.add(invalidation);
+                }
+                List<CacheInvalidation> invalidations = new ArrayList<>(queued);
+                for (int from = 0; from < invalidations.size(); from += batchSize) {
+                    publish(invalidations.subList(from, Math.min(from + batchSize, invalidations.size())));
+                }
+            }
+        } finally {
+            sending.set(false);
+        }
+        // Catch an invalidation queued after the loop ended but before the flag was cleared
+        scheduleSend();
+    }
+
+    private void publish(List<CacheInvalidation> batch) {
+        try {
+            transport.publish(batch);
+            sent.increment(batch.size());
+        } catch (RuntimeException e) {
+            failed.increment(batch.size());
+            log.warn("Could not send {} cache invalidations: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Evict the entries invalidated by another instance.
+     *
+     * @param invalidations the invalidations received.
+     */
+    void receive(List<CacheInvalidation> invalidations) {
+        log.debug("Evicting {} entries invalidated by another instance", invalidations.size());
+        for (CacheInvalidation invalidation : invalidations) {
+            switch (invalidation.getType()) {
+                case ENTITY:
+                    cache.evictEntityData(invalidation.getRole(), invalidation.getId());
+                    break;
+                case COLLECTION:
+                    cache.evictCollectionData(invalidation.getRole(), invalidation.getId());
+                    break;
+                case QUERIES:
+                    cache.evictQueryRegions();
+                    break;
+                default:
+                    log.warn("Ignoring unknown cache invalidation {}", invalidation);
+            }
+        }
+        received.increment(invalidations.size());
+    }
+
+    @Override
+    public void close() {
+        if (executor instanceof ExecutorService) {
+            ((ExecutorService) executor).shutdown();
+        }
+    }
+
+    private void invalidateQueries() {
+        // Without the query cache the other instances have nothing to evict
+        if (queryCacheEnabled) {
+            invalidate(CacheInvalidation.queries());
+        }
+    }
+
+    private static Long id(Serializable id) {
+        return ((Number) id).longValue();
+    }
+
+    private class WriteListener
+        implements
+            PostCommitInsertEventListener,
+            PostCommitUpdateEventListener,
+            PostCommitDeleteEventListener,
+            PostCollectionUpdateEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            invalidateQueries();
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            if (event.getPersister().canWriteToCache()) {
+                invalidate(CacheInvalidation.entity(event.getPersister().getEntityName(), id(event.getId())));
+            }
+            invalidateQueries();
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            if (event.getPersister().canWriteToCache()) {
+                invalidate(CacheInvalidation.entity(event.getPersister().getEntityName(), id(event.getId())));
+            }
+            invalidateQueries();
+        }
+
+        @Override
+        public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+            String role = event.getCollection().getRole();
+            Serializable ownerId = event.getAffectedOwnerIdOrNull();
+            CollectionPersister persister = event.getSession().getFactory().getMetamodel().collectionPersister(role);
+            if (ownerId == null || !persister.hasCache()) {
+                return;
+            }
+            // Collection events fire at flush: wait for the commit, or the others could cache the old state again
+            event
+                .getSession()
+                .getActionQueue()
+                .registerProcess((success, session) -> {
+                    if (success) {
+                        invalidate(CacheInvalidation.collection(role, id(ownerId)));
+                    }
+                });
+        }
+
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {}
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {}
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {}
+
+        @Override
+        public boolean requiresPostCommitHanding(EntityPersister persister) {
+            return true;
+        }
+    }
+}
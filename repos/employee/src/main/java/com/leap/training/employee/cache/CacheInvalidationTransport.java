@@ -0,0 +1,23 @@
+package com.leap.training.employee.cache;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Carries the cache invalidations of an instance to the other instances of the service.
+ * <p>
+ * Delivery is best effort: an invalidation that is lost leaves the entry cached until it expires.
+ */
+public interface CacheInvalidationTransport {
+    /**
+     * Send invalidations to every other instance, never back to this one.
+     *
+     * @param invalidations the invalidations to send.
+     */
+    void publish(List<CacheInvalidation> invalidations);
+
+    /**
+     * @param receiver called with the invalidations published by the other instances.
+     */
+    void subscribe(Consumer<List<CacheInvalidation>> receiver);
+}
@@ -0,0 +1,101 @@
+package com.leap.training.employee.cache;
+
+import com.leap.training.employee.security.AuthoritiesConstants;
+import com.leap.training.employee.security.jwt.TokenProvider;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Transport posting the invalidations to the other instances of the service registered in the discovery server.
+ * <p>
+ * The calls carry a JWT signed with the secret shared by the services, with the admin authority required by
+ * {@link #PATH}. An instance that cannot be reached is skipped: its entries stay cached until they expire.
+ */
+public class HttpCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    public static final String PATH = "/api/admin/cache-invalidations";
+
+    private static final Authentication SYSTEM_AUTHENTICATION = new UsernamePasswordAuthenticationToken(
+        "system",
+        null,
+        List.of(new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN))
+    );
+
+    private final Logger log = LoggerFactory.getLogger(HttpCacheInvalidationTransport.class);
+
+    private final DiscoveryClient discoveryClient;
+
+    private final Registration registration;
+
+    private final TokenProvider tokenProvider;
+
+    private final RestTemplate restTemplate;
+
+    private volatile Consumer<List<CacheInvalidation>> receiver;
+
+    public HttpCacheInvalidationTransport(
+        DiscoveryClient discoveryClient,
+        Registration registration,
+        TokenProvider tokenProvider,
+        RestTemplate restTemplate
+    ) {
+        this.discoveryClient = discoveryClient;
+        this.registration = registration;
+        this.tokenProvider = tokenProvider;
+        this.restTemplate = restTemplate;
+    }
+
+    @Override
+    public void publish(List<CacheInvalidation> invalidations) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(tokenProvider.createToken(SYSTEM_AUTHENTICATION, false));
+        HttpEntity<List<CacheInvalidation>> request = new HttpEntity<>(invalidations, headers);
+        for (ServiceInstance instance : discoveryClient.getInstances(registration.getServiceId())) {
+            if (isSelf(instance)) {
+                continue;
+            }
+            try {
+                restTemplate.postForEntity(instance.getUri().resolve(PATH), request, Void.class);
+            } catch (RestClientException e) {
+                log.warn("Could not send {} cache invalidations to {}: {}", invalidations.size(), instance.getUri(), e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<List<CacheInvalidation>> receiver) {
+        this.receiver = receiver;
+    }
+
+    /**
+     * Hand the invalidations posted by another instance to the receiver.
+     *
+     * @param invalidations the invalidations received.
+     */
+    public void receive(List<CacheInvalidation> invalidations) {
+        Consumer<List<CacheInvalidation>> current = receiver;
+        if (current != null) {
+            current.accept(invalidations);
+        }
+    }
+
+    private boolean isSelf(ServiceInstance instance) {
+        if (instance.getInstanceId() != null && registration.getInstanceId() != null) {
+            return instance.getInstanceId().equals(registration.getInstanceId());
+        }
+        return Objects.equals(instance.getHost(), registration.getHost()) && instance.getPort() == registration.getPort();
+    }
+}
@@ -0,0 +1,48 @@
+package com.leap.training.employee.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Transport between instances running in the same JVM, delivering synchronously.
+ * <p>
+ * Each transport is one instance on a shared bus; {@link #join()} adds another instance to the bus of this one.
+ */
+public class InProcessCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private final List<InProcessCacheInvalidationTransport> bus;
+
+    private volatile Consumer<List<CacheInvalidation>> receiver;
+
+    public InProcessCacheInvalidationTransport() {
+        this(new CopyOnWriteArrayList<>());
+    }
+
+    private InProcessCacheInvalidationTransport(List<InProcessCacheInvalidationTransport> bus) {
+        this.bus = bus;
+        bus.add(this);
+    }
+
+    /**
+     * @return a new instance on the bus of this one.
+     */
+    public InProcessCacheInvalidationTransport join() {
+        return new InProcessCacheInvalidationTransport(bus);
+    }
+
+    @Override
+    public void publish(List<CacheInvalidation> invalidations) {
+        for (InProcessCacheInvalidationTransport peer : bus) {
+            Consumer<List<CacheInvalidation>> peerReceiver = peer.receiver;
+            if (peer != this && peerReceiver != null) {
+                peerReceiver.accept(invalidations);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<List<CacheInvalidation>> receiver) {
+        this.receiver = receiver;
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Invalidation of the second level cache across the instances of the service.
+ */
+package com.leap.training.employee.cache;
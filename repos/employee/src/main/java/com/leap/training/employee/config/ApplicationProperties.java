@@ -1,6 +1,10 @@
 package com.leap.training.employee.config;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Properties specific to Employee.
@@ -9,4 +13,257 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final Jpa jpa = new Jpa();
+
+    private final BulkImport bulkImport = new BulkImport();
+
+    private final JwtCache jwtCache = new JwtCache();
+
+    private final Cache cache = new Cache();
+
+    private final QueryCache queryCache = new QueryCache();
+
+    private final CacheInvalidation cacheInvalidation = new CacheInvalidation();
+
+    public Jpa getJpa() {
+        return jpa;
+    }
+
+    public BulkImport getBulkImport() {
+        return bulkImport;
+    }
+
+    public JwtCache getJwtCache() {
+        return jwtCache;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public QueryCache getQueryCache() {
+        return queryCache;
+    }
+
+    public CacheInvalidation getCacheInvalidation() {
+        return cacheInvalidation;
+    }
+
+    public static class Jpa {
+
+        /**
+         * Hibernate optimizer used for the {@code sequenceGenerator} ids, {@code pooled-lo} or {@code pooled}.
+         * Both hand out a block of {@code allocationSize} ids per sequence call. Moving from {@code pooled-lo}
+         * back to {@code pooled} on a live database can reuse ids, so do not switch in that direction.
+         */
+        private String idOptimizer = "pooled-lo";
+
+        /**
+         * Number of statements Hibernate groups into one JDBC batch, inserts and updates are ordered to fill them.
+         */
+        private int batchSize = 50;
+
+        public String getIdOptimizer() {
+            return idOptimizer;
+        }
+
+        public void setIdOptimizer(String idOptimizer) {
+            this.idOptimizer = idOptimizer;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+
+    public static class BulkImport {
+
+        /**
+         * Number of rows written per transaction by the bulk import.
+         */
+        private int chunkSize = 500;
+
+        /**
+         * Maximum number of row errors reported back to the client, further errors are only counted.
+         */
+        private int maxReportedErrors = 1000;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getMaxReportedErrors() {
+            return maxReportedErrors;
+        }
+
+        public void setMaxReportedErrors(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+    }
+
+    public static class JwtCache {
+
+        /**
+         * Maximum number of verified tokens whose authentication is kept, 0 to verify every token on every request.
+         */
+        private int maxEntries = 10_000;
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+
+    public static class QueryCache {
+
+        /**
+         * Cache the results of the list queries marked as cacheable. A cached result is dropped as soon as one of
+         * the tables it reads is written, so it never outlives a change made through this instance. The regions
+         * are sized in {@code application.cache.regions}.
+         */
+        private boolean enabled = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+    }
+
+    public static class Cache {
+
+        /**
+         * Settings of the cache regions by region name, the entity class name or the collection role for the
+         * Hibernate caches. A region, or a setting, left out keeps {@code jhipster.cache.ehcache}.
+         */
+        private final Map<String, Region> regions = new LinkedHashMap<>();
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public static class Region {
+
+            /**
+             * Maximum number of entries kept on the heap.
+             */
+            private Long heapEntries;
+
+            /**
+             * Size of an off-heap tier behind the heap, none if not set. Off-heap entries are stored serialized
+             * and do not add to the garbage collector work.
+             */
+            private DataSize offHeap;
+
+            /**
+             * How long an entry is kept after it is written.
+             */
+            private Duration timeToLive;
+
+            /**
+             * When set, each read of an entry keeps it for this long from the read, instead of the remaining
+             * time to live.
+             */
+            private Duration timeToIdle;
+
+            public Long getHeapEntries() {
+                return heapEntries;
+            }
+
+            public void setHeapEntries(Long heapEntries) {
+                this.heapEntries = heapEntries;
+            }
+
+            public DataSize getOffHeap() {
+                return offHeap;
+            }
+
+            public void setOffHeap(DataSize offHeap) {
+                this.offHeap = offHeap;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+
+            public Duration getTimeToIdle() {
+                return timeToIdle;
+            }
+
+            public void setTimeToIdle(Duration timeToIdle) {
+                this.timeToIdle = timeToIdle;
+            }
+        }
+    }
+
+    public static class CacheInvalidation {
+
+        public enum Transport {
+            /** Each instance only sees its own writes. */
+            NONE,
+            /** Instances in the same JVM, for tests. */
+            IN_PROCESS,
+            /** Instances registered in the discovery server, over HTTP. */
+            HTTP,
+        }
+
+        /**
+         * How the cache invalidations reach the other instances of the service.
+         */
+        private Transport transport = Transport.NONE;
+
+        /**
+         * Maximum number of invalidations sent in one message.
+         */
+        private int batchSize = 500;
+
+        /**
+         * Connect and read timeout of the calls to the other instances with the HTTP transport.
+         */
+        private Duration timeout = Duration.ofSeconds(2);
+
+        public Transport getTransport() {
+            return transport;
+        }
+
+        public void setTransport(Transport transport) {
+            this.transport = transport;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+}
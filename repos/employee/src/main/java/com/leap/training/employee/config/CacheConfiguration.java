@@ -1,9 +1,17 @@
 package com.leap.training.employee.config;
 
+import com.leap.training.employee.repository.DepartmentRepository;
+import com.leap.training.employee.repository.EmployeeRepository;
+import com.leap.training.employee.repository.JobHistoryRepository;
 import java.time.Duration;
+import java.util.Map;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.impl.serialization.PlainJavaSerializer;
 import org.ehcache.jsr107.Eh107Configuration;
 import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
@@ -21,18 +29,14 @@ public class CacheConfiguration {
 
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
-    private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final JHipsterProperties.Cache.Ehcache ehcache;
+    private final Map<String, ApplicationProperties.Cache.Region> regions;
+    private final ApplicationProperties.QueryCache queryCache;
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
-
-        jcacheConfiguration =
-            Eh107Configuration.fromEhcacheCacheConfiguration(
-                CacheConfigurationBuilder
-                    .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(ehcache.getMaxEntries()))
-                    .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
-                    .build()
-            );
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.ehcache = jHipsterProperties.getCache().getEhcache();
+        this.regions = applicationProperties.getCache().getRegions();
+        this.queryCache = applicationProperties.getQueryCache();
     }
 
     @Bean
@@ -61,16 +65,79 @@ public class CacheConfiguration {
             createCache(cm, com.leap.training.employee.domain.Region.class.getName());
             createCache(cm, com.leap.training.employee.domain.Region.class.getName() + ".countries");
             // jhipster-needle-ehcache-add-entry
+            if (queryCache.isEnabled()) {
+                createTimestampsCache(cm);
+                createCache(cm, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+                createCache(cm, EmployeeRepository.LIST_QUERY_CACHE);
+                createCache(cm, DepartmentRepository.LIST_QUERY_CACHE);
+                createCache(cm, JobHistoryRepository.LIST_QUERY_CACHE);
+            }
         };
     }
 
+    /**
+     * The update timestamps of the tables decide whether a cached query result is still valid: they must
+     * never expire nor be evicted before the query results.
+     */
+    private void createTimestampsCache(javax.cache.CacheManager cm) {
+        createCache(
+            cm,
+            RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+            Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(1000)).build()
+            )
+        );
+    }
+
     private void createCache(javax.cache.CacheManager cm, String cacheName) {
+        createCache(cm, cacheName, regionConfiguration(cacheName));
+    }
+
+    /**
+     * Configuration of one region from {@code application.cache.regions}, falling back to the
+     * {@code jhipster.cache.ehcache} size and time to live for what the region does not set.
+     */
+    private javax.cache.configuration.Configuration<Object, Object> regionConfiguration(String cacheName) {
+        ApplicationProperties.Cache.Region region = regions.getOrDefault(cacheName, new ApplicationProperties.Cache.Region());
+        ResourcePoolsBuilder resourcePools = ResourcePoolsBuilder.heap(
+            region.getHeapEntries() != null ? region.getHeapEntries() : ehcache.getMaxEntries()
+        );
+        if (region.getOffHeap() != null) {
+            resourcePools = resourcePools.offheap(region.getOffHeap().toBytes(), MemoryUnit.B);
+        }
+        Duration timeToLive = region.getTimeToLive() != null
+            ? region.getTimeToLive()
+            : Duration.ofSeconds(ehcache.getTimeToLiveSeconds());
+        ExpiryPolicy<Object, Object> expiry = region.getTimeToIdle() != null
+            ? ExpiryPolicyBuilder.expiry().create(timeToLive).update(timeToLive).access(region.getTimeToIdle()).build()
+            : ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive);
+        CacheConfigurationBuilder<Object, Object> configuration = CacheConfigurationBuilder
+            .newCacheConfigurationBuilder(Object.class, Object.class, resourcePools)
+            .withExpiry(expiry);
+        if (region.getOffHeap() != null) {
+            // Off-heap entries are kept serialized, the Hibernate cache keys and entries are all Serializable
+            ClassLoader classLoader = getClass().getClassLoader();
+            configuration =
+                configuration
+                    .withKeySerializer(new PlainJavaSerializer<>(classLoader))
+                    .withValueSerializer(new PlainJavaSerializer<>(classLoader));
+        }
+        return Eh107Configuration.fromEhcacheCacheConfiguration(configuration.build());
+    }
+
+    private void createCache(
+        javax.cache.CacheManager cm,
+        String cacheName,
+        javax.cache.configuration.Configuration<Object, Object> configuration
+    ) {
         javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, configuration);
         }
+        // Publishes the hits, misses and evictions of the region, which the cache metrics read
+        cm.enableStatistics(cacheName, true);
     }
 
     @Autowired(required = false)
@@ -0,0 +1,85 @@
+package com.leap.training.employee.config;
+
+import com.leap.training.employee.cache.CacheInvalidationBroadcaster;
+import com.leap.training.employee.cache.CacheInvalidationTransport;
+import com.leap.training.employee.cache.HttpCacheInvalidationTransport;
+import com.leap.training.employee.cache.InProcessCacheInvalidationTransport;
+import com.leap.training.employee.security.jwt.TokenProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.Executors;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Broadcasts the second level cache invalidations to the other instances of the service, with the transport
+ * chosen in {@code application.cache-invalidation.transport}.
+ * <p>
+ * Without it each instance keeps serving the entries written through another one until they expire.
+ */
+@Configuration
+public class CacheInvalidationConfiguration {
+
+    private static final String TRANSPORT_PROPERTY = "application.cache-invalidation.transport";
+
+    private final Logger log = LoggerFactory.getLogger(CacheInvalidationConfiguration.class);
+
+    private final ApplicationProperties.CacheInvalidation properties;
+
+    public CacheInvalidationConfiguration(ApplicationProperties applicationProperties) {
+        this.properties = applicationProperties.getCacheInvalidation();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = TRANSPORT_PROPERTY, havingValue = "http")
+    public HttpCacheInvalidationTransport httpCacheInvalidationTransport(
+        DiscoveryClient discoveryClient,
+        Registration registration,
+        TokenProvider tokenProvider,
+        RestTemplateBuilder restTemplateBuilder
+    ) {
+        return new HttpCacheInvalidationTransport(
+            discoveryClient,
+            registration,
+            tokenProvider,
+            restTemplateBuilder.setConnectTimeout(properties.getTimeout()).setReadTimeout(properties.getTimeout()).build()
+        );
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = TRANSPORT_PROPERTY, havingValue = "in-process")
+    public InProcessCacheInvalidationTransport inProcessCacheInvalidationTransport() {
+        return new InProcessCacheInvalidationTransport();
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnBean(CacheInvalidationTransport.class)
+    public CacheInvalidationBroadcaster cacheInvalidationBroadcaster(
+        EntityManagerFactory entityManagerFactory,
+        CacheInvalidationTransport transport,
+        MeterRegistry meterRegistry
+    ) {
+        log.debug("Broadcasting cache invalidations with {}", transport.getClass().getSimpleName());
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        CacheInvalidationBroadcaster broadcaster = new CacheInvalidationBroadcaster(
+            sessionFactory.getCache(),
+            sessionFactory.getSessionFactoryOptions().isQueryCacheEnabled(),
+            transport,
+            Executors.newSingleThreadExecutor(new CustomizableThreadFactory("cache-invalidation-")),
+            properties.getBatchSize(),
+            meterRegistry
+        );
+        broadcaster.register(sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class));
+        return broadcaster;
+    }
+}
@@ -32,7 +32,7 @@ public class Country implements Serializable {
     @JsonIgnoreProperties(value = { "departments", "country" }, allowSetters = true)
     private Set<Location> locations = new HashSet<>();
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "countries" }, allowSetters = true)
     private Region region;
 
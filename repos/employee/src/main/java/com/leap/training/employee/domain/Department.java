@@ -42,14 +42,14 @@ public class Department implements Serializable {
     @JsonIgnoreProperties(value = { "job", "department", "employee" }, allowSetters = true)
     private Set<JobHistory> jobHistories = new HashSet<>();
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(
         value = { "subEmployees", "jobHistorys", "managedDepartments", "job", "manager", "department" },
         allowSetters = true
     )
     private Employee manager;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "departments", "country" }, allowSetters = true)
     private Location location;
 
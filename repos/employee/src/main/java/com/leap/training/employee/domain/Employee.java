@@ -10,6 +10,7 @@ import java.util.Set;
 import javax.persistence.*;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * The Employee entity.
@@ -18,10 +19,38 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "employee")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
+@NamedEntityGraphs(
+    {
+        @NamedEntityGraph(
+            name = Employee.LIST_GRAPH,
+            attributeNodes = { @NamedAttributeNode("job"), @NamedAttributeNode("manager"), @NamedAttributeNode("department") }
+        ),
+        @NamedEntityGraph(
+            name = Employee.DETAIL_GRAPH,
+            attributeNodes = {
+                @NamedAttributeNode("job"),
+                @NamedAttributeNode("manager"),
+                @NamedAttributeNode("department"),
+                @NamedAttributeNode("jobHistorys"),
+            }
+        ),
+    }
+)
 public class Employee implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Fetch plan for pages of employees: the associations rendered in the list, fetched in the same query.
+     */
+    public static final String LIST_GRAPH = "Employee.list";
+
+    /**
+     * Fetch plan for a single employee: the list associations plus the job history.
+     */
+    public static final String DETAIL_GRAPH = "Employee.detail";
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
     @SequenceGenerator(name = "sequenceGenerator")
@@ -71,18 +100,18 @@ public class Employee implements Serializable {
     @JsonIgnoreProperties(value = { "employees", "jobHistories", "manager", "location" }, allowSetters = true)
     private Set<Department> managedDepartments = new HashSet<>();
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "employees", "jobHistories" }, allowSetters = true)
     private Job job;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(
         value = { "subEmployees", "jobHistorys", "managedDepartments", "job", "manager", "department" },
         allowSetters = true
     )
     private Employee manager;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "employees", "jobHistories", "manager", "location" }, allowSetters = true)
     private Department department;
 
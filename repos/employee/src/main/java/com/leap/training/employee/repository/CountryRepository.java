@@ -1,7 +1,11 @@
 package com.leap.training.employee.repository;
 
 import com.leap.training.employee.domain.Country;
+import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +13,12 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CountryRepository extends JpaRepository<Country, Long> {}
+public interface CountryRepository extends JpaRepository<Country, Long> {
+    @EntityGraph(attributePaths = { "region" })
+    @Query(value = "select country from Country country", countQuery = "select count(country) from Country country")
+    Page<Country> findAllWithEagerRelationships(Pageable pageable);
+
+    @EntityGraph(attributePaths = { "region" })
+    @Query("select country from Country country where country.id = :id")
+    Optional<Country> findOneWithEagerRelationships(@Param("id") Long id);
+}
@@ -1,7 +1,15 @@
 package com.leap.training.employee.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+
 import com.leap.training.employee.domain.Department;
+import java.util.Optional;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +17,19 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface DepartmentRepository extends JpaRepository<Department, Long> {}
+public interface DepartmentRepository extends JpaRepository<Department, Long> {
+    /**
+     * Query cache region of {@link #findAllWithEagerRelationships(Pageable)}, used when
+     * {@code application.query-cache.enabled} is set.
+     */
+    String LIST_QUERY_CACHE = "query.Department.list";
+
+    @QueryHints({ @QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = LIST_QUERY_CACHE) })
+    @EntityGraph(attributePaths = { "manager", "location" })
+    @Query(value = "select department from Department department", countQuery = "select count(department) from Department department")
+    Page<Department> findAllWithEagerRelationships(Pageable pageable);
+
+    @EntityGraph(attributePaths = { "manager", "location" })
+    @Query("select department from Department department where department.id = :id")
+    Optional<Department> findOneWithEagerRelationships(@Param("id") Long id);
+}
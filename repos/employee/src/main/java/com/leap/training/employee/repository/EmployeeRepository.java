@@ -1,7 +1,15 @@
 package com.leap.training.employee.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+
 import com.leap.training.employee.domain.Employee;
+import java.util.Optional;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +17,23 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {}
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeRepositoryWithFields {
+    /**
+     * Query cache region of {@link #findAllWithEagerRelationships(Pageable)}, used when
+     * {@code application.query-cache.enabled} is set.
+     */
+    String LIST_QUERY_CACHE = "query.Employee.list";
+
+    @QueryHints({ @QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = LIST_QUERY_CACHE) })
+    @EntityGraph(Employee.LIST_GRAPH)
+    @Query(value = "select employee from Employee employee", countQuery = "select count(employee) from Employee employee")
+    Page<Employee> findAllWithEagerRelationships(Pageable pageable);
+
+    @EntityGraph(Employee.LIST_GRAPH)
+    @Query("select employee from Employee employee where employee.id = :id")
+    Optional<Employee> findOneWithEagerRelationships(@Param("id") Long id);
+
+    @EntityGraph(Employee.DETAIL_GRAPH)
+    @Query("select employee from Employee employee where employee.id = :id")
+    Optional<Employee> findOneWithDetails(@Param("id") Long id);
+}
@@ -0,0 +1,20 @@
+package com.leap.training.employee.repository;
+
+import com.leap.training.employee.domain.Employee;
+import java.util.Set;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Spring Data SQL repository fragment reading a subset of the {@link Employee} fields.
+ */
+public interface EmployeeRepositoryWithFields {
+    /**
+     * Find a page of employees, selecting only the columns of the given fields.
+     *
+     * @param pageable the pagination information.
+     * @param fields the attributes to read; {@code job}, {@code manager} and {@code department} are fetched with a join.
+     * @return the page of detached employees, with the other attributes left empty.
+     */
+    Page<Employee> findAllWithFields(Pageable pageable, Set<String> fields);
+}
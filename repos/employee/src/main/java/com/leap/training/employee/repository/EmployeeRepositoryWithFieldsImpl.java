@@ -0,0 +1,75 @@
+package com.leap.training.employee.repository;
+
+import com.leap.training.employee.domain.Employee;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+class EmployeeRepositoryWithFieldsImpl implements EmployeeRepositoryWithFields {
+
+    private static final Set<String> JOINED_FIELDS = Set.of("job", "manager", "department");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Employee> findAllWithFields(Pageable pageable, Set<String> fields) {
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("id");
+        selected.addAll(fields);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Employee> root = query.from(Employee.class);
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String field : selected) {
+            if (JOINED_FIELDS.contains(field)) {
+                selections.add(root.join(field, JoinType.LEFT).alias(field));
+            } else {
+                selections.add(root.get(field).alias(field));
+            }
+        }
+        query.multiselect(selections).orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        List<Employee> content = entityManager
+            .createQuery(query)
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize())
+            .getResultList()
+            .stream()
+            .map(tuple -> toEmployee(tuple, selected))
+            .collect(Collectors.toList());
+        return PageableExecutionUtils.getPage(content, pageable, this::count);
+    }
+
+    private long count() {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        return entityManager.createQuery(query.select(cb.count(query.from(Employee.class)))).getSingleResult();
+    }
+
+    private static Employee toEmployee(Tuple tuple, Set<String> fields) {
+        Employee employee = new Employee();
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(employee);
+        for (String field : fields) {
+            wrapper.setPropertyValue(field, tuple.get(field));
+        }
+        return employee;
+    }
+}
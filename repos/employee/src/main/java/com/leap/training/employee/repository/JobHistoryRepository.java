@@ -1,7 +1,15 @@
 package com.leap.training.employee.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+
 import com.leap.training.employee.domain.JobHistory;
+import java.util.Optional;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +17,19 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface JobHistoryRepository extends JpaRepository<JobHistory, Long> {}
+public interface JobHistoryRepository extends JpaRepository<JobHistory, Long> {
+    /**
+     * Query cache region of {@link #findAllWithEagerRelationships(Pageable)}, used when
+     * {@code application.query-cache.enabled} is set.
+     */
+    String LIST_QUERY_CACHE = "query.JobHistory.list";
+
+    @QueryHints({ @QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = LIST_QUERY_CACHE) })
+    @EntityGraph(attributePaths = { "job", "department", "employee" })
+    @Query(value = "select jobHistory from JobHistory jobHistory", countQuery = "select count(jobHistory) from JobHistory jobHistory")
+    Page<JobHistory> findAllWithEagerRelationships(Pageable pageable);
+
+    @EntityGraph(attributePaths = { "job", "department", "employee" })
+    @Query("select jobHistory from JobHistory jobHistory where jobHistory.id = :id")
+    Optional<JobHistory> findOneWithEagerRelationships(@Param("id") Long id);
+}
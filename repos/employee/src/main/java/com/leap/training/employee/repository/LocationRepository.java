@@ -1,7 +1,11 @@
 package com.leap.training.employee.repository;
 
 import com.leap.training.employee.domain.Location;
+import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +13,12 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface LocationRepository extends JpaRepository<Location, Long> {}
+public interface LocationRepository extends JpaRepository<Location, Long> {
+    @EntityGraph(attributePaths = { "country" })
+    @Query(value = "select location from Location location", countQuery = "select count(location) from Location location")
+    Page<Location> findAllWithEagerRelationships(Pageable pageable);
+
+    @EntityGraph(attributePaths = { "country" })
+    @Query("select location from Location location where location.id = :id")
+    Optional<Location> findOneWithEagerRelationships(@Param("id") Long id);
+}
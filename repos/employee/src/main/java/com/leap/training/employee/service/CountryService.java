@@ -46,7 +46,7 @@ public class CountryService {
         log.debug("Request to partially update Country : {}", country);
 
         return countryRepository
-            .findById(country.getId())
+            .findOneWithEagerRelationships(country.getId())
             .map(existingCountry -> {
                 if (country.getCountryName() != null) {
                     existingCountry.setCountryName(country.getCountryName());
@@ -66,7 +66,7 @@ public class CountryService {
     @Transactional(readOnly = true)
     public Page<Country> findAll(Pageable pageable) {
         log.debug("Request to get all Countries");
-        return countryRepository.findAll(pageable);
+        return countryRepository.findAllWithEagerRelationships(pageable);
     }
 
     /**
@@ -78,7 +78,7 @@ public class CountryService {
     @Transactional(readOnly = true)
     public Optional<Country> findOne(Long id) {
         log.debug("Request to get Country : {}", id);
-        return countryRepository.findById(id);
+        return countryRepository.findOneWithEagerRelationships(id);
     }
 
     /**
@@ -3,6 +3,7 @@ package com.leap.training.employee.service;
 import com.leap.training.employee.domain.Department;
 import com.leap.training.employee.repository.DepartmentRepository;
 import java.util.Optional;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -46,7 +47,7 @@ public class DepartmentService {
         log.debug("Request to partially update Department : {}", department);
 
         return departmentRepository
-            .findById(department.getId())
+            .findOneWithEagerRelationships(department.getId())
             .map(existingDepartment -> {
                 if (department.getDepartmentName() != null) {
                     existingDepartment.setDepartmentName(department.getDepartmentName());
@@ -66,7 +67,13 @@ public class DepartmentService {
     @Transactional(readOnly = true)
     public Page<Department> findAll(Pageable pageable) {
         log.debug("Request to get all Departments");
-        return departmentRepository.findAll(pageable);
+        Page<Department> page = departmentRepository.findAllWithEagerRelationships(pageable);
+        // Relationships are not fetched when the page comes from the query cache
+        page.forEach(department -> {
+            Hibernate.initialize(department.getManager());
+            Hibernate.initialize(department.getLocation());
+        });
+        return page;
     }
 
     /**
@@ -78,7 +85,7 @@ public class DepartmentService {
     @Transactional(readOnly = true)
     public Optional<Department> findOne(Long id) {
         log.debug("Request to get Department : {}", id);
-        return departmentRepository.findById(id);
+        return departmentRepository.findOneWithEagerRelationships(id);
     }
 
     /**
@@ -0,0 +1,355 @@
+package com.leap.training.employee.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.leap.training.employee.config.ApplicationProperties;
+import com.leap.training.employee.domain.Department;
+import com.leap.training.employee.domain.Employee;
+import com.leap.training.employee.domain.Job;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service for bulk loading {@link Employee} rows.
+ * <p>
+ * The input is read line by line and written in chunks: each chunk runs in its own transaction so that
+ * Hibernate can send the inserts as JDBC batches, and its persistence context is dropped at commit to keep
+ * the heap flat whatever the size of the upload. A row that cannot be parsed or stored is reported with its
+ * line number and does not abort the rest of the load.
+ */
+@Service
+public class EmployeeImportService {
+
+    /**
+     * Columns accepted in a CSV upload; the first line must name the columns in use.
+     */
+    public static final List<String> CSV_COLUMNS = List.of(
+        "firstName",
+        "lastName",
+        "email",
+        "phoneNumber",
+        "hireDate",
+        "salary",
+        "commissionPct",
+        "jobId",
+        "managerId",
+        "departmentId"
+    );
+
+    private final Logger log = LoggerFactory.getLogger(EmployeeImportService.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectReader employeeReader;
+
+    private final ApplicationProperties.BulkImport properties;
+
+    public EmployeeImportService(
+        PlatformTransactionManager transactionManager,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties
+    ) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.employeeReader = objectMapper.readerFor(Employee.class);
+        this.properties = applicationProperties.getBulkImport();
+    }
+
+    /**
+     * Import employees from newline-delimited JSON, one employee object per line.
+     *
+     * @param input the uploaded content.
+     * @return the outcome of the import.
+     * @throws IOException if the input cannot be read.
+     */
+    public ImportResult importNdjson(InputStream input) throws IOException {
+        log.debug("Request to import Employees from NDJSON");
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            Chunk chunk = new Chunk();
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    chunk.add(lineNumber, employeeReader.readValue(line));
+                } catch (JsonProcessingException e) {
+                    chunk.result.reject(lineNumber, e.getOriginalMessage());
+                }
+            }
+            return chunk.finish();
+        }
+    }
+
+    /**
+     * Import employees from CSV. The header line names the columns, see {@link #CSV_COLUMNS}.
+     *
+     * @param input the uploaded content.
+     * @return the outcome of the import.
+     * @throws IOException if the input cannot be read.
+     */
+    public ImportResult importCsv(InputStream input) throws IOException {
+        log.debug("Request to import Employees from CSV");
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            Chunk chunk = new Chunk();
+            List<String> header = null;
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    List<String> values = splitCsvLine(line);
+                    if (header == null) {
+                        header = checkCsvHeader(values);
+                    } else {
+                        chunk.add(lineNumber, fromCsv(header, values));
+                    }
+                } catch (IllegalArgumentException e) {
+                    if (header == null) {
+                        throw e;
+                    }
+                    chunk.result.reject(lineNumber, e.getMessage());
+                }
+            }
+            return chunk.finish();
+        }
+    }
+
+    private static List<String> checkCsvHeader(List<String> header) {
+        for (String column : header) {
+            if (!CSV_COLUMNS.contains(column)) {
+                throw new IllegalArgumentException("Unknown column: " + column);
+            }
+        }
+        return header;
+    }
+
+    private static Employee fromCsv(List<String> header, List<String> values) {
+        if (values.size() != header.size()) {
+            throw new IllegalArgumentException("Expected " + header.size() + " values but found " + values.size());
+        }
+        Map<String, String> row = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String value = values.get(i).trim();
+            if (!value.isEmpty()) {
+                row.put(header.get(i), value);
+            }
+        }
+        try {
+            Employee employee = new Employee()
+                .firstName(row.get("firstName"))
+                .lastName(row.get("lastName"))
+                .email(row.get("email"))
+                .phoneNumber(row.get("phoneNumber"))
+                .hireDate(row.containsKey("hireDate") ? Instant.parse(row.get("hireDate")) : null)
+                .salary(parseLong(row.get("salary")))
+                .commissionPct(parseLong(row.get("commissionPct")));
+            if (row.containsKey("jobId")) {
+                employee.setJob(new Job().id(parseLong(row.get("jobId"))));
+            }
+            if (row.containsKey("managerId")) {
+                employee.setManager(new Employee().id(parseLong(row.get("managerId"))));
+            }
+            if (row.containsKey("departmentId")) {
+                employee.setDepartment(new Department().id(parseLong(row.get("departmentId"))));
+            }
+            return employee;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid value: " + e.getMessage(), e);
+        }
+    }
+
+    private static Long parseLong(String value) {
+        return value == null ? null : Long.valueOf(value);
+    }
+
+    /**
+     * Split one CSV line, honouring double-quoted values with {@code ""} as an escaped quote.
+     */
+    static List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted value");
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    /**
+     * Rows waiting to be written, plus the running result of the import.
+     */
+    private class Chunk {
+
+        private final List<Integer> lineNumbers = new ArrayList<>();
+
+        private final List<Employee> employees = new ArrayList<>();
+
+        private final ImportResult result = new ImportResult(properties.getMaxReportedErrors());
+
+        void add(int lineNumber, Employee employee) {
+            if (employee.getId() != null) {
+                result.reject(lineNumber, "A new employee cannot already have an ID");
+                return;
+            }
+            lineNumbers.add(lineNumber);
+            employees.add(employee);
+            if (employees.size() >= properties.getChunkSize()) {
+                flush();
+            }
+        }
+
+        ImportResult finish() {
+            flush();
+            return result;
+        }
+
+        private void flush() {
+            if (employees.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    employees.forEach(this::persist);
+                    entityManager.flush();
+                });
+                result.imported += employees.size();
+            } catch (RuntimeException e) {
+                // One bad row fails the whole batch: replay it row by row to find out which one
+                log.debug("Bulk import chunk failed, retrying row by row: {}", ExceptionUtils.getRootCauseMessage(e));
+                for (int i = 0; i < employees.size(); i++) {
+                    Employee employee = employees.get(i);
+                    employee.setId(null);
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> persist(employee));
+                        result.imported++;
+                    } catch (RuntimeException rowException) {
+                        result.reject(lineNumbers.get(i), ExceptionUtils.getRootCauseMessage(rowException));
+                    }
+                }
+            }
+            lineNumbers.clear();
+            employees.clear();
+        }
+
+        private void persist(Employee employee) {
+            // Relationships only carry an id: reference them without loading the rows
+            if (employee.getJob() != null) {
+                employee.setJob(entityManager.getReference(Job.class, employee.getJob().getId()));
+            }
+            if (employee.getManager() != null) {
+                employee.setManager(entityManager.getReference(Employee.class, employee.getManager().getId()));
+            }
+            if (employee.getDepartment() != null) {
+                employee.setDepartment(entityManager.getReference(Department.class, employee.getDepartment().getId()));
+            }
+            entityManager.persist(employee);
+        }
+    }
+
+    /**
+     * Outcome of a bulk import.
+     */
+    public static class ImportResult {
+
+        private final int maxReportedErrors;
+
+        private long imported;
+
+        private long rejected;
+
+        private final List<RowError> errors = new ArrayList<>();
+
+        ImportResult(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        void reject(int line, String message) {
+            rejected++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new RowError(line, message));
+            }
+        }
+
+        public long getImported() {
+            return imported;
+        }
+
+        public long getRejected() {
+            return rejected;
+        }
+
+        public List<RowError> getErrors() {
+            return Collections.unmodifiableList(errors);
+        }
+    }
+
+    /**
+     * A row that could not be imported.
+     */
+    public static class RowError {
+
+        private final int line;
+
+        private final String message;
+
+        RowError(int line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -8,13 +8,14 @@ import java.sql.Date;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.Optional;
+import java.util.Set;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowire;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -24,6 +25,23 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class EmployeeService {
 
+    /**
+     * Fields that can be requested on their own when listing employees.
+     */
+    public static final Set<String> SELECTABLE_FIELDS = Set.of(
+        "id",
+        "firstName",
+        "lastName",
+        "email",
+        "phoneNumber",
+        "hireDate",
+        "salary",
+        "commissionPct",
+        "job",
+        "manager",
+        "department"
+    );
+
     private final Logger log = LoggerFactory.getLogger(EmployeeService.class);
 
     private final EmployeeRepository employeeRepository;
@@ -48,75 +66,74 @@ public class EmployeeService {
 
     /**
      * Update a employee, save job history if need.
+     * <p>
+     * The employee is read once and changed in place: dirty checking writes the changed columns, and the job
+     * history row is inserted in the same flush. No existence check nor merge is needed.
      *
      * @param employee the entity to update.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if the employee does not exist.
      */
-    @Transactional(propagation = Propagation.REQUIRED)
     public Optional<Employee> update(Employee employee) {
-        log.debug("Request to save Employee : {}", employee);
+        log.debug("Request to update Employee : {}", employee);
 
         return employeeRepository
-        .findById(employee.getId())
-        .map(existingEmployee -> {
-            //boonlean var to check if the information relate to job change -> save new history.
-            //include: salary, job, department
-            Boolean isChangeHistory = false;
-            //generate new History
-            JobHistory jobHistory = new JobHistory();
-            jobHistory.setStartDate(existingEmployee.getHireDate());
-            jobHistory.setEndDate(LocalDateTime.now().toInstant(ZoneOffset.ofHours(7)));
-            jobHistory.setSalary(existingEmployee.getSalary());
-            jobHistory.setEmployee(existingEmployee);
-            jobHistory.setDepartment(existingEmployee.getDepartment());
-            jobHistory.setJob(existingEmployee.getJob());
-
-            //check name, mail, phone...
-            if (employee.getFirstName() != null) {
-                existingEmployee.setFirstName(employee.getFirstName());
-            }
-            if (employee.getLastName() != null) {
-                existingEmployee.setLastName(employee.getLastName());
-            }
-            if (employee.getEmail() != null) {
-                existingEmployee.setEmail(employee.getEmail());
-            }
-            if (employee.getPhoneNumber() != null) {
-                existingEmployee.setPhoneNumber(employee.getPhoneNumber());
-            }
-            if (employee.getHireDate() != null) {
-                existingEmployee.setHireDate(employee.getHireDate());
-            }
-            if (employee.getCommissionPct() != null) {
-                existingEmployee.setCommissionPct(employee.getCommissionPct());
-            }
-
-            //check infors make change in job
-            if (employee.getSalary() != null && (!employee.getSalary().equals(existingEmployee.getSalary()))) {
+            .findOneWithEagerRelationships(employee.getId())
+            .map(existingEmployee -> {
+                //the job history closes the current position, so it is built before the changes are applied
+                JobHistory jobHistory = new JobHistory();
+                jobHistory.setStartDate(existingEmployee.getHireDate());
+                jobHistory.setEndDate(LocalDateTime.now().toInstant(ZoneOffset.ofHours(7)));
+                jobHistory.setSalary(existingEmployee.getSalary());
+                jobHistory.setEmployee(existingEmployee);
+                jobHistory.setDepartment(existingEmployee.getDepartment());
+                jobHistory.setJob(existingEmployee.getJob());
+
+                //check name, mail, phone...
+                if (employee.getFirstName() != null) {
+                    existingEmployee.setFirstName(employee.getFirstName());
+                }
+                if (employee.getLastName() != null) {
+                    existingEmployee.setLastName(employee.getLastName());
+                }
+                if (employee.getEmail() != null) {
+                    existingEmployee.setEmail(employee.getEmail());
+                }
+                if (employee.getPhoneNumber() != null) {
+                    existingEmployee.setPhoneNumber(employee.getPhoneNumber());
+                }
+                if (employee.getHireDate() != null) {
+                    existingEmployee.setHireDate(employee.getHireDate());
+                }
+                if (employee.getCommissionPct() != null) {
+                    existingEmployee.setCommissionPct(employee.getCommissionPct());
+                }
+
+                //check infors make change in job: salary, manager, job, department
+                boolean isChangeHistory = false;
+                if (employee.getSalary() != null && !employee.getSalary().equals(existingEmployee.getSalary())) {
                     isChangeHistory = true;
                     existingEmployee.setSalary(employee.getSalary());
-            }
-            if (employee.getManager() != null && (!employee.getManager().equals(existingEmployee.getManager()))) {
+                }
+                if (employee.getManager() != null && !employee.getManager().equals(existingEmployee.getManager())) {
                     isChangeHistory = true;
                     existingEmployee.setManager(employee.getManager());
-            }
-            if (employee.getJob() != null && (!employee.getJob().equals(existingEmployee.getJob()))) {
+                }
+                if (employee.getJob() != null && !employee.getJob().equals(existingEmployee.getJob())) {
                     isChangeHistory = true;
                     existingEmployee.setJob(employee.getJob());
-            }
-            if (employee.getDepartment() != null && (!employee.getDepartment().equals(existingEmployee.getDepartment()))) {
+                }
+                if (employee.getDepartment() != null && !employee.getDepartment().equals(existingEmployee.getDepartment())) {
                     isChangeHistory = true;
                     existingEmployee.setDepartment(employee.getDepartment());
-            }
+                }
 
-            // save
-            if (isChangeHistory == true){
-                jobHistoryService.save(jobHistory);
-            }
+                //queued with the employee update, both are written when the transaction flushes
+                if (isChangeHistory) {
+                    jobHistoryService.save(jobHistory);
+                }
 
-            return existingEmployee;
-        })
-        .map(employeeRepository::save);
+                return existingEmployee;
+            });
     }
 
     /**
@@ -128,7 +145,7 @@ public class EmployeeService {
     public Optional<Employee> partialUpdate(Employee employee) {
         log.debug("Request to partially update Employee : {}", employee);
         return employeeRepository
-            .findById(employee.getId())
+            .findOneWithEagerRelationships(employee.getId())
             .map(existingEmployee -> {
                 if (employee.getFirstName() != null) {
                     existingEmployee.setFirstName(employee.getFirstName());
@@ -160,7 +177,7 @@ public class EmployeeService {
     }
 
     /**
-     * Get all the employees.
+     * Get all the employees, with the {@link Employee#LIST_GRAPH} fetch plan.
      *
      * @param pageable the pagination information.
      * @return the list of entities.
@@ -168,11 +185,32 @@ public class EmployeeService {
     @Transactional(readOnly = true)
     public Page<Employee> findAll(Pageable pageable) {
         log.debug("Request to get all Employees");
-        return employeeRepository.findAll(pageable);
+        Page<Employee> page = employeeRepository.findAllWithEagerRelationships(pageable);
+        // A page served from the query cache is rebuilt from the entity cache without the entity graph fetches:
+        // load the relationships now, from the entity cache too, so the JSON stays the same on a cache hit
+        page.forEach(employee -> {
+            Hibernate.initialize(employee.getJob());
+            Hibernate.initialize(employee.getManager());
+            Hibernate.initialize(employee.getDepartment());
+        });
+        return page;
     }
 
     /**
-     * Get one employee by id.
+     * Get all the employees, reading only the given fields.
+     *
+     * @param pageable the pagination information.
+     * @param fields the fields to read, among {@link #SELECTABLE_FIELDS}.
+     * @return the list of entities, with the other fields left empty.
+     */
+    @Transactional(readOnly = true)
+    public Page<Employee> findAll(Pageable pageable, Set<String> fields) {
+        log.debug("Request to get all Employees with fields {}", fields);
+        return employeeRepository.findAllWithFields(pageable, fields);
+    }
+
+    /**
+     * Get one employee by id, with the {@link Employee#LIST_GRAPH} fetch plan.
      *
      * @param id the id of the entity.
      * @return the entity.
@@ -180,7 +218,19 @@ public class EmployeeService {
     @Transactional(readOnly = true)
     public Optional<Employee> findOne(Long id) {
         log.debug("Request to get Employee : {}", id);
-        return employeeRepository.findById(id);
+        return employeeRepository.findOneWithEagerRelationships(id);
+    }
+
+    /**
+     * Get one employee by id, with the {@link Employee#DETAIL_GRAPH} fetch plan.
+     *
+     * @param id the id of the entity.
+     * @return the entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Employee> findOneWithDetails(Long id) {
+        log.debug("Request to get Employee with details : {}", id);
+        return employeeRepository.findOneWithDetails(id);
     }
 
     /**
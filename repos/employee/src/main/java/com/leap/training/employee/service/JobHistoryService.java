@@ -3,6 +3,7 @@ package com.leap.training.employee.service;
 import com.leap.training.employee.domain.JobHistory;
 import com.leap.training.employee.repository.JobHistoryRepository;
 import java.util.Optional;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -46,7 +47,7 @@ public class JobHistoryService {
         log.debug("Request to partially update JobHistory : {}", jobHistory);
 
         return jobHistoryRepository
-            .findById(jobHistory.getId())
+            .findOneWithEagerRelationships(jobHistory.getId())
             .map(existingJobHistory -> {
                 if (jobHistory.getStartDate() != null) {
                     existingJobHistory.setStartDate(jobHistory.getStartDate());
@@ -72,7 +73,14 @@ public class JobHistoryService {
     @Transactional(readOnly = true)
     public Page<JobHistory> findAll(Pageable pageable) {
         log.debug("Request to get all JobHistories");
-        return jobHistoryRepository.findAll(pageable);
+        Page<JobHistory> page = jobHistoryRepository.findAllWithEagerRelationships(pageable);
+        // Relationships are not fetched when the page comes from the query cache
+        page.forEach(jobHistory -> {
+            Hibernate.initialize(jobHistory.getJob());
+            Hibernate.initialize(jobHistory.getDepartment());
+            Hibernate.initialize(jobHistory.getEmployee());
+        });
+        return page;
     }
 
     /**
@@ -84,7 +92,7 @@ public class JobHistoryService {
     @Transactional(readOnly = true)
     public Optional<JobHistory> findOne(Long id) {
         log.debug("Request to get JobHistory : {}", id);
-        return jobHistoryRepository.findById(id);
+        return jobHistoryRepository.findOneWithEagerRelationships(id);
     }
 
     /**
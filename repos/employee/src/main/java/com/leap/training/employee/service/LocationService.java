@@ -46,7 +46,7 @@ public class LocationService {
         log.debug("Request to partially update Location : {}", location);
 
         return locationRepository
-            .findById(location.getId())
+            .findOneWithEagerRelationships(location.getId())
             .map(existingLocation -> {
                 if (location.getStreetAddress() != null) {
                     existingLocation.setStreetAddress(location.getStreetAddress());
@@ -75,7 +75,7 @@ public class LocationService {
     @Transactional(readOnly = true)
     public Page<Location> findAll(Pageable pageable) {
         log.debug("Request to get all Locations");
-        return locationRepository.findAll(pageable);
+        return locationRepository.findAllWithEagerRelationships(pageable);
     }
 
     /**
@@ -87,7 +87,7 @@ public class LocationService {
     @Transactional(readOnly = true)
     public Optional<Location> findOne(Long id) {
         log.debug("Request to get Location : {}", id);
-        return locationRepository.findById(id);
+        return locationRepository.findOneWithEagerRelationships(id);
     }
 
     /**
@@ -0,0 +1,40 @@
+package com.leap.training.employee.web.rest;
+
+import com.leap.training.employee.cache.CacheInvalidation;
+import com.leap.training.employee.cache.HttpCacheInvalidationTransport;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller receiving the cache invalidations of the other instances of the service.
+ */
+@RestController
+@RequestMapping("/api")
+@ConditionalOnProperty(name = "application.cache-invalidation.transport", havingValue = "http")
+public class CacheInvalidationResource {
+
+    private final Logger log = LoggerFactory.getLogger(CacheInvalidationResource.class);
+
+    private final HttpCacheInvalidationTransport transport;
+
+    public CacheInvalidationResource(HttpCacheInvalidationTransport transport) {
+        this.transport = transport;
+    }
+
+    /**
+     * {@code POST  /admin/cache-invalidations} : Evict the entries written through another instance.
+     *
+     * @param invalidations the entries to evict.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     */
+    @PostMapping("/admin/cache-invalidations")
+    public ResponseEntity<Void> receiveCacheInvalidations(@RequestBody List<CacheInvalidation> invalidations) {
+        log.debug("REST request to apply {} cache invalidations", invalidations.size());
+        transport.receive(invalidations);
+        return ResponseEntity.noContent().build();
+    }
+}
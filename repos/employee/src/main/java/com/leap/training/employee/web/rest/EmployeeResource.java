@@ -1,14 +1,20 @@
 package com.leap.training.employee.web.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.leap.training.employee.domain.Employee;
 import com.leap.training.employee.repository.EmployeeRepository;
+import com.leap.training.employee.service.EmployeeImportService;
 import com.leap.training.employee.service.EmployeeService;
 import com.leap.training.employee.web.rest.errors.BadRequestAlertException;
+import com.leap.training.employee.web.rest.util.FieldsetUtil;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -16,6 +22,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -41,9 +48,20 @@ public class EmployeeResource {
 
     private final EmployeeRepository employeeRepository;
 
-    public EmployeeResource(EmployeeService employeeService, EmployeeRepository employeeRepository) {
+    private final EmployeeImportService employeeImportService;
+
+    private final ObjectMapper objectMapper;
+
+    public EmployeeResource(
+        EmployeeService employeeService,
+        EmployeeRepository employeeRepository,
+        EmployeeImportService employeeImportService,
+        ObjectMapper objectMapper
+    ) {
         this.employeeService = employeeService;
         this.employeeRepository = employeeRepository;
+        this.employeeImportService = employeeImportService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -66,6 +84,37 @@ public class EmployeeResource {
             .body(result);
     }
 
+    /**
+     * {@code POST  /employees/bulk} : Create employees in bulk from newline-delimited JSON or CSV.
+     * <p>
+     * The body is streamed and written in batches; rows that cannot be imported are listed in the response
+     * and do not stop the rest of the load.
+     *
+     * @param contentType the format of the body, {@code application/x-ndjson} or {@code text/csv}.
+     * @param body the employees to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the import report,
+     * or with status {@code 400 (Bad Request)} if the CSV header is not valid.
+     * @throws IOException if the body cannot be read.
+     */
+    @PostMapping(value = "/employees/bulk", consumes = { MediaType.APPLICATION_NDJSON_VALUE, "text/csv" })
+    public ResponseEntity<EmployeeImportService.ImportResult> importEmployees(
+        @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+        InputStream body
+    ) throws IOException {
+        log.debug("REST request to import Employees as {}", contentType);
+        EmployeeImportService.ImportResult result;
+        if (MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+            result = employeeImportService.importNdjson(body);
+        } else {
+            try {
+                result = employeeImportService.importCsv(body);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestAlertException("Invalid CSV header: " + e.getMessage(), ENTITY_NAME, "csvheaderinvalid");
+            }
+        }
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * {@code PUT  /employees/:id} : Updates an existing employee.
      *
@@ -89,13 +138,9 @@ public class EmployeeResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!employeeRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<Employee> temp = employeeService.update(employee);
-        Employee result = temp.get();
-        // Employee result = employeeService.save(employee);
+        Employee result = employeeService
+            .update(employee)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity
             .ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, employee.getId().toString()))
@@ -142,18 +187,28 @@ public class EmployeeResource {
      * {@code GET  /employees} : get all the employees.
      *
      * @param pageable the pagination information.
+     * @param fields the comma separated fields to return, or absent for the whole employee.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of employees in body.
      */
     @GetMapping("/employees")
-    public ResponseEntity<List<Employee>> getAllEmployees(Pageable pageable) {
+    public ResponseEntity<List<?>> getAllEmployees(
+        Pageable pageable,
+        @RequestParam(value = FieldsetUtil.FIELDS_PARAMETER, required = false) String fields
+    ) {
         log.debug("REST request to get a page of Employees");
+        Set<String> selectedFields = FieldsetUtil.parseFields(fields, EmployeeService.SELECTABLE_FIELDS, ENTITY_NAME);
+        if (selectedFields != null) {
+            Page<Employee> page = employeeService.findAll(pageable, selectedFields);
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+            return ResponseEntity.ok().headers(headers).body(FieldsetUtil.narrow(objectMapper, page.getContent(), selectedFields));
+        }
         Page<Employee> page = employeeService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
     /**
-     * {@code GET  /employees/:id} : get the "id" employee.
+     * {@code GET  /employees/:id} : get the "id" employee, with its job history.
      *
      * @param id the id of the employee to retrieve.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the employee, or with status {@code 404 (Not Found)}.
@@ -161,7 +216,7 @@ public class EmployeeResource {
     @GetMapping("/employees/{id}")
     public ResponseEntity<Employee> getEmployee(@PathVariable Long id) {
         log.debug("REST request to get Employee : {}", id);
-        Optional<Employee> employee = employeeService.findOne(id);
+        Optional<Employee> employee = employeeService.findOneWithDetails(id);
         return ResponseUtil.wrapOrNotFound(employee);
     }
 
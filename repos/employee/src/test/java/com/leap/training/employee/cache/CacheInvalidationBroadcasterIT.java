@@ -0,0 +1,138 @@
+package com.leap.training.employee.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.leap.training.employee.IntegrationTest;
+import com.leap.training.employee.domain.Department;
+import com.leap.training.employee.domain.Employee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link CacheInvalidationBroadcaster} registered on the session factory, with the
+ * in-process transport: a peer joins the bus of the broadcaster and records what it receives.
+ * <p>
+ * Not {@code @Transactional}: the invalidations are only sent once a transaction commits.
+ */
+@IntegrationTest
+@TestPropertySource(
+    properties = {
+        "application.cache-invalidation.transport=in-process",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+    }
+)
+class CacheInvalidationBroadcasterIT {
+
+    private static final String EMPLOYEE = Employee.class.getName();
+
+    private static final String DEPARTMENT_EMPLOYEES = Department.class.getName() + ".employees";
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    @Autowired
+    private InProcessCacheInvalidationTransport transport;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<CacheInvalidation> received = new LinkedBlockingQueue<>();
+
+    private Department department;
+
+    private Employee employee;
+
+    @BeforeEach
+    public void initTest() {
+        transport.join().subscribe(received::addAll);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            department = new Department().departmentName("AAAAAAAAAA");
+            em.persist(department);
+            employee = new Employee().firstName("AAAAAAAAAA");
+            em.persist(employee);
+        });
+    }
+
+    @AfterEach
+    public void cleanup() {
+        transactionTemplate.executeWithoutResult(status -> {
+            em.remove(em.find(Employee.class, employee.getId()));
+            em.remove(em.find(Department.class, department.getId()));
+        });
+    }
+
+    @Test
+    void testSendCommittedEntityUpdate() throws InterruptedException {
+        updateEmployee("BBBBBBBBBB");
+
+        List<CacheInvalidation> invalidations = awaitInvalidation(CacheInvalidation.entity(EMPLOYEE, employee.getId()));
+
+        // The insert of the set up only invalidates cached queries, and there is no query cache
+        assertThat(invalidations).doesNotContain(CacheInvalidation.queries());
+    }
+
+    @Test
+    void testSendCommittedCollectionUpdate() throws InterruptedException {
+        transactionTemplate.executeWithoutResult(status -> {
+            Department managed = em.find(Department.class, department.getId());
+            Hibernate.initialize(managed.getEmployees());
+            managed.addEmployees(em.find(Employee.class, employee.getId()));
+        });
+
+        awaitInvalidation(CacheInvalidation.collection(DEPARTMENT_EMPLOYEES, department.getId()));
+    }
+
+    @Test
+    void testDoNotSendRolledBackCollectionUpdate() throws InterruptedException {
+        transactionTemplate.executeWithoutResult(status -> {
+            Department managed = em.find(Department.class, department.getId());
+            Hibernate.initialize(managed.getEmployees());
+            managed.addEmployees(em.find(Employee.class, employee.getId()));
+            // The collection event fires at flush, before the rollback
+            em.flush();
+            status.setRollbackOnly();
+        });
+        updateEmployee("BBBBBBBBBB");
+
+        // Sent in order: whatever the rolled back transaction sent comes before the update
+        List<CacheInvalidation> invalidations = awaitInvalidation(CacheInvalidation.entity(EMPLOYEE, employee.getId()));
+
+        assertThat(invalidations).doesNotContain(CacheInvalidation.collection(DEPARTMENT_EMPLOYEES, department.getId()));
+    }
+
+    private void updateEmployee(String firstName) {
+        transactionTemplate.executeWithoutResult(status -> em.find(Employee.class, employee.getId()).setFirstName(firstName));
+    }
+
+    /**
+     * @return the invalidations received up to the expected one, included.
+     */
+    private List<CacheInvalidation> awaitInvalidation(CacheInvalidation expected) throws InterruptedException {
+        List<CacheInvalidation> invalidations = new ArrayList<>();
+        CacheInvalidation invalidation;
+        while ((invalidation = received.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS)) != null) {
+            invalidations.add(invalidation);
+            if (invalidation.equals(expected)) {
+                return invalidations;
+            }
+        }
+        throw new AssertionError("Expected " + expected + " but received " + invalidations);
+    }
+}
@@ -0,0 +1,159 @@
+package com.leap.training.employee.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import org.hibernate.Cache;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class CacheInvalidationBroadcasterTest {
+
+    private static final String EMPLOYEE = "com.leap.training.employee.domain.Employee";
+
+    private MeterRegistry meterRegistry;
+
+    private Cache firstCache;
+
+    private Cache secondCache;
+
+    private InProcessCacheInvalidationTransport firstTransport;
+
+    private InProcessCacheInvalidationTransport secondTransport;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        firstCache = mock(Cache.class);
+        secondCache = mock(Cache.class);
+        firstTransport = new InProcessCacheInvalidationTransport();
+        secondTransport = firstTransport.join();
+    }
+
+    @Test
+    void testEvictOnTheOtherInstances() {
+        CacheInvalidationBroadcaster first = new CacheInvalidationBroadcaster(
+            firstCache,
+            true,
+            firstTransport,
+            Runnable::run,
+            10,
+            meterRegistry
+        );
+        new CacheInvalidationBroadcaster(secondCache, true, secondTransport, Runnable::run, 10, new SimpleMeterRegistry());
+
+        first.invalidate(CacheInvalidation.entity(EMPLOYEE, 1L));
+        first.invalidate(CacheInvalidation.collection(EMPLOYEE + ".jobHistorys", 1L));
+        first.invalidate(CacheInvalidation.queries());
+
+        verify(secondCache).evictEntityData(EMPLOYEE, 1L);
+        verify(secondCache).evictCollectionData(EMPLOYEE + ".jobHistorys", 1L);
+        verify(secondCache).evictQueryRegions();
+        verifyNoInteractions(firstCache);
+        assertThat(meterRegistry.get("cache.invalidations").tag("result", "sent").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void testCoalesceInvalidationsQueuedDuringASend() {
+        List<Runnable> sends = new ArrayList<>();
+        Executor deferred = sends::add;
+        CacheInvalidationBroadcaster first = new CacheInvalidationBroadcaster(firstCache, true, firstTransport, deferred, 2, meterRegistry);
+        List<List<CacheInvalidation>> published = new ArrayList<>();
+        secondTransport.subscribe(published::add);
+
+        first.invalidate(CacheInvalidation.queries());
+        first.invalidate(CacheInvalidation.entity(EMPLOYEE, 1L));
+        first.invalidate(CacheInvalidation.queries());
+        first.invalidate(CacheInvalidation.entity(EMPLOYEE, 2L));
+        first.invalidate(CacheInvalidation.entity(EMPLOYEE, 3L));
+
+        assertThat(sends).hasSize(1);
+        sends.get(0).run();
+
+        assertThat(published)
+            .containsExactly(
+                List.of(CacheInvalidation.queries(), CacheInvalidation.entity(EMPLOYEE, 1L)),
+                List.of(CacheInvalidation.entity(EMPLOYEE, 2L), CacheInvalidation.entity(EMPLOYEE, 3L))
+            );
+    }
+
+    @Test
+    void testKeepSendingAfterATransportFailure() {
+        CacheInvalidationTransport failing = new CacheInvalidationTransport() {
+            private int calls;
+
+            @Override
+            public void publish(List<CacheInvalidation> invalidations) {
+                if (calls++ == 0) {
+                    throw new IllegalStateException("unreachable");
+                }
+            }
+
+            @Override
+            public void subscribe(Consumer<List<CacheInvalidation>> receiver) {}
+        };
+        CacheInvalidationBroadcaster broadcaster = new CacheInvalidationBroadcaster(
+            firstCache,
+            true,
+            failing,
+            Runnable::run,
+            10,
+            meterRegistry
+        );
+
+        broadcaster.invalidate(CacheInvalidation.entity(EMPLOYEE, 1L));
+        broadcaster.invalidate(CacheInvalidation.entity(EMPLOYEE, 2L));
+
+        assertThat(meterRegistry.get("cache.invalidations").tag("result", "failed").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.invalidations").tag("result", "sent").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testReceiveFromTheOtherInstances() {
+        new CacheInvalidationBroadcaster(firstCache, true, firstTransport, Runnable::run, 10, meterRegistry);
+
+        secondTransport.publish(List.of(CacheInvalidation.entity(EMPLOYEE, 1L), CacheInvalidation.entity(EMPLOYEE, 2L)));
+
+        verify(firstCache).evictEntityData(EMPLOYEE, 1L);
+        verify(firstCache).evictEntityData(EMPLOYEE, 2L);
+        verify(firstCache, never()).evictQueryRegions();
+        assertThat(meterRegistry.get("cache.invalidations").tag("result", "received").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void testSendQueriesOnlyWithTheQueryCache() {
+        List<List<CacheInvalidation>> published = new ArrayList<>();
+        secondTransport.subscribe(published::add);
+
+        insertListener(new CacheInvalidationBroadcaster(firstCache, false, firstTransport, Runnable::run, 10, meterRegistry))
+            .onPostInsert(mock(PostInsertEvent.class));
+        assertThat(published).isEmpty();
+
+        insertListener(new CacheInvalidationBroadcaster(firstCache, true, firstTransport, Runnable::run, 10, meterRegistry))
+            .onPostInsert(mock(PostInsertEvent.class));
+        assertThat(published).containsExactly(List.of(CacheInvalidation.queries()));
+    }
+
+    private static PostCommitInsertEventListener insertListener(CacheInvalidationBroadcaster broadcaster) {
+        EventListenerRegistry eventListenerRegistry = mock(EventListenerRegistry.class);
+        broadcaster.register(eventListenerRegistry);
+        ArgumentCaptor<PostCommitInsertEventListener> listener = ArgumentCaptor.forClass(PostCommitInsertEventListener.class);
+        verify(eventListenerRegistry).appendListeners(eq(EventType.POST_COMMIT_INSERT), listener.capture());
+        return listener.getValue();
+    }
+}
@@ -0,0 +1,96 @@
+package com.leap.training.employee.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.leap.training.employee.IntegrationTest;
+import com.leap.training.employee.domain.Employee;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the id allocation and JDBC batching set up in {@link DatabaseConfiguration}: the same inserts
+ * are counted in prepared statements without batching and with the configured batch size.
+ */
+@IntegrationTest
+class HibernateBatchingIT {
+
+    private static final int ROWS = 1000;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void enableStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void disableStatistics() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    @Transactional
+    void insertsAreBatched() {
+        int batchSize = applicationProperties.getJpa().getBatchSize();
+
+        int allocationSize = allocationSize(Employee.class);
+
+        insertEmployees(1);
+        long unbatchedStatements = statistics.getPrepareStatementCount();
+        statistics.clear();
+
+        insertEmployees(batchSize);
+        long batchedStatements = statistics.getPrepareStatementCount();
+
+        // One sequence call per allocation block, and one insert statement per JDBC batch
+        long sequenceCalls = (ROWS + allocationSize - 1) / allocationSize + 1;
+        assertThat(unbatchedStatements).isGreaterThanOrEqualTo(ROWS);
+        assertThat(batchedStatements).isLessThanOrEqualTo(sequenceCalls + (ROWS + batchSize - 1) / batchSize);
+    }
+
+    /**
+     * @return the number of ids handed out per sequence call to the entity, as set up by its id generator.
+     */
+    private int allocationSize(Class<?> entityType) {
+        IdentifierGenerator generator = entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getMetamodel()
+            .entityPersister(entityType)
+            .getIdentifierGenerator();
+        assertThat(generator).isInstanceOf(SequenceStyleGenerator.class);
+        return ((SequenceStyleGenerator) generator).getOptimizer().getIncrementSize();
+    }
+
+    private void insertEmployees(int batchSize) {
+        Session session = em.unwrap(Session.class);
+        session.setJdbcBatchSize(batchSize);
+        for (int i = 0; i < ROWS; i++) {
+            em.persist(new Employee().firstName("first" + i).lastName("last" + i).salary((long) i));
+        }
+        em.flush();
+        em.clear();
+        session.setJdbcBatchSize(null);
+    }
+}
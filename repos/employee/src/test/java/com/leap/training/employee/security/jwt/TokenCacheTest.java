@@ -0,0 +1,90 @@
+package com.leap.training.employee.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.Date;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+class TokenCacheTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-17T10:00:00Z");
+
+    private MeterRegistry meterRegistry;
+
+    private Authentication authentication;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        authentication = new UsernamePasswordAuthenticationToken("test-user", "token", Collections.emptyList());
+    }
+
+    @Test
+    void testReturnCachedAuthenticationUntilExpiration() {
+        TokenCache cache = new TokenCache(10, meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertThat(cache.get("token")).isNull();
+        cache.put("token", authentication, Date.from(NOW.plusSeconds(60)));
+
+        assertThat(cache.get("token")).isSameAs(authentication);
+        assertThat(cache.get("other-token")).isNull();
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void testEvictExpiredToken() {
+        TokenCache cache = new TokenCache(10, meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+        cache.put("token", authentication, Date.from(NOW));
+
+        assertThat(cache.get("token")).isNull();
+        assertThat(meterRegistry.get("cache.evictions").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.size").gauge().value()).isZero();
+    }
+
+    @Test
+    void testStayWithinMaxEntries() {
+        TokenCache cache = new TokenCache(2, meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+        cache.put("token1", authentication, Date.from(NOW.plusSeconds(60)));
+        cache.put("token2", authentication, Date.from(NOW.plusSeconds(60)));
+        cache.put("token3", authentication, Date.from(NOW.plusSeconds(60)));
+
+        assertThat(meterRegistry.get("cache.size").gauge().value()).isEqualTo(2);
+        assertThat(cache.get("token3")).isSameAs(authentication);
+    }
+
+    @Test
+    void testEvictSoonestExpiringTokensInBulk() {
+        TokenCache cache = new TokenCache(20, meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+        for (int i = 0; i < 20; i++) {
+            cache.put("token" + i, authentication, Date.from(NOW.plusSeconds(60 + i)));
+        }
+
+        cache.put("token20", authentication, Date.from(NOW.plusSeconds(120)));
+
+        // A tenth of the cache is freed at once, starting with the tokens expiring soonest
+        assertThat(meterRegistry.get("cache.evictions").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.size").gauge().value()).isEqualTo(19);
+        assertThat(cache.get("token0")).isNull();
+        assertThat(cache.get("token1")).isNull();
+        assertThat(cache.get("token2")).isSameAs(authentication);
+        assertThat(cache.get("token20")).isSameAs(authentication);
+    }
+
+    @Test
+    void testDoNotCacheWhenDisabled() {
+        TokenCache cache = new TokenCache(0, meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+        cache.put("token", authentication, Date.from(NOW.plusSeconds(60)));
+
+        assertThat(cache.get("token")).isNull();
+    }
+}
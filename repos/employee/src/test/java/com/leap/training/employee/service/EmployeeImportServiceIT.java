@@ -0,0 +1,68 @@
+package com.leap.training.employee.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.leap.training.employee.IntegrationTest;
+import com.leap.training.employee.domain.Employee;
+import com.leap.training.employee.repository.EmployeeRepository;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for {@link EmployeeImportService}.
+ * <p>
+ * Not {@code @Transactional}: each chunk has to commit or roll back on its own, as it does in production,
+ * for the row by row replay of a failed chunk to run.
+ */
+@IntegrationTest
+class EmployeeImportServiceIT {
+
+    private static final String FIRST_NAME_PREFIX = "import-";
+
+    private static final long UNKNOWN_JOB_ID = Long.MAX_VALUE;
+
+    @Autowired
+    private EmployeeImportService employeeImportService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @AfterEach
+    public void cleanup() {
+        employeeRepository.deleteAll(importedEmployees());
+    }
+
+    @Test
+    void failingRowInTheMiddleOfAChunkIsReportedAndTheOthersAreStored() throws Exception {
+        // The unknown job only fails at flush time, together with the whole chunk
+        String body =
+            "firstName,lastName,jobId\n" +
+            FIRST_NAME_PREFIX + "1,AAAAAAAAAA,\n" +
+            FIRST_NAME_PREFIX + "2,BBBBBBBBBB," + UNKNOWN_JOB_ID + "\n" +
+            FIRST_NAME_PREFIX + "3,CCCCCCCCCC,\n";
+
+        EmployeeImportService.ImportResult result = employeeImportService.importCsv(
+            new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))
+        );
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getRejected()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(EmployeeImportService.RowError::getLine).containsExactly(3);
+        assertThat(importedEmployees())
+            .extracting(Employee::getFirstName)
+            .containsExactlyInAnyOrder(FIRST_NAME_PREFIX + "1", FIRST_NAME_PREFIX + "3");
+    }
+
+    private List<Employee> importedEmployees() {
+        return employeeRepository
+            .findAll()
+            .stream()
+            .filter(employee -> employee.getFirstName() != null && employee.getFirstName().startsWith(FIRST_NAME_PREFIX))
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,200 @@
+package com.leap.training.employee.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.leap.training.employee.IntegrationTest;
+import com.leap.training.employee.domain.Department;
+import com.leap.training.employee.domain.Employee;
+import com.leap.training.employee.domain.Job;
+import com.leap.training.employee.domain.JobHistory;
+import com.leap.training.employee.domain.Location;
+import com.leap.training.employee.repository.DepartmentRepository;
+import com.leap.training.employee.repository.EmployeeRepository;
+import com.leap.training.employee.repository.JobHistoryRepository;
+import java.time.Instant;
+import java.util.function.Function;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the query cache of the list endpoints, with {@code application.query-cache.enabled} set.
+ * <p>
+ * Not {@code @Transactional}: the results are only cached, and the tables only invalidated, when a transaction
+ * commits, as they are in production.
+ */
+@IntegrationTest
+@TestPropertySource(
+    properties = { "application.query-cache.enabled=true", "spring.jpa.properties.hibernate.cache.use_second_level_cache=true" }
+)
+class QueryCacheIT {
+
+    private static final String DEFAULT_FIRST_NAME = "AAAAAAAAAA";
+
+    private static final String UPDATED_FIRST_NAME = "BBBBBBBBBB";
+
+    private static final Pageable PAGEABLE = PageRequest.of(0, 1000, Sort.by("id"));
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private JobHistoryService jobHistoryService;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    private Job job;
+
+    private Location location;
+
+    private Employee manager;
+
+    private Department department;
+
+    private Employee employee;
+
+    private JobHistory jobHistory;
+
+    @BeforeEach
+    public void initTest() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            job = new Job().jobTitle("AAAAAAAAAA");
+            em.persist(job);
+            location = new Location().streetAddress("AAAAAAAAAA").city("AAAAAAAAAA");
+            em.persist(location);
+            manager = new Employee().firstName("CCCCCCCCCC");
+            em.persist(manager);
+            department = new Department().departmentName("AAAAAAAAAA");
+            department.setManager(manager);
+            department.setLocation(location);
+            em.persist(department);
+            employee = new Employee().firstName(DEFAULT_FIRST_NAME);
+            employee.setJob(job);
+            employee.setManager(manager);
+            employee.setDepartment(department);
+            em.persist(employee);
+            jobHistory = new JobHistory().startDate(Instant.ofEpochMilli(0L));
+            jobHistory.setJob(job);
+            jobHistory.setDepartment(department);
+            jobHistory.setEmployee(employee);
+            em.persist(jobHistory);
+        });
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        statistics.setStatisticsEnabled(false);
+        transactionTemplate.executeWithoutResult(status -> {
+            remove(JobHistory.class, jobHistory.getId());
+            remove(Employee.class, employee.getId());
+            remove(Department.class, department.getId());
+            remove(Employee.class, manager.getId());
+            remove(Location.class, location.getId());
+            remove(Job.class, job.getId());
+        });
+    }
+
+    @Test
+    void testEmployeePageIsServedFromTheQueryCache() {
+        employeeService.findAll(PAGEABLE);
+        long queries = statistics.getQueryExecutionCount();
+
+        Employee cached = find(employeeService.findAll(PAGEABLE), Employee::getId, employee.getId());
+
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(queries);
+        assertThat(statistics.getQueryRegionStatistics(EmployeeRepository.LIST_QUERY_CACHE).getHitCount()).isPositive();
+        // Read outside of the session: the relationships have been loaded by the service
+        assertThat(Hibernate.isInitialized(cached.getJob())).isTrue();
+        assertThat(cached.getJob().getJobTitle()).isEqualTo(job.getJobTitle());
+        assertThat(Hibernate.isInitialized(cached.getManager())).isTrue();
+        assertThat(cached.getManager().getFirstName()).isEqualTo(manager.getFirstName());
+        assertThat(Hibernate.isInitialized(cached.getDepartment())).isTrue();
+        assertThat(cached.getDepartment().getDepartmentName()).isEqualTo(department.getDepartmentName());
+    }
+
+    @Test
+    void testDepartmentPageIsServedFromTheQueryCache() {
+        departmentService.findAll(PAGEABLE);
+        long queries = statistics.getQueryExecutionCount();
+
+        Department cached = find(departmentService.findAll(PAGEABLE), Department::getId, department.getId());
+
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(queries);
+        assertThat(statistics.getQueryRegionStatistics(DepartmentRepository.LIST_QUERY_CACHE).getHitCount()).isPositive();
+        assertThat(Hibernate.isInitialized(cached.getManager())).isTrue();
+        assertThat(cached.getManager().getFirstName()).isEqualTo(manager.getFirstName());
+        assertThat(Hibernate.isInitialized(cached.getLocation())).isTrue();
+        assertThat(cached.getLocation().getCity()).isEqualTo(location.getCity());
+    }
+
+    @Test
+    void testJobHistoryPageIsServedFromTheQueryCache() {
+        jobHistoryService.findAll(PAGEABLE);
+        long queries = statistics.getQueryExecutionCount();
+
+        JobHistory cached = find(jobHistoryService.findAll(PAGEABLE), JobHistory::getId, jobHistory.getId());
+
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(queries);
+        assertThat(statistics.getQueryRegionStatistics(JobHistoryRepository.LIST_QUERY_CACHE).getHitCount()).isPositive();
+        assertThat(Hibernate.isInitialized(cached.getJob())).isTrue();
+        assertThat(cached.getJob().getJobTitle()).isEqualTo(job.getJobTitle());
+        assertThat(Hibernate.isInitialized(cached.getDepartment())).isTrue();
+        assertThat(cached.getDepartment().getDepartmentName()).isEqualTo(department.getDepartmentName());
+        assertThat(Hibernate.isInitialized(cached.getEmployee())).isTrue();
+        assertThat(cached.getEmployee().getFirstName()).isEqualTo(employee.getFirstName());
+    }
+
+    @Test
+    void testWriteInvalidatesTheCachedPage() {
+        employeeService.findAll(PAGEABLE);
+        long queries = statistics.getQueryExecutionCount();
+
+        employeeService.partialUpdate(new Employee().id(employee.getId()).firstName(UPDATED_FIRST_NAME));
+        Employee read = find(employeeService.findAll(PAGEABLE), Employee::getId, employee.getId());
+
+        assertThat(statistics.getQueryExecutionCount()).isGreaterThan(queries);
+        assertThat(read.getFirstName()).isEqualTo(UPDATED_FIRST_NAME);
+    }
+
+    private <T> T find(Page<T> page, Function<T, Long> id, Long expected) {
+        return page.getContent().stream().filter(entity -> expected.equals(id.apply(entity))).findFirst().orElseThrow();
+    }
+
+    private void remove(Class<?> entityType, Long id) {
+        Object entity = em.find(entityType, id);
+        if (entity != null) {
+            em.remove(entity);
+        }
+    }
+}
@@ -6,14 +6,24 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.leap.training.employee.IntegrationTest;
+import com.leap.training.employee.domain.Country;
+import com.leap.training.employee.domain.Department;
 import com.leap.training.employee.domain.Employee;
+import com.leap.training.employee.domain.Job;
+import com.leap.training.employee.domain.JobHistory;
+import com.leap.training.employee.domain.Location;
+import com.leap.training.employee.domain.Region;
 import com.leap.training.employee.repository.EmployeeRepository;
+import com.leap.training.employee.repository.JobHistoryRepository;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -61,9 +71,15 @@ class EmployeeResourceIT {
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private JobHistoryRepository jobHistoryRepository;
+
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Autowired
     private MockMvc restEmployeeMockMvc;
 
@@ -150,6 +166,60 @@ class EmployeeResourceIT {
         assertThat(employeeList).hasSize(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @Transactional
+    void importEmployeesFromNdjson() throws Exception {
+        int databaseSizeBeforeCreate = employeeRepository.findAll().size();
+        String body =
+            new String(TestUtil.convertObjectToJsonBytes(employee)) +
+            "\n{ not json\n" +
+            new String(TestUtil.convertObjectToJsonBytes(createUpdatedEntity(em))) +
+            "\n";
+
+        restEmployeeMockMvc
+            .perform(post(ENTITY_API_URL + "/bulk").contentType(MediaType.APPLICATION_NDJSON).content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(2))
+            .andExpect(jsonPath("$.rejected").value(1))
+            .andExpect(jsonPath("$.errors[0].line").value(2));
+
+        List<Employee> employeeList = employeeRepository.findAll();
+        assertThat(employeeList).hasSize(databaseSizeBeforeCreate + 2);
+        assertThat(employeeList).extracting(Employee::getFirstName).contains(DEFAULT_FIRST_NAME, UPDATED_FIRST_NAME);
+    }
+
+    @Test
+    @Transactional
+    void importEmployeesFromCsv() throws Exception {
+        int databaseSizeBeforeCreate = employeeRepository.findAll().size();
+        String body =
+            "firstName,lastName,hireDate,salary\n" +
+            DEFAULT_FIRST_NAME + ",\"" + DEFAULT_LAST_NAME + "\"," + DEFAULT_HIRE_DATE + "," + DEFAULT_SALARY + "\n" +
+            UPDATED_FIRST_NAME + "," + UPDATED_LAST_NAME + ",," + "not-a-number\n";
+
+        restEmployeeMockMvc
+            .perform(post(ENTITY_API_URL + "/bulk").contentType("text/csv").content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(1))
+            .andExpect(jsonPath("$.rejected").value(1))
+            .andExpect(jsonPath("$.errors[0].line").value(3));
+
+        List<Employee> employeeList = employeeRepository.findAll();
+        assertThat(employeeList).hasSize(databaseSizeBeforeCreate + 1);
+        Employee testEmployee = employeeList.get(employeeList.size() - 1);
+        assertThat(testEmployee.getLastName()).isEqualTo(DEFAULT_LAST_NAME);
+        assertThat(testEmployee.getHireDate()).isEqualTo(DEFAULT_HIRE_DATE);
+        assertThat(testEmployee.getSalary()).isEqualTo(DEFAULT_SALARY);
+    }
+
+    @Test
+    @Transactional
+    void importEmployeesWithUnknownCsvColumn() throws Exception {
+        restEmployeeMockMvc
+            .perform(post(ENTITY_API_URL + "/bulk").contentType("text/csv").content("firstName,nickname\nA,B\n"))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getAllEmployees() throws Exception {
@@ -171,6 +241,70 @@ class EmployeeResourceIT {
             .andExpect(jsonPath("$.[*].commissionPct").value(hasItem(DEFAULT_COMMISSION_PCT.intValue())));
     }
 
+    @Test
+    @Transactional
+    void getAllEmployeesWithFields() throws Exception {
+        // Initialize the database
+        employeeRepository.saveAndFlush(employee);
+
+        // Get only the names and emails
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&fields=firstName,email"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(employee.getId().intValue())))
+            .andExpect(jsonPath("$.[*].firstName").value(hasItem(DEFAULT_FIRST_NAME)))
+            .andExpect(jsonPath("$.[*].email").value(hasItem(DEFAULT_EMAIL)))
+            .andExpect(jsonPath("$.[0].lastName").doesNotExist())
+            .andExpect(jsonPath("$.[0].job").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void getAllEmployeesWithUnknownField() throws Exception {
+        restEmployeeMockMvc.perform(get(ENTITY_API_URL + "?fields=firstName,password")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllEmployeesRunsABoundedNumberOfQueries() throws Exception {
+        // Initialize the database: every employee has its own job, manager and department chain
+        for (int i = 0; i < 5; i++) {
+            Region region = new Region().regionName("region" + i);
+            Country country = new Country().countryName("country" + i).region(region);
+            Location location = new Location().city("city" + i).country(country);
+            Job job = new Job().jobTitle("job" + i);
+            Employee manager = createEntity(em);
+            Department department = new Department().departmentName("department" + i).location(location).manager(manager);
+            em.persist(region);
+            em.persist(country);
+            em.persist(location);
+            em.persist(job);
+            em.persist(manager);
+            em.persist(department);
+            em.persist(createEntity(em).job(job).manager(manager).department(department));
+        }
+        em.flush();
+        em.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            restEmployeeMockMvc
+                .perform(get(ENTITY_API_URL + "?sort=id,desc&size=10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[0].job.jobTitle").value("job4"))
+                .andExpect(jsonPath("$.[0].department.departmentName").value("department4"))
+                .andExpect(jsonPath("$.[0].manager.id").isNumber());
+
+            // One query for the page with its associations, one for the total count
+            assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
     @Test
     @Transactional
     void getEmployee() throws Exception {
@@ -241,6 +375,46 @@ class EmployeeResourceIT {
         assertThat(testEmployee.getCommissionPct()).isEqualTo(UPDATED_COMMISSION_PCT);
     }
 
+    @Test
+    @Transactional
+    void putEmployeeRecordsJobHistoryOnlyWhenPositionChanges() throws Exception {
+        // Initialize the database
+        employeeRepository.saveAndFlush(employee);
+
+        int jobHistorySizeBeforeUpdate = jobHistoryRepository.findAll().size();
+
+        // A change of name keeps the current position
+        Employee renamedEmployee = new Employee().id(employee.getId()).firstName(UPDATED_FIRST_NAME);
+        restEmployeeMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, employee.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(renamedEmployee))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.firstName").value(UPDATED_FIRST_NAME))
+            .andExpect(jsonPath("$.salary").value(DEFAULT_SALARY.intValue()));
+        assertThat(jobHistoryRepository.findAll()).hasSize(jobHistorySizeBeforeUpdate);
+
+        // A change of salary closes it
+        Employee raisedEmployee = new Employee().id(employee.getId()).salary(UPDATED_SALARY);
+        restEmployeeMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, employee.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(raisedEmployee))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.salary").value(UPDATED_SALARY.intValue()));
+
+        List<JobHistory> jobHistoryList = jobHistoryRepository.findAll();
+        assertThat(jobHistoryList).hasSize(jobHistorySizeBeforeUpdate + 1);
+        JobHistory testJobHistory = jobHistoryList.get(jobHistoryList.size() - 1);
+        assertThat(testJobHistory.getSalary()).isEqualTo(DEFAULT_SALARY);
+        assertThat(testJobHistory.getEmployee()).isEqualTo(employee);
+        assertThat(employeeRepository.findById(employee.getId()).get().getSalary()).isEqualTo(UPDATED_SALARY);
+    }
+
     @Test
     @Transactional
     void putNonExistingEmployee() throws Exception {
@@ -1,6 +1,12 @@
 package com.leap.training.gateway.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Properties specific to Gateway.
@@ -9,4 +15,609 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final Pagination pagination = new Pagination();
+
+    private final JwtCache jwtCache = new JwtCache();
+
+    private final ReferenceCache referenceCache = new ReferenceCache();
+
+    private final UserCache userCache = new UserCache();
+
+    private final PasswordHashing passwordHashing = new PasswordHashing();
+
+    private final ResponseCache responseCache = new ResponseCache();
+
+    private final RequestAdmission requestAdmission = new RequestAdmission();
+
+    private final AdaptiveConcurrency adaptiveConcurrency = new AdaptiveConcurrency();
+
+    private final Hedging hedging = new Hedging();
+
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    private final LoadBalancer loadBalancer = new LoadBalancer();
+
+    public Pagination getPagination() {
+        return pagination;
+    }
+
+    public JwtCache getJwtCache() {
+        return jwtCache;
+    }
+
+    public ReferenceCache getReferenceCache() {
+        return referenceCache;
+    }
+
+    public UserCache getUserCache() {
+        return userCache;
+    }
+
+    public PasswordHashing getPasswordHashing() {
+        return passwordHashing;
+    }
+
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    public RequestAdmission getRequestAdmission() {
+        return requestAdmission;
+    }
+
+    public AdaptiveConcurrency getAdaptiveConcurrency() {
+        return adaptiveConcurrency;
+    }
+
+    public Hedging getHedging() {
+        return hedging;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public LoadBalancer getLoadBalancer() {
+        return loadBalancer;
+    }
+
+    public static class Pagination {
+
+        /**
+         * How long the total number of entities sent in {@code X-Total-Count} may be served from cache,
+         * when the client does not ask for an exact count.
+         */
+        private Duration totalCountTimeToLive = Duration.ofSeconds(30);
+
+        public Duration getTotalCountTimeToLive() {
+            return totalCountTimeToLive;
+        }
+
+        public void setTotalCountTimeToLive(Duration totalCountTimeToLive) {
+            this.totalCountTimeToLive = totalCountTimeToLive;
+        }
+    }
+
+    public static class JwtCache {
+
+        /**
+         * Maximum number of verified tokens whose authentication is kept, 0 to verify every token on every request.
+         */
+        private int maxEntries = 10_000;
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+
+    public static class ReferenceCache {
+
+        /**
+         * How long the region, country, location, job and department rows read by id or as a whole table are kept,
+         * 0 to always read them from the database. Writes made through the repositories evict them at once.
+         */
+        private Duration timeToLive = Duration.ofHours(1);
+
+        /**
+         * Maximum number of rows kept by id for each of those entities.
+         */
+        private int maxEntries = 1000;
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+
+    public static class UserCache {
+
+        /**
+         * How long a user loaded with its authorities for {@code /api/account} is kept, 0 to always read it from the
+         * database. Writes made through {@code UserService} of this instance evict it, those of the other instances
+         * only show once it expires.
+         */
+        private Duration timeToLive = Duration.ofSeconds(10);
+
+        /**
+         * Maximum number of users kept, counting a user once per login and once per email it was read with.
+         */
+        private int maxEntries = 10_000;
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+
+    public static class PasswordHashing {
+
+        /**
+         * Number of threads hashing and matching passwords, by default one per core.
+         */
+        private int threads = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Maximum number of hashing tasks waiting for a thread, further requests are rejected.
+         */
+        private int queueCapacity = 256;
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    public static class ResponseCache {
+
+        /**
+         * Ant patterns of the request paths, as received by the gateway, whose GET responses are cached by the
+         * {@code ResponseCache} route filter. Nothing is cached when empty.
+         */
+        private final List<String> paths = new ArrayList<>();
+
+        /**
+         * How long a response is served from cache, unless the route sets its own.
+         */
+        private Duration timeToLive = Duration.ofMinutes(1);
+
+        /**
+         * Responses with a larger body are not cached.
+         */
+        private DataSize maxBodySize = DataSize.ofKilobytes(256);
+
+        /**
+         * Total size of the cached bodies, shared by all the routes.
+         */
+        private DataSize maxSize = DataSize.ofMegabytes(32);
+
+        /**
+         * How long after its expiry a response is still served when the route fails, for instance while the
+         * circuit breaker of the service is open.
+         */
+        private Duration staleIfError = Duration.ofMinutes(10);
+
+        public List<String> getPaths() {
+            return paths;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+
+        public DataSize getMaxBodySize() {
+            return maxBodySize;
+        }
+
+        public void setMaxBodySize(DataSize maxBodySize) {
+            this.maxBodySize = maxBodySize;
+        }
+
+        public DataSize getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getStaleIfError() {
+            return staleIfError;
+        }
+
+        public void setStaleIfError(Duration staleIfError) {
+            this.staleIfError = staleIfError;
+        }
+    }
+
+    public static class RequestAdmission {
+
+        /**
+         * Limits of the services that have none of their own.
+         */
+        private final Limits defaults = new Limits();
+
+        /**
+         * Limits by service id, in place of the defaults.
+         */
+        private final Map<String, Limits> services = new LinkedHashMap<>();
+
+        /**
+         * Number of token buckets kept before those of the idle users are dropped.
+         */
+        private int maxIdleBuckets = 10_000;
+
+        public Limits getDefaults() {
+            return defaults;
+        }
+
+        public Map<String, Limits> getServices() {
+            return services;
+        }
+
+        public int getMaxIdleBuckets() {
+            return maxIdleBuckets;
+        }
+
+        public void setMaxIdleBuckets(int maxIdleBuckets) {
+            this.maxIdleBuckets = maxIdleBuckets;
+        }
+
+        /**
+         * @param serviceId the id of the service, in lower case.
+         * @return the limits of the service.
+         */
+        public Limits getLimits(String serviceId) {
+            return services.getOrDefault(serviceId, defaults);
+        }
+
+        /**
+         * Limits applied to each user on each route.
+         */
+        public static class Limits {
+
+            /**
+             * Number of requests that can be sent in a burst.
+             */
+            private long capacity = 100;
+
+            /**
+             * Number of requests added back every refill period, up to the capacity.
+             */
+            private long refillTokens = 50;
+
+            private Duration refillPeriod = Duration.ofSeconds(1);
+
+            /**
+             * Number of requests that can be in progress at the same time.
+             */
+            private int maxInFlight = 20;
+
+            public long getCapacity() {
+                return capacity;
+            }
+
+            public void setCapacity(long capacity) {
+                this.capacity = capacity;
+            }
+
+            public long getRefillTokens() {
+                return refillTokens;
+            }
+
+            public void setRefillTokens(long refillTokens) {
+                this.refillTokens = refillTokens;
+            }
+
+            public Duration getRefillPeriod() {
+                return refillPeriod;
+            }
+
+            public void setRefillPeriod(Duration refillPeriod) {
+                this.refillPeriod = refillPeriod;
+            }
+
+            public int getMaxInFlight() {
+                return maxInFlight;
+            }
+
+            public void setMaxInFlight(int maxInFlight) {
+                this.maxInFlight = maxInFlight;
+            }
+        }
+    }
+
+    public static class AdaptiveConcurrency {
+
+        /**
+         * Number of requests each service may have in progress before any latency is measured.
+         */
+        private int initialLimit = 20;
+
+        private int minLimit = 5;
+
+        private int maxLimit = 500;
+
+        /**
+         * Share of each new estimate applied to the limit, between 0 and 1; lower values change the limit more
+         * slowly.
+         */
+        private double smoothing = 0.2;
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public double getSmoothing() {
+            return smoothing;
+        }
+
+        public void setSmoothing(double smoothing) {
+            this.smoothing = smoothing;
+        }
+    }
+
+    public static class Hedging {
+
+        /**
+         * Ids of the services whose GET requests are hedged; none by default.
+         */
+        private final List<String> services = new ArrayList<>();
+
+        /**
+         * Percentile of the recent response times of the service after which a GET is sent again to another
+         * instance.
+         */
+        private double delayPercentile = 0.95;
+
+        /**
+         * Delay used until enough response times of the service are known.
+         */
+        private Duration initialDelay = Duration.ofMillis(200);
+
+        /**
+         * Shortest delay, however fast the service.
+         */
+        private Duration minDelay = Duration.ofMillis(10);
+
+        /**
+         * Extra requests allowed for each request forwarded, shared by all the services.
+         */
+        private double budgetRatio = 0.1;
+
+        /**
+         * Extra requests allowed every second whatever the traffic, so that a quiet service can be hedged.
+         */
+        private double budgetMinPerSecond = 5;
+
+        public List<String> getServices() {
+            return services;
+        }
+
+        public double getDelayPercentile() {
+            return delayPercentile;
+        }
+
+        public void setDelayPercentile(double delayPercentile) {
+            this.delayPercentile = delayPercentile;
+        }
+
+        public Duration getInitialDelay() {
+            return initialDelay;
+        }
+
+        public void setInitialDelay(Duration initialDelay) {
+            this.initialDelay = initialDelay;
+        }
+
+        public Duration getMinDelay() {
+            return minDelay;
+        }
+
+        public void setMinDelay(Duration minDelay) {
+            this.minDelay = minDelay;
+        }
+
+        public double getBudgetRatio() {
+            return budgetRatio;
+        }
+
+        public void setBudgetRatio(double budgetRatio) {
+            this.budgetRatio = budgetRatio;
+        }
+
+        public double getBudgetMinPerSecond() {
+            return budgetMinPerSecond;
+        }
+
+        public void setBudgetMinPerSecond(double budgetMinPerSecond) {
+            this.budgetMinPerSecond = budgetMinPerSecond;
+        }
+    }
+
+    public static class CircuitBreaker {
+
+        /**
+         * Percentage of failed calls, over the sliding window, above which the circuit of a service opens.
+         */
+        private float failureRateThreshold = 50;
+
+        /**
+         * Number of the most recent calls the failure rate is computed from.
+         */
+        private int slidingWindowSize = 20;
+
+        /**
+         * Calls needed before the failure rate is computed at all.
+         */
+        private int minimumNumberOfCalls = 10;
+
+        /**
+         * How long calls fail fast once the circuit is open, before a few are let through again.
+         */
+        private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+
+        /**
+         * Calls let through while half open to decide whether the circuit closes again.
+         */
+        private int permittedCallsInHalfOpenState = 3;
+
+        /**
+         * Calls taking longer are cancelled and count as failures.
+         */
+        private Duration timeout = Duration.ofSeconds(10);
+
+        public float getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(float failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public int getSlidingWindowSize() {
+            return slidingWindowSize;
+        }
+
+        public void setSlidingWindowSize(int slidingWindowSize) {
+            this.slidingWindowSize = slidingWindowSize;
+        }
+
+        public int getMinimumNumberOfCalls() {
+            return minimumNumberOfCalls;
+        }
+
+        public void setMinimumNumberOfCalls(int minimumNumberOfCalls) {
+            this.minimumNumberOfCalls = minimumNumberOfCalls;
+        }
+
+        public Duration getWaitDurationInOpenState() {
+            return waitDurationInOpenState;
+        }
+
+        public void setWaitDurationInOpenState(Duration waitDurationInOpenState) {
+            this.waitDurationInOpenState = waitDurationInOpenState;
+        }
+
+        public int getPermittedCallsInHalfOpenState() {
+            return permittedCallsInHalfOpenState;
+        }
+
+        public void setPermittedCallsInHalfOpenState(int permittedCallsInHalfOpenState) {
+            this.permittedCallsInHalfOpenState = permittedCallsInHalfOpenState;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    public static class LoadBalancer {
+
+        /**
+         * How fast the response time of an instance forgets its past: a sample this old weighs about a third of a
+         * new one. Shorter moves traffic away from a slow instance, and back to it, sooner.
+         */
+        private Duration decayTime = Duration.ofSeconds(5);
+
+        /**
+         * Gateway failures in a row (error, 502, 503 or 504) after which an instance stops receiving requests.
+         */
+        private int consecutiveFailures = 5;
+
+        /**
+         * How long an ejected instance stops receiving requests.
+         */
+        private Duration ejectionTime = Duration.ofSeconds(30);
+
+        public Duration getDecayTime() {
+            return decayTime;
+        }
+
+        public void setDecayTime(Duration decayTime) {
+            this.decayTime = decayTime;
+        }
+
+        public int getConsecutiveFailures() {
+            return consecutiveFailures;
+        }
+
+        public void setConsecutiveFailures(int consecutiveFailures) {
+            this.consecutiveFailures = consecutiveFailures;
+        }
+
+        public Duration getEjectionTime() {
+            return ejectionTime;
+        }
+
+        public void setEjectionTime(Duration ejectionTime) {
+            this.ejectionTime = ejectionTime;
+        }
+    }
+}
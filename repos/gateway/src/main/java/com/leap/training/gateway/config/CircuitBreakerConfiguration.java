@@ -0,0 +1,90 @@
+package com.leap.training.gateway.config;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4JCircuitBreakerFactory;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JConfigBuilder;
+import org.springframework.cloud.client.circuitbreaker.Customizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Circuit breakers of the {@code CircuitBreaker} filter of the discovery routes, one per service.
+ * <p>
+ * Every breaker uses the settings of {@code application.circuit-breaker}. While the circuit of a service is open,
+ * its requests fail at once with a {@code 503 (Service Unavailable)} instead of waiting for the service, and the
+ * cacheable GETs are answered from the response cache. The state of each breaker is published as the
+ * {@code circuitbreaker.state} gauge (0 closed, 1 open, 2 half open) and its transitions as the
+ * {@code circuitbreaker.transitions} counter.
+ * <p>
+ * The {@code employee-bulk-import} route has no breaker: an import may take longer than the timeout, and would
+ * otherwise get a {@code 504} and count towards opening the circuit of the service.
+ */
+@Configuration
+public class CircuitBreakerConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreakerConfiguration.class);
+
+    @Bean
+    public Customizer<ReactiveResilience4JCircuitBreakerFactory> circuitBreakerCustomizer(
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        ApplicationProperties.CircuitBreaker properties = applicationProperties.getCircuitBreaker();
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig
+            .custom()
+            .failureRateThreshold(properties.getFailureRateThreshold())
+            .slidingWindowSize(properties.getSlidingWindowSize())
+            .minimumNumberOfCalls(properties.getMinimumNumberOfCalls())
+            .waitDurationInOpenState(properties.getWaitDurationInOpenState())
+            .permittedNumberOfCallsInHalfOpenState(properties.getPermittedCallsInHalfOpenState())
+            .build();
+        TimeLimiterConfig timeLimiterConfig = TimeLimiterConfig.custom().timeoutDuration(properties.getTimeout()).build();
+        return factory -> {
+            factory.configureDefault(
+                id ->
+                    new Resilience4JConfigBuilder(id)
+                        .circuitBreakerConfig(circuitBreakerConfig)
+                        .timeLimiterConfig(timeLimiterConfig)
+                        .build()
+            );
+            bindMetrics(factory.getCircuitBreakerRegistry(), meterRegistry);
+        };
+    }
+
+    private static void bindMetrics(CircuitBreakerRegistry registry, MeterRegistry meterRegistry) {
+        registry.getAllCircuitBreakers().forEach(circuitBreaker -> bindMetrics(circuitBreaker, meterRegistry));
+        registry.getEventPublisher().onEntryAdded(event -> bindMetrics(event.getAddedEntry(), meterRegistry));
+    }
+
+    private static void bindMetrics(CircuitBreaker circuitBreaker, MeterRegistry meterRegistry) {
+        String name = circuitBreaker.getName();
+        Gauge
+            .builder("circuitbreaker.state", circuitBreaker, breaker -> breaker.getState().getOrder())
+            .description("State of the circuit breaker: 0 closed, 1 open, 2 half open")
+            .tag("name", name)
+            .register(meterRegistry);
+        circuitBreaker
+            .getEventPublisher()
+            .onStateTransition(event -> {
+                CircuitBreaker.StateTransition transition = event.getStateTransition();
+                log.warn("Circuit breaker {} went from {} to {}", name, transition.getFromState(), transition.getToState());
+                Counter
+                    .builder("circuitbreaker.transitions")
+                    .description("State transitions of the circuit breaker")
+                    .tag("name", name)
+                    .tag("from", transition.getFromState().name().toLowerCase(Locale.ROOT))
+                    .tag("to", transition.getToState().name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry)
+                    .increment();
+            });
+    }
+}
@@ -0,0 +1,47 @@
+package com.leap.training.gateway.config;
+
+import com.leap.training.gateway.loadbalancer.InstanceStatistics;
+import com.leap.training.gateway.loadbalancer.PeakEwmaLoadBalancer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Replaces the round robin of the discovery routes by the {@link PeakEwmaLoadBalancer} for every service, fed with
+ * the response times measured by the gateway.
+ */
+@Configuration
+@LoadBalancerClients(defaultConfiguration = LoadBalancerConfiguration.PeakEwmaLoadBalancerConfiguration.class)
+public class LoadBalancerConfiguration {
+
+    @Bean
+    public InstanceStatistics instanceStatistics(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        return new InstanceStatistics(applicationProperties, meterRegistry);
+    }
+
+    /**
+     * Created in the load balancer context of each service, hence not a {@code @Configuration} of its own.
+     */
+    public static class PeakEwmaLoadBalancerConfiguration {
+
+        @Bean
+        public ReactorLoadBalancer<ServiceInstance> peakEwmaLoadBalancer(
+            Environment environment,
+            LoadBalancerClientFactory loadBalancerClientFactory,
+            InstanceStatistics instanceStatistics
+        ) {
+            String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+            return new PeakEwmaLoadBalancer(
+                loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+                serviceId,
+                instanceStatistics
+            );
+        }
+    }
+}
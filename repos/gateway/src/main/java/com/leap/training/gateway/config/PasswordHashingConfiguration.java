@@ -0,0 +1,48 @@
+package com.leap.training.gateway.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Scheduler running the BCrypt hashing and matching of passwords.
+ * <p>
+ * Hashing is CPU bound and slow by design: it runs on its own fixed pool so that it neither blocks the Netty event
+ * loops nor competes with blocking calls on the shared bounded elastic scheduler. When the queue is full, new work is
+ * rejected and the request fails fast with a {@code 503 Service Unavailable}. The pool is published as the
+ * {@code executor.*} meters tagged {@code name=password.hashing}.
+ */
+@Configuration
+public class PasswordHashingConfiguration {
+
+    public static final String PASSWORD_HASHING_SCHEDULER = "passwordHashingScheduler";
+
+    private final Logger log = LoggerFactory.getLogger(PasswordHashingConfiguration.class);
+
+    @Bean(name = PASSWORD_HASHING_SCHEDULER, destroyMethod = "dispose")
+    public Scheduler passwordHashingScheduler(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.PasswordHashing properties = applicationProperties.getPasswordHashing();
+        log.debug("Creating password hashing scheduler with {} threads", properties.getThreads());
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            properties.getThreads(),
+            properties.getThreads(),
+            0L,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(properties.getQueueCapacity()),
+            new CustomizableThreadFactory("password-hashing-"),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        ExecutorService monitored = ExecutorServiceMetrics.monitor(meterRegistry, executor, "password.hashing");
+        return Schedulers.fromExecutorService(monitored, "password-hashing");
+    }
+}
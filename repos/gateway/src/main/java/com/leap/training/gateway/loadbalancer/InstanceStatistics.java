@@ -0,0 +1,220 @@
+package com.leap.training.gateway.loadbalancer;
+
+import com.leap.training.gateway.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.ServiceInstance;
+
+/**
+ * Response times and requests in progress of each service instance, as seen by this gateway.
+ * <p>
+ * The response time is a peak EWMA: a slower response is taken at once, faster ones only lower it gradually, and
+ * it decays while the instance receives nothing so that a slow instance is tried again after a while. An instance
+ * is ejected for {@code ejection-time} after {@code consecutive-failures} gateway failures in a row.
+ * <p>
+ * The instances left unused for {@value #IDLE_DECAY_TIMES} decay times are forgotten whenever a new one shows up,
+ * so that the instances gone from the registry after a redeployment or a scale down are not kept forever.
+ */
+public class InstanceStatistics {
+
+    /**
+     * Cost of an instance whose requests are all still in progress: avoid piling up on it.
+     */
+    private static final double UNKNOWN_LATENCY_PENALTY = TimeUnit.SECONDS.toNanos(60);
+
+    /**
+     * Decay times after which an unused instance weighs next to nothing, as if it had never been seen.
+     */
+    private static final int IDLE_DECAY_TIMES = 10;
+
+    private final Logger log = LoggerFactory.getLogger(InstanceStatistics.class);
+
+    private final ApplicationProperties.LoadBalancer properties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final LongSupplier nanoTime;
+
+    private final Map<String, Instance> instances = new ConcurrentHashMap<>();
+
+    public InstanceStatistics(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this(applicationProperties, meterRegistry, System::nanoTime);
+    }
+
+    InstanceStatistics(ApplicationProperties applicationProperties, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.properties = applicationProperties.getLoadBalancer();
+        this.meterRegistry = meterRegistry;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * @return the start time of the request, to pass to {@link #complete} or {@link #cancel}.
+     */
+    public long start(String host, int port) {
+        long now = nanoTime.getAsLong();
+        instance(host, port, now).start(now);
+        return now;
+    }
+
+    public void complete(String serviceId, String host, int port, long start, boolean failed) {
+        long now = nanoTime.getAsLong();
+        Instance instance = instance(host, port, now);
+        if (instance.complete(now, now - start, failed)) {
+            log.warn(
+                "Ejecting {}:{} of {} for {} after {} failures",
+                host,
+                port,
+                serviceId,
+                properties.getEjectionTime(),
+                properties.getConsecutiveFailures()
+            );
+            Counter
+                .builder("gateway.loadbalancer.ejections")
+                .description("Instances left out by the load balancer after consecutive failures")
+                .tag("service", serviceId)
+                .register(meterRegistry)
+                .increment();
+        }
+    }
+
+    /**
+     * Ends a request whose response was not awaited: cut by the circuit breaker timeout, abandoned by the client or
+     * outrun by a hedged request. Its time so far is a lower bound of its response time, so it can only raise the
+     * latency of the instance, and it is not a failure.
+     */
+    public void cancel(String host, int port, long start) {
+        long now = nanoTime.getAsLong();
+        instance(host, port, now).cancel(now, now - start);
+    }
+
+    /**
+     * @param candidates instances of a service.
+     * @return the instance with the lowest cost, leaving out the ejected ones; empty if none is left.
+     */
+    public Optional<ServiceInstance> cheapest(List<ServiceInstance> candidates) {
+        return candidates.stream().filter(instance -> !isEjected(instance)).min(Comparator.comparingDouble(this::cost));
+    }
+
+    double cost(ServiceInstance serviceInstance) {
+        Instance instance = instances.get(key(serviceInstance.getHost(), serviceInstance.getPort()));
+        return instance != null ? instance.cost(nanoTime.getAsLong()) : 0;
+    }
+
+    boolean isEjected(ServiceInstance serviceInstance) {
+        Instance instance = instances.get(key(serviceInstance.getHost(), serviceInstance.getPort()));
+        return instance != null && instance.isEjected(nanoTime.getAsLong());
+    }
+
+    /**
+     * @return the number of instances known, for tests.
+     */
+    int size() {
+        return instances.size();
+    }
+
+    private Instance instance(String host, int port, long now) {
+        String key = key(host, port);
+        Instance instance = instances.get(key);
+        if (instance != null) {
+            return instance;
+        }
+        // A new instance often replaces one that has left the registry
+        instances.values().removeIf(known -> known.isIdle(now));
+        return instances.computeIfAbsent(key, newKey -> new Instance(now));
+    }
+
+    private static String key(String host, int port) {
+        return host + ':' + port;
+    }
+
+    private final class Instance {
+
+        private int inFlight;
+
+        private double latency;
+
+        private long updatedAt;
+
+        private int consecutiveFailures;
+
+        private long ejectedUntil;
+
+        private boolean ejected;
+
+        private long usedAt;
+
+        Instance(long now) {
+            usedAt = now;
+        }
+
+        synchronized void start(long now) {
+            inFlight++;
+            usedAt = now;
+        }
+
+        synchronized void cancel(long now, long elapsed) {
+            inFlight = Math.max(0, inFlight - 1);
+            usedAt = now;
+            if (elapsed > latency) {
+                latency = elapsed;
+                updatedAt = now;
+            }
+        }
+
+        /**
+         * @return whether the instance has just been ejected.
+         */
+        synchronized boolean complete(long now, long rtt, boolean failed) {
+            inFlight = Math.max(0, inFlight - 1);
+            usedAt = now;
+            if (failed) {
+                // A failure never makes the instance look faster
+                latency = Math.max(latency, rtt);
+                updatedAt = now;
+                if (++consecutiveFailures >= properties.getConsecutiveFailures() && !isEjected(now)) {
+                    consecutiveFailures = 0;
+                    ejected = true;
+                    ejectedUntil = now + properties.getEjectionTime().toNanos();
+                    return true;
+                }
+                return false;
+            }
+            consecutiveFailures = 0;
+            latency = rtt > latency ? rtt : latency * weight(now) + rtt * (1 - weight(now));
+            updatedAt = now;
+            return false;
+        }
+
+        synchronized double cost(long now) {
+            if (latency == 0) {
+                return inFlight == 0 ? 0 : UNKNOWN_LATENCY_PENALTY + inFlight;
+            }
+            // Fades while the instance gets no response, so that a slow one is tried again
+            return latency * weight(now) * (inFlight + 1);
+        }
+
+        synchronized boolean isEjected(long now) {
+            if (ejected && now - ejectedUntil >= 0) {
+                ejected = false;
+            }
+            return ejected;
+        }
+
+        synchronized boolean isIdle(long now) {
+            return inFlight == 0 && !isEjected(now) && now - usedAt > properties.getDecayTime().toNanos() * IDLE_DECAY_TIMES;
+        }
+
+        private double weight(long now) {
+            return Math.exp(-(double) (now - updatedAt) / properties.getDecayTime().toNanos());
+        }
+    }
+}
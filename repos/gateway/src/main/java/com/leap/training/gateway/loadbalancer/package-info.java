@@ -0,0 +1,4 @@
+/**
+ * Load balancing of the requests routed to the instances of the services.
+ */
+package com.leap.training.gateway.loadbalancer;
@@ -0,0 +1,45 @@
+package com.leap.training.gateway.repository;
+
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs cache evictions at the end of the current reactive transaction.
+ * <p>
+ * Evicting only when the write is issued leaves a gap until the commit, in which a concurrent request still reads the
+ * previous row from the database and caches it again for the whole time to live.
+ */
+public final class AfterTransaction {
+
+    private AfterTransaction() {}
+
+    /**
+     * Runs the action at once, and again when the current transaction completes, whether it commits or rolls back.
+     *
+     * @param action the eviction to run.
+     * @return a {@link Mono} completing once the action has run and been registered with the transaction, if any.
+     */
+    public static Mono<Void> run(Runnable action) {
+        return Mono
+            .<Void>fromRunnable(action)
+            .then(
+                TransactionSynchronizationManager
+                    .forCurrentTransaction()
+                    .filter(TransactionSynchronizationManager::isSynchronizationActive)
+                    .doOnNext(synchronizationManager ->
+                        synchronizationManager.registerSynchronization(
+                            new TransactionSynchronization() {
+                                @Override
+                                public Mono<Void> afterCompletion(int status) {
+                                    return Mono.fromRunnable(action);
+                                }
+                            }
+                        )
+                    )
+                    .onErrorResume(NoTransactionException.class, e -> Mono.empty())
+                    .then()
+            );
+    }
+}
@@ -1,6 +1,7 @@
 package com.leap.training.gateway.repository;
 
 import com.leap.training.gateway.domain.Country;
+import com.leap.training.gateway.service.EntityManager;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
@@ -32,15 +33,24 @@ public interface CountryRepository extends R2dbcRepository<Country, Long>, Count
 
     @Override
     <S extends Country> Mono<S> save(S entity);
+
+    @Override
+    <S extends Country> Flux<S> saveAll(Iterable<S> entities);
+
+    @Override
+    Mono<Void> deleteById(Long id);
 }
 
 interface CountryRepositoryInternal {
     <S extends Country> Mono<S> insert(S entity);
     <S extends Country> Mono<S> save(S entity);
+    <S extends Country> Flux<S> saveAll(Iterable<S> entities);
     Mono<Integer> update(Country entity);
+    Mono<Void> deleteById(Long id);
 
     Flux<Country> findAll();
     Mono<Country> findById(Long id);
     Flux<Country> findAllBy(Pageable pageable);
     Flux<Country> findAllBy(Pageable pageable, Criteria criteria);
+    Flux<Country> findAllAfter(Pageable pageable, EntityManager.Cursor after);
 }
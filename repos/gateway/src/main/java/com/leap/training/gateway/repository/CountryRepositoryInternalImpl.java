@@ -37,6 +37,7 @@ class CountryRepositoryInternalImpl implements CountryRepositoryInternal {
     private final DatabaseClient db;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final EntityManager entityManager;
+    private final ReferenceCache<Country> cache;
 
     private final RegionRowMapper regionMapper;
     private final CountryRowMapper countryMapper;
@@ -48,13 +49,15 @@ class CountryRepositoryInternalImpl implements CountryRepositoryInternal {
         R2dbcEntityTemplate template,
         EntityManager entityManager,
         RegionRowMapper regionMapper,
-        CountryRowMapper countryMapper
+        CountryRowMapper countryMapper,
+        ReferenceDataCache referenceDataCache
     ) {
         this.db = template.getDatabaseClient();
         this.r2dbcEntityTemplate = template;
         this.entityManager = entityManager;
         this.regionMapper = regionMapper;
         this.countryMapper = countryMapper;
+        this.cache = referenceDataCache.countries;
     }
 
     @Override
@@ -67,16 +70,13 @@ class CountryRepositoryInternalImpl implements CountryRepositoryInternal {
         return createQuery(pageable, criteria).all();
     }
 
+    @Override
+    public Flux<Country> findAllAfter(Pageable pageable, EntityManager.Cursor after) {
+        return createSeekQuery(pageable, after).all();
+    }
+
     RowsFetchSpec<Country> createQuery(Pageable pageable, Criteria criteria) {
-        List<Expression> columns = CountrySqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        columns.addAll(RegionSqlHelper.getColumns(regionTable, "region"));
-        SelectFromAndJoinCondition selectFrom = Select
-            .builder()
-            .select(columns)
-            .from(entityTable)
-            .leftOuterJoin(regionTable)
-            .on(Column.create("region_id", entityTable))
-            .equals(Column.create("id", regionTable));
+        SelectFromAndJoinCondition selectFrom = createSelectFrom();
 
         String select = entityManager.createSelect(selectFrom, Country.class, pageable, criteria);
         String alias = entityTable.getReferenceName().getReference();
@@ -96,14 +96,31 @@ class CountryRepositoryInternalImpl implements CountryRepositoryInternal {
         return db.sql(selectWhere).map(this::process);
     }
 
+    RowsFetchSpec<Country> createSeekQuery(Pageable pageable, EntityManager.Cursor after) {
+        String select = entityManager.createSeekSelect(createSelectFrom(), Country.class, pageable, after);
+        return entityManager.bindCursor(db.sql(select), after).map(this::process);
+    }
+
+    private SelectFromAndJoinCondition createSelectFrom() {
+        List<Expression> columns = CountrySqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+        columns.addAll(RegionSqlHelper.getColumns(regionTable, "region"));
+        return Select
+            .builder()
+            .select(columns)
+            .from(entityTable)
+            .leftOuterJoin(regionTable)
+            .on(Column.create("region_id", entityTable))
+            .equals(Column.create("id", regionTable));
+    }
+
     @Override
     public Flux<Country> findAll() {
-        return findAllBy(null, null);
+        return cache.findAll(() -> findAllBy(null, null));
     }
 
     @Override
     public Mono<Country> findById(Long id) {
-        return createQuery(null, where("id").is(id)).one();
+        return cache.findById(id, key -> createQuery(null, where("id").is(key)).one());
     }
 
     private Country process(Row row, RowMetadata metadata) {
@@ -120,7 +137,7 @@ class CountryRepositoryInternalImpl implements CountryRepositoryInternal {
     @Override
     public <S extends Country> Mono<S> save(S entity) {
         if (entity.getId() == null) {
-            return insert(entity);
+            return insert(entity).flatMap(saved -> cache.evictAfterTransaction(saved.getId()).thenReturn(saved));
         } else {
             return update(entity)
                 .map(numberOfUpdates -> {
@@ -128,10 +145,25 @@ class CountryRepositoryInternalImpl implements CountryRepositoryInternal {
                         throw new IllegalStateException("Unable to update Country with id = " + entity.getId());
                     }
                     return entity;
-                });
+                })
+                .flatMap(saved -> cache.evictAfterTransaction(saved.getId()).thenReturn(saved));
         }
     }
 
+    @Override
+    public <S extends Country> Flux<S> saveAll(Iterable<S> entities) {
+        return entityManager.saveAll(entities).concatWith(cache.evictAfterTransaction(null).then(Mono.empty()));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        return r2dbcEntityTemplate
+            .delete(Country.class)
+            .matching(query(where("id").is(id)))
+            .all()
+            .then(cache.evictAfterTransaction(id));
+    }
+
     @Override
     public Mono<Integer> update(Country entity) {
         //fixme is this the proper way?
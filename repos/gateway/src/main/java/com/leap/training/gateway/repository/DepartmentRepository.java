@@ -1,6 +1,7 @@
 package com.leap.training.gateway.repository;
 
 import com.leap.training.gateway.domain.Department;
+import com.leap.training.gateway.service.EntityManager;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
@@ -38,15 +39,24 @@ public interface DepartmentRepository extends R2dbcRepository<Department, Long>,
 
     @Override
     <S extends Department> Mono<S> save(S entity);
+
+    @Override
+    <S extends Department> Flux<S> saveAll(Iterable<S> entities);
+
+    @Override
+    Mono<Void> deleteById(Long id);
 }
 
 interface DepartmentRepositoryInternal {
     <S extends Department> Mono<S> insert(S entity);
     <S extends Department> Mono<S> save(S entity);
+    <S extends Department> Flux<S> saveAll(Iterable<S> entities);
     Mono<Integer> update(Department entity);
+    Mono<Void> deleteById(Long id);
 
     Flux<Department> findAll();
     Mono<Department> findById(Long id);
     Flux<Department> findAllBy(Pageable pageable);
     Flux<Department> findAllBy(Pageable pageable, Criteria criteria);
+    Flux<Department> findAllAfter(Pageable pageable, EntityManager.Cursor after);
 }
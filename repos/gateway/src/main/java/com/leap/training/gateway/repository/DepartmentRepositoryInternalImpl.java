@@ -38,6 +38,7 @@ class DepartmentRepositoryInternalImpl implements DepartmentRepositoryInternal {
     private final DatabaseClient db;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final EntityManager entityManager;
+    private final ReferenceCache<Department> cache;
 
     private final EmployeeRowMapper employeeMapper;
     private final LocationRowMapper locationMapper;
@@ -52,7 +53,8 @@ class DepartmentRepositoryInternalImpl implements DepartmentRepositoryInternal {
         EntityManager entityManager,
         EmployeeRowMapper employeeMapper,
         LocationRowMapper locationMapper,
-        DepartmentRowMapper departmentMapper
+        DepartmentRowMapper departmentMapper,
+        ReferenceDataCache referenceDataCache
     ) {
         this.db = template.getDatabaseClient();
         this.r2dbcEntityTemplate = template;
@@ -60,6 +62,7 @@ class DepartmentRepositoryInternalImpl implements DepartmentRepositoryInternal {
         this.employeeMapper = employeeMapper;
         this.locationMapper = locationMapper;
         this.departmentMapper = departmentMapper;
+        this.cache = referenceDataCache.departments;
     }
 
     @Override
@@ -72,20 +75,13 @@ class DepartmentRepositoryInternalImpl implements DepartmentRepositoryInternal {
         return createQuery(pageable, criteria).all();
     }
 
+    @Override
+    public Flux<Department> findAllAfter(Pageable pageable, EntityManager.Cursor after) {
+        return createSeekQuery(pageable, after).all();
+    }
+
     RowsFetchSpec<Department> createQuery(Pageable pageable, Criteria criteria) {
-        List<Expression> columns = DepartmentSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        columns.addAll(EmployeeSqlHelper.getColumns(managerTable, "manager"));
-        columns.addAll(LocationSqlHelper.getColumns(locationTable, "location"));
-        SelectFromAndJoinCondition selectFrom = Select
-            .builder()
-            .select(columns)
-            .from(entityTable)
-            .leftOuterJoin(managerTable)
-            .on(Column.create("manager_id", entityTable))
-            .equals(Column.create("id", managerTable))
-            .leftOuterJoin(locationTable)
-            .on(Column.create("location_id", entityTable))
-            .equals(Column.create("id", locationTable));
+        SelectFromAndJoinCondition selectFrom = createSelectFrom();
 
         String select = entityManager.createSelect(selectFrom, Department.class, pageable, criteria);
         String alias = entityTable.getReferenceName().getReference();
@@ -105,14 +101,35 @@ class DepartmentRepositoryInternalImpl implements DepartmentRepositoryInternal {
         return db.sql(selectWhere).map(this::process);
     }
 
+    RowsFetchSpec<Department> createSeekQuery(Pageable pageable, EntityManager.Cursor after) {
+        String select = entityManager.createSeekSelect(createSelectFrom(), Department.class, pageable, after);
+        return entityManager.bindCursor(db.sql(select), after).map(this::process);
+    }
+
+    private SelectFromAndJoinCondition createSelectFrom() {
+        List<Expression> columns = DepartmentSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+        columns.addAll(EmployeeSqlHelper.getColumns(managerTable, "manager"));
+        columns.addAll(LocationSqlHelper.getColumns(locationTable, "location"));
+        return Select
+            .builder()
+            .select(columns)
+            .from(entityTable)
+            .leftOuterJoin(managerTable)
+            .on(Column.create("manager_id", entityTable))
+            .equals(Column.create("id", managerTable))
+            .leftOuterJoin(locationTable)
+            .on(Column.create("location_id", entityTable))
+            .equals(Column.create("id", locationTable));
+    }
+
     @Override
     public Flux<Department> findAll() {
-        return findAllBy(null, null);
+        return cache.findAll(() -> findAllBy(null, null));
     }
 
     @Override
     public Mono<Department> findById(Long id) {
-        return createQuery(null, where("id").is(id)).one();
+        return cache.findById(id, key -> createQuery(null, where("id").is(key)).one());
     }
 
     private Department process(Row row, RowMetadata metadata) {
@@ -130,7 +147,7 @@ class DepartmentRepositoryInternalImpl implements DepartmentRepositoryInternal {
     @Override
     public <S extends Department> Mono<S> save(S entity) {
         if (entity.getId() == null) {
-            return insert(entity);
+            return insert(entity).flatMap(saved -> cache.evictAfterTransaction(saved.getId()).thenReturn(saved));
         } else {
             return update(entity)
                 .map(numberOfUpdates -> {
@@ -138,10 +155,25 @@ class DepartmentRepositoryInternalImpl implements DepartmentRepositoryInternal {
                         throw new IllegalStateException("Unable to update Department with id = " + entity.getId());
                     }
                     return entity;
-                });
+                })
+                .flatMap(saved -> cache.evictAfterTransaction(saved.getId()).thenReturn(saved));
         }
     }
 
+    @Override
+    public <S extends Department> Flux<S> saveAll(Iterable<S> entities) {
+        return entityManager.saveAll(entities).concatWith(cache.evictAfterTransaction(null).then(Mono.empty()));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        return r2dbcEntityTemplate
+            .delete(Department.class)
+            .matching(query(where("id").is(id)))
+            .all()
+            .then(cache.evictAfterTransaction(id));
+    }
+
     @Override
     public Mono<Integer> update(Department entity) {
         //fixme is this the proper way?
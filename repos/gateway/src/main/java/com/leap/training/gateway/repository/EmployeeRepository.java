@@ -1,6 +1,8 @@
 package com.leap.training.gateway.repository;
 
 import com.leap.training.gateway.domain.Employee;
+import com.leap.training.gateway.service.EntityManager;
+import java.util.Set;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
@@ -44,15 +46,26 @@ public interface EmployeeRepository extends R2dbcRepository<Employee, Long>, Emp
 
     @Override
     <S extends Employee> Mono<S> save(S entity);
+
+    @Override
+    <S extends Employee> Flux<S> saveAll(Iterable<S> entities);
+
+    @Override
+    Mono<Void> deleteById(Long id);
 }
 
 interface EmployeeRepositoryInternal {
     <S extends Employee> Mono<S> insert(S entity);
     <S extends Employee> Mono<S> save(S entity);
+    <S extends Employee> Flux<S> saveAll(Iterable<S> entities);
     Mono<Integer> update(Employee entity);
+    Mono<Void> deleteById(Long id);
 
     Flux<Employee> findAll();
     Mono<Employee> findById(Long id);
     Flux<Employee> findAllBy(Pageable pageable);
     Flux<Employee> findAllBy(Pageable pageable, Criteria criteria);
+    Flux<Employee> findAllAfter(Pageable pageable, EntityManager.Cursor after);
+    Flux<Employee> findAllWithFields(Pageable pageable, Set<String> fields);
+    Flux<Employee> findAllAfterWithFields(Pageable pageable, EntityManager.Cursor after, Set<String> fields);
 }
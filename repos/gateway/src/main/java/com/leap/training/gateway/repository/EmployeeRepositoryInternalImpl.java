@@ -12,17 +12,21 @@ import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.data.relational.core.sql.Column;
 import org.springframework.data.relational.core.sql.Expression;
 import org.springframework.data.relational.core.sql.Select;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
 import org.springframework.data.relational.core.sql.Table;
 import org.springframework.r2dbc.core.DatabaseClient;
@@ -39,6 +43,7 @@ class EmployeeRepositoryInternalImpl implements EmployeeRepositoryInternal {
     private final DatabaseClient db;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final EntityManager entityManager;
+    private final ReferenceCache<Department> departmentCache;
 
     private final JobRowMapper jobMapper;
     private final EmployeeRowMapper employeeMapper;
@@ -54,7 +59,8 @@ class EmployeeRepositoryInternalImpl implements EmployeeRepositoryInternal {
         EntityManager entityManager,
         JobRowMapper jobMapper,
         EmployeeRowMapper employeeMapper,
-        DepartmentRowMapper departmentMapper
+        DepartmentRowMapper departmentMapper,
+        ReferenceDataCache referenceDataCache
     ) {
         this.db = template.getDatabaseClient();
         this.r2dbcEntityTemplate = template;
@@ -62,6 +68,7 @@ class EmployeeRepositoryInternalImpl implements EmployeeRepositoryInternal {
         this.jobMapper = jobMapper;
         this.employeeMapper = employeeMapper;
         this.departmentMapper = departmentMapper;
+        this.departmentCache = referenceDataCache.departments;
     }
 
     @Override
@@ -74,24 +81,85 @@ class EmployeeRepositoryInternalImpl implements EmployeeRepositoryInternal {
         return createQuery(pageable, criteria).all();
     }
 
+    @Override
+    public Flux<Employee> findAllAfter(Pageable pageable, EntityManager.Cursor after) {
+        return createSeekQuery(pageable, after).all();
+    }
+
+    @Override
+    public Flux<Employee> findAllWithFields(Pageable pageable, Set<String> fields) {
+        Set<String> selected = selectedFields(pageable, fields);
+        String select = createSelectFrom(
+            selected,
+            selectFrom -> entityManager.createSelect(selectFrom, Employee.class, pageable, null),
+            selectJoin -> entityManager.createSelect(selectJoin, Employee.class, pageable, null)
+        );
+        return db.sql(select).map((row, metadata) -> process(row, selected)).all();
+    }
+
+    @Override
+    public Flux<Employee> findAllAfterWithFields(Pageable pageable, EntityManager.Cursor after, Set<String> fields) {
+        Set<String> selected = selectedFields(pageable, fields);
+        String select = createSelectFrom(
+            selected,
+            selectFrom -> entityManager.createSeekSelect(selectFrom, Employee.class, pageable, after),
+            selectJoin -> entityManager.createSeekSelect(selectJoin, Employee.class, pageable, after)
+        );
+        return entityManager.bindCursor(db.sql(select), after).map((row, metadata) -> process(row, selected)).all();
+    }
+
+    private static Set<String> selectedFields(Pageable pageable, Set<String> fields) {
+        // the sort columns are needed to build the keyset cursor, even when they are not rendered
+        Set<String> selected = new LinkedHashSet<>(fields);
+        selected.add(EntityManager.ID_PROPERTY);
+        pageable.getSort().forEach(order -> selected.add(order.getProperty()));
+        return selected;
+    }
+
+    /**
+     * Select the columns of the given fields, joining only the tables of the requested relationships.
+     */
+    private String createSelectFrom(
+        Set<String> fields,
+        Function<SelectFromAndJoin, String> withoutJoin,
+        Function<SelectFromAndJoinCondition, String> withJoin
+    ) {
+        List<Expression> columns = EmployeeSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS, fields);
+        if (fields.contains("job")) {
+            columns.addAll(JobSqlHelper.getColumns(jobTable, "job"));
+        }
+        if (fields.contains("manager")) {
+            columns.addAll(EmployeeSqlHelper.getColumns(managerTable, "manager"));
+        }
+        if (fields.contains("department")) {
+            columns.addAll(DepartmentSqlHelper.getColumns(departmentTable, "department"));
+        }
+
+        SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
+        SelectFromAndJoinCondition selectJoin = null;
+        if (fields.contains("job")) {
+            selectJoin =
+                (selectJoin == null ? selectFrom.leftOuterJoin(jobTable) : selectJoin.leftOuterJoin(jobTable))
+                    .on(Column.create("job_id", entityTable))
+                    .equals(Column.create("id", jobTable));
+        }
+        if (fields.contains("manager")) {
+            selectJoin =
+                (selectJoin == null ? selectFrom.leftOuterJoin(managerTable) : selectJoin.leftOuterJoin(managerTable))
+                    .on(Column.create("manager_id", entityTable))
+                    .equals(Column.create("id", managerTable));
+        }
+        if (fields.contains("department")) {
+            selectJoin =
+                (selectJoin == null ? selectFrom.leftOuterJoin(departmentTable) : selectJoin.leftOuterJoin(departmentTable))
+                    .on(Column.create("department_id", entityTable))
+                    .equals(Column.create("id", departmentTable));
+        }
+        return selectJoin == null ? withoutJoin.apply(selectFrom) : withJoin.apply(selectJoin);
+    }
+
     RowsFetchSpec<Employee> createQuery(Pageable pageable, Criteria criteria) {
-        List<Expression> columns = EmployeeSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        columns.addAll(JobSqlHelper.getColumns(jobTable, "job"));
-        columns.addAll(EmployeeSqlHelper.getColumns(managerTable, "manager"));
-        columns.addAll(DepartmentSqlHelper.getColumns(departmentTable, "department"));
-        SelectFromAndJoinCondition selectFrom = Select
-            .builder()
-            .select(columns)
-            .from(entityTable)
-            .leftOuterJoin(jobTable)
-            .on(Column.create("job_id", entityTable))
-            .equals(Column.create("id", jobTable))
-            .leftOuterJoin(managerTable)
-            .on(Column.create("manager_id", entityTable))
-            .equals(Column.create("id", managerTable))
-            .leftOuterJoin(departmentTable)
-            .on(Column.create("department_id", entityTable))
-            .equals(Column.create("id", departmentTable));
+        SelectFromAndJoinCondition selectFrom = createSelectFrom();
 
         String select = entityManager.createSelect(selectFrom, Employee.class, pageable, criteria);
         String alias = entityTable.getReferenceName().getReference();
@@ -111,6 +179,31 @@ class EmployeeRepositoryInternalImpl implements EmployeeRepositoryInternal {
         return db.sql(selectWhere).map(this::process);
     }
 
+    RowsFetchSpec<Employee> createSeekQuery(Pageable pageable, EntityManager.Cursor after) {
+        String select = entityManager.createSeekSelect(createSelectFrom(), Employee.class, pageable, after);
+        return entityManager.bindCursor(db.sql(select), after).map(this::process);
+    }
+
+    private SelectFromAndJoinCondition createSelectFrom() {
+        List<Expression> columns = EmployeeSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+        columns.addAll(JobSqlHelper.getColumns(jobTable, "job"));
+        columns.addAll(EmployeeSqlHelper.getColumns(managerTable, "manager"));
+        columns.addAll(DepartmentSqlHelper.getColumns(departmentTable, "department"));
+        return Select
+            .builder()
+            .select(columns)
+            .from(entityTable)
+            .leftOuterJoin(jobTable)
+            .on(Column.create("job_id", entityTable))
+            .equals(Column.create("id", jobTable))
+            .leftOuterJoin(managerTable)
+            .on(Column.create("manager_id", entityTable))
+            .equals(Column.create("id", managerTable))
+            .leftOuterJoin(departmentTable)
+            .on(Column.create("department_id", entityTable))
+            .equals(Column.create("id", departmentTable));
+    }
+
     @Override
     public Flux<Employee> findAll() {
         return findAllBy(null, null);
@@ -129,6 +222,20 @@ class EmployeeRepositoryInternalImpl implements EmployeeRepositoryInternal {
         return entity;
     }
 
+    private Employee process(Row row, Set<String> fields) {
+        Employee entity = employeeMapper.apply(row, "e", fields);
+        if (fields.contains("job")) {
+            entity.setJob(jobMapper.apply(row, "job"));
+        }
+        if (fields.contains("manager")) {
+            entity.setManager(employeeMapper.apply(row, "manager"));
+        }
+        if (fields.contains("department")) {
+            entity.setDepartment(departmentMapper.apply(row, "department"));
+        }
+        return entity;
+    }
+
     @Override
     public <S extends Employee> Mono<S> insert(S entity) {
         return entityManager.insert(entity);
@@ -137,7 +244,7 @@ class EmployeeRepositoryInternalImpl implements EmployeeRepositoryInternal {
     @Override
     public <S extends Employee> Mono<S> save(S entity) {
         if (entity.getId() == null) {
-            return insert(entity);
+            return insert(entity).flatMap(saved -> departmentCache.evictAfterTransaction(null).thenReturn(saved));
         } else {
             return update(entity)
                 .map(numberOfUpdates -> {
@@ -145,10 +252,25 @@ class EmployeeRepositoryInternalImpl implements EmployeeRepositoryInternal {
                         throw new IllegalStateException("Unable to update Employee with id = " + entity.getId());
                     }
                     return entity;
-                });
+                })
+                .flatMap(saved -> departmentCache.evictAfterTransaction(null).thenReturn(saved));
         }
     }
 
+    @Override
+    public <S extends Employee> Flux<S> saveAll(Iterable<S> entities) {
+        return entityManager.saveAll(entities).concatWith(departmentCache.evictAfterTransaction(null).then(Mono.empty()));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        return r2dbcEntityTemplate
+            .delete(Employee.class)
+            .matching(query(where("id").is(id)))
+            .all()
+            .then(departmentCache.evictAfterTransaction(null));
+    }
+
     @Override
     public Mono<Integer> update(Employee entity) {
         //fixme is this the proper way?
@@ -158,6 +280,23 @@ class EmployeeRepositoryInternalImpl implements EmployeeRepositoryInternal {
 
 class EmployeeSqlHelper {
 
+    /**
+     * Columns of the selectable fields, by JSON property name.
+     */
+    private static final Map<String, String> FIELD_COLUMNS = Map.ofEntries(
+        Map.entry("id", "id"),
+        Map.entry("firstName", "first_name"),
+        Map.entry("lastName", "last_name"),
+        Map.entry("email", "email"),
+        Map.entry("phoneNumber", "phone_number"),
+        Map.entry("hireDate", "hire_date"),
+        Map.entry("salary", "salary"),
+        Map.entry("commissionPct", "commission_pct"),
+        Map.entry("jobId", "job_id"),
+        Map.entry("managerId", "manager_id"),
+        Map.entry("departmentId", "department_id")
+    );
+
     static List<Expression> getColumns(Table table, String columnPrefix) {
         List<Expression> columns = new ArrayList<>();
         columns.add(Column.aliased("id", table, columnPrefix + "_id"));
@@ -174,4 +313,15 @@ class EmployeeSqlHelper {
         columns.add(Column.aliased("department_id", table, columnPrefix + "_department_id"));
         return columns;
     }
+
+    static List<Expression> getColumns(Table table, String columnPrefix, Set<String> fields) {
+        List<Expression> columns = new ArrayList<>();
+        for (String field : fields) {
+            String column = FIELD_COLUMNS.get(field);
+            if (column != null) {
+                columns.add(Column.aliased(column, table, columnPrefix + "_" + column));
+            }
+        }
+        return columns;
+    }
 }
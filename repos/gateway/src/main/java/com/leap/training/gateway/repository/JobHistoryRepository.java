@@ -1,6 +1,7 @@
 package com.leap.training.gateway.repository;
 
 import com.leap.training.gateway.domain.JobHistory;
+import com.leap.training.gateway.service.EntityManager;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
@@ -44,15 +45,20 @@ public interface JobHistoryRepository extends R2dbcRepository<JobHistory, Long>,
 
     @Override
     <S extends JobHistory> Mono<S> save(S entity);
+
+    @Override
+    <S extends JobHistory> Flux<S> saveAll(Iterable<S> entities);
 }
 
 interface JobHistoryRepositoryInternal {
     <S extends JobHistory> Mono<S> insert(S entity);
     <S extends JobHistory> Mono<S> save(S entity);
+    <S extends JobHistory> Flux<S> saveAll(Iterable<S> entities);
     Mono<Integer> update(JobHistory entity);
 
     Flux<JobHistory> findAll();
     Mono<JobHistory> findById(Long id);
     Flux<JobHistory> findAllBy(Pageable pageable);
     Flux<JobHistory> findAllBy(Pageable pageable, Criteria criteria);
+    Flux<JobHistory> findAllAfter(Pageable pageable, EntityManager.Cursor after);
 }
@@ -78,24 +78,13 @@ class JobHistoryRepositoryInternalImpl implements JobHistoryRepositoryInternal {
         return createQuery(pageable, criteria).all();
     }
 
+    @Override
+    public Flux<JobHistory> findAllAfter(Pageable pageable, EntityManager.Cursor after) {
+        return createSeekQuery(pageable, after).all();
+    }
+
     RowsFetchSpec<JobHistory> createQuery(Pageable pageable, Criteria criteria) {
-        List<Expression> columns = JobHistorySqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        columns.addAll(JobSqlHelper.getColumns(jobTable, "job"));
-        columns.addAll(DepartmentSqlHelper.getColumns(departmentTable, "department"));
-        columns.addAll(EmployeeSqlHelper.getColumns(employeeTable, "employee"));
-        SelectFromAndJoinCondition selectFrom = Select
-            .builder()
-            .select(columns)
-            .from(entityTable)
-            .leftOuterJoin(jobTable)
-            .on(Column.create("job_id", entityTable))
-            .equals(Column.create("id", jobTable))
-            .leftOuterJoin(departmentTable)
-            .on(Column.create("department_id", entityTable))
-            .equals(Column.create("id", departmentTable))
-            .leftOuterJoin(employeeTable)
-            .on(Column.create("employee_id", entityTable))
-            .equals(Column.create("id", employeeTable));
+        SelectFromAndJoinCondition selectFrom = createSelectFrom();
 
         String select = entityManager.createSelect(selectFrom, JobHistory.class, pageable, criteria);
         String alias = entityTable.getReferenceName().getReference();
@@ -115,6 +104,31 @@ class JobHistoryRepositoryInternalImpl implements JobHistoryRepositoryInternal {
         return db.sql(selectWhere).map(this::process);
     }
 
+    RowsFetchSpec<JobHistory> createSeekQuery(Pageable pageable, EntityManager.Cursor after) {
+        String select = entityManager.createSeekSelect(createSelectFrom(), JobHistory.class, pageable, after);
+        return entityManager.bindCursor(db.sql(select), after).map(this::process);
+    }
+
+    private SelectFromAndJoinCondition createSelectFrom() {
+        List<Expression> columns = JobHistorySqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+        columns.addAll(JobSqlHelper.getColumns(jobTable, "job"));
+        columns.addAll(DepartmentSqlHelper.getColumns(departmentTable, "department"));
+        columns.addAll(EmployeeSqlHelper.getColumns(employeeTable, "employee"));
+        return Select
+            .builder()
+            .select(columns)
+            .from(entityTable)
+            .leftOuterJoin(jobTable)
+            .on(Column.create("job_id", entityTable))
+            .equals(Column.create("id", jobTable))
+            .leftOuterJoin(departmentTable)
+            .on(Column.create("department_id", entityTable))
+            .equals(Column.create("id", departmentTable))
+            .leftOuterJoin(employeeTable)
+            .on(Column.create("employee_id", entityTable))
+            .equals(Column.create("id", employeeTable));
+    }
+
     @Override
     public Flux<JobHistory> findAll() {
         return findAllBy(null, null);
@@ -153,6 +167,11 @@ class JobHistoryRepositoryInternalImpl implements JobHistoryRepositoryInternal {
         }
     }
 
+    @Override
+    public <S extends JobHistory> Flux<S> saveAll(Iterable<S> entities) {
+        return entityManager.saveAll(entities);
+    }
+
     @Override
     public Mono<Integer> update(JobHistory entity) {
         //fixme is this the proper way?
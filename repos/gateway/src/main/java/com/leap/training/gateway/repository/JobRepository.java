@@ -1,6 +1,7 @@
 package com.leap.training.gateway.repository;
 
 import com.leap.training.gateway.domain.Job;
+import com.leap.training.gateway.service.EntityManager;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
@@ -26,15 +27,24 @@ public interface JobRepository extends R2dbcRepository<Job, Long>, JobRepository
 
     @Override
     <S extends Job> Mono<S> save(S entity);
+
+    @Override
+    <S extends Job> Flux<S> saveAll(Iterable<S> entities);
+
+    @Override
+    Mono<Void> deleteById(Long id);
 }
 
 interface JobRepositoryInternal {
     <S extends Job> Mono<S> insert(S entity);
     <S extends Job> Mono<S> save(S entity);
+    <S extends Job> Flux<S> saveAll(Iterable<S> entities);
     Mono<Integer> update(Job entity);
+    Mono<Void> deleteById(Long id);
 
     Flux<Job> findAll();
     Mono<Job> findById(Long id);
     Flux<Job> findAllBy(Pageable pageable);
     Flux<Job> findAllBy(Pageable pageable, Criteria criteria);
+    Flux<Job> findAllAfter(Pageable pageable, EntityManager.Cursor after);
 }
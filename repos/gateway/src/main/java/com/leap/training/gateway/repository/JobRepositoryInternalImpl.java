@@ -36,16 +36,23 @@ class JobRepositoryInternalImpl implements JobRepositoryInternal {
     private final DatabaseClient db;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final EntityManager entityManager;
+    private final ReferenceCache<Job> cache;
 
     private final JobRowMapper jobMapper;
 
     private static final Table entityTable = Table.aliased("job", EntityManager.ENTITY_ALIAS);
 
-    public JobRepositoryInternalImpl(R2dbcEntityTemplate template, EntityManager entityManager, JobRowMapper jobMapper) {
+    public JobRepositoryInternalImpl(
+        R2dbcEntityTemplate template,
+        EntityManager entityManager,
+        JobRowMapper jobMapper,
+        ReferenceDataCache referenceDataCache
+    ) {
         this.db = template.getDatabaseClient();
         this.r2dbcEntityTemplate = template;
         this.entityManager = entityManager;
         this.jobMapper = jobMapper;
+        this.cache = referenceDataCache.jobs;
     }
 
     @Override
@@ -58,9 +65,13 @@ class JobRepositoryInternalImpl implements JobRepositoryInternal {
         return createQuery(pageable, criteria).all();
     }
 
+    @Override
+    public Flux<Job> findAllAfter(Pageable pageable, EntityManager.Cursor after) {
+        return createSeekQuery(pageable, after).all();
+    }
+
     RowsFetchSpec<Job> createQuery(Pageable pageable, Criteria criteria) {
-        List<Expression> columns = JobSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
+        SelectFromAndJoin selectFrom = createSelectFrom();
 
         String select = entityManager.createSelect(selectFrom, Job.class, pageable, criteria);
         String alias = entityTable.getReferenceName().getReference();
@@ -80,14 +91,24 @@ class JobRepositoryInternalImpl implements JobRepositoryInternal {
         return db.sql(selectWhere).map(this::process);
     }
 
+    RowsFetchSpec<Job> createSeekQuery(Pageable pageable, EntityManager.Cursor after) {
+        String select = entityManager.createSeekSelect(createSelectFrom(), Job.class, pageable, after);
+        return entityManager.bindCursor(db.sql(select), after).map(this::process);
+    }
+
+    private SelectFromAndJoin createSelectFrom() {
+        List<Expression> columns = JobSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+        return Select.builder().select(columns).from(entityTable);
+    }
+
     @Override
     public Flux<Job> findAll() {
-        return findAllBy(null, null);
+        return cache.findAll(() -> findAllBy(null, null));
     }
 
     @Override
     public Mono<Job> findById(Long id) {
-        return createQuery(null, where("id").is(id)).one();
+        return cache.findById(id, key -> createQuery(null, where("id").is(key)).one());
     }
 
     private Job process(Row row, RowMetadata metadata) {
@@ -103,7 +124,7 @@ class JobRepositoryInternalImpl implements JobRepositoryInternal {
     @Override
     public <S extends Job> Mono<S> save(S entity) {
         if (entity.getId() == null) {
-            return insert(entity);
+            return insert(entity).flatMap(saved -> cache.evictAfterTransaction(saved.getId()).thenReturn(saved));
         } else {
             return update(entity)
                 .map(numberOfUpdates -> {
@@ -111,10 +132,25 @@ class JobRepositoryInternalImpl implements JobRepositoryInternal {
                         throw new IllegalStateException("Unable to update Job with id = " + entity.getId());
                     }
                     return entity;
-                });
+                })
+                .flatMap(saved -> cache.evictAfterTransaction(saved.getId()).thenReturn(saved));
         }
     }
 
+    @Override
+    public <S extends Job> Flux<S> saveAll(Iterable<S> entities) {
+        return entityManager.saveAll(entities).concatWith(cache.evictAfterTransaction(null).then(Mono.empty()));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        return r2dbcEntityTemplate
+            .delete(Job.class)
+            .matching(query(where("id").is(id)))
+            .all()
+            .then(cache.evictAfterTransaction(id));
+    }
+
     @Override
     public Mono<Integer> update(Job entity) {
         //fixme is this the proper way?
@@ -1,6 +1,7 @@
 package com.leap.training.gateway.repository;
 
 import com.leap.training.gateway.domain.Location;
+import com.leap.training.gateway.service.EntityManager;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
@@ -32,15 +33,24 @@ public interface LocationRepository extends R2dbcRepository<Location, Long>, Loc
 
     @Override
     <S extends Location> Mono<S> save(S entity);
+
+    @Override
+    <S extends Location> Flux<S> saveAll(Iterable<S> entities);
+
+    @Override
+    Mono<Void> deleteById(Long id);
 }
 
 interface LocationRepositoryInternal {
     <S extends Location> Mono<S> insert(S entity);
     <S extends Location> Mono<S> save(S entity);
+    <S extends Location> Flux<S> saveAll(Iterable<S> entities);
     Mono<Integer> update(Location entity);
+    Mono<Void> deleteById(Long id);
 
     Flux<Location> findAll();
     Mono<Location> findById(Long id);
     Flux<Location> findAllBy(Pageable pageable);
     Flux<Location> findAllBy(Pageable pageable, Criteria criteria);
+    Flux<Location> findAllAfter(Pageable pageable, EntityManager.Cursor after);
 }
@@ -37,6 +37,7 @@ class LocationRepositoryInternalImpl implements LocationRepositoryInternal {
     private final DatabaseClient db;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final EntityManager entityManager;
+    private final ReferenceCache<Location> cache;
 
     private final CountryRowMapper countryMapper;
     private final LocationRowMapper locationMapper;
@@ -48,13 +49,15 @@ class LocationRepositoryInternalImpl implements LocationRepositoryInternal {
         R2dbcEntityTemplate template,
         EntityManager entityManager,
         CountryRowMapper countryMapper,
-        LocationRowMapper locationMapper
+        LocationRowMapper locationMapper,
+        ReferenceDataCache referenceDataCache
     ) {
         this.db = template.getDatabaseClient();
         this.r2dbcEntityTemplate = template;
         this.entityManager = entityManager;
         this.countryMapper = countryMapper;
         this.locationMapper = locationMapper;
+        this.cache = referenceDataCache.locations;
     }
 
     @Override
@@ -67,16 +70,13 @@ class LocationRepositoryInternalImpl implements LocationRepositoryInternal {
         return createQuery(pageable, criteria).all();
     }
 
+    @Override
+    public Flux<Location> findAllAfter(Pageable pageable, EntityManager.Cursor after) {
+        return createSeekQuery(pageable, after).all();
+    }
+
     RowsFetchSpec<Location> createQuery(Pageable pageable, Criteria criteria) {
-        List<Expression> columns = LocationSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        columns.addAll(CountrySqlHelper.getColumns(countryTable, "country"));
-        SelectFromAndJoinCondition selectFrom = Select
-            .builder()
-            .select(columns)
-            .from(entityTable)
-            .leftOuterJoin(countryTable)
-            .on(Column.create("country_id", entityTable))
-            .equals(Column.create("id", countryTable));
+        SelectFromAndJoinCondition selectFrom = createSelectFrom();
 
         String select = entityManager.createSelect(selectFrom, Location.class, pageable, criteria);
         String alias = entityTable.getReferenceName().getReference();
@@ -96,14 +96,31 @@ class LocationRepositoryInternalImpl implements LocationRepositoryInternal {
         return db.sql(selectWhere).map(this::process);
     }
 
+    RowsFetchSpec<Location> createSeekQuery(Pageable pageable, EntityManager.Cursor after) {
+        String select = entityManager.createSeekSelect(createSelectFrom(), Location.class, pageable, after);
+        return entityManager.bindCursor(db.sql(select), after).map(this::process);
+    }
+
+    private SelectFromAndJoinCondition createSelectFrom() {
+        List<Expression> columns = LocationSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+        columns.addAll(CountrySqlHelper.getColumns(countryTable, "country"));
+        return Select
+            .builder()
+            .select(columns)
+            .from(entityTable)
+            .leftOuterJoin(countryTable)
+            .on(Column.create("country_id", entityTable))
+            .equals(Column.create("id", countryTable));
+    }
+
     @Override
     public Flux<Location> findAll() {
-        return findAllBy(null, null);
+        return cache.findAll(() -> findAllBy(null, null));
     }
 
     @Override
     public Mono<Location> findById(Long id) {
-        return createQuery(null, where("id").is(id)).one();
+        return cache.findById(id, key -> createQuery(null, where("id").is(key)).one());
     }
 
     private Location process(Row row, RowMetadata metadata) {
@@ -120,7 +137,7 @@ class LocationRepositoryInternalImpl implements LocationRepositoryInternal {
     @Override
     public <S extends Location> Mono<S> save(S entity) {
         if (entity.getId() == null) {
-            return insert(entity);
+            return insert(entity).flatMap(saved -> cache.evictAfterTransaction(saved.getId()).thenReturn(saved));
         } else {
             return update(entity)
                 .map(numberOfUpdates -> {
@@ -128,10 +145,25 @@ class LocationRepositoryInternalImpl implements LocationRepositoryInternal {
                         throw new IllegalStateException("Unable to update Location with id = " + entity.getId());
                     }
                     return entity;
-                });
+                })
+                .flatMap(saved -> cache.evictAfterTransaction(saved.getId()).thenReturn(saved));
         }
     }
 
+    @Override
+    public <S extends Location> Flux<S> saveAll(Iterable<S> entities) {
+        return entityManager.saveAll(entities).concatWith(cache.evictAfterTransaction(null).then(Mono.empty()));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        return r2dbcEntityTemplate
+            .delete(Location.class)
+            .matching(query(where("id").is(id)))
+            .all()
+            .then(cache.evictAfterTransaction(id));
+    }
+
     @Override
     public Mono<Integer> update(Location entity) {
         //fixme is this the proper way?
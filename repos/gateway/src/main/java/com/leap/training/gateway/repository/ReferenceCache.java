@@ -0,0 +1,205 @@
+package com.leap.training.gateway.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ReflectionUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking read-through cache of the rows of one reference entity, by id and as a whole table.
+ * <p>
+ * Loads are shared: concurrent readers of a missing id subscribe to the same query. An entry is reloaded once its
+ * time to live has elapsed; absent ids and failed loads are not kept. Repositories evict from their write paths, at
+ * the end of the transaction, and an eviction also clears the caches of the entities whose cached rows embed this one.
+ * <p>
+ * Once {@code maxEntries} ids are cached, a tenth of them is dropped, the least recently used first, so that a full
+ * cache does not miss on every id at once.
+ * <p>
+ * Each reader gets its own shallow copy of the cached entity, so that a caller updating the entity it read does not
+ * change the cached one before, or without, writing it.
+ */
+class ReferenceCache<T> {
+
+    private static final int EVICTION_FRACTION = 10;
+
+    private final String name;
+
+    private final Duration timeToLive;
+
+    private final int maxEntries;
+
+    private final Map<Long, Entry<T>> byId = new ConcurrentHashMap<>();
+
+    /**
+     * Increases on every read, to order the entries by last use.
+     */
+    private final AtomicLong uses = new AtomicLong();
+
+    private final AtomicReference<Mono<List<T>>> all = new AtomicReference<>();
+
+    private final List<ReferenceCache<?>> dependents = new ArrayList<>();
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter evictions;
+
+    ReferenceCache(String name, Duration timeToLive, int maxEntries, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.timeToLive = timeToLive;
+        this.maxEntries = maxEntries;
+        this.hits = Counter.builder("cache.gets").tag("cache", name).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", name).tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", name).register(meterRegistry);
+        Gauge.builder("cache.size", byId, Map::size).tag("cache", name).register(meterRegistry);
+    }
+
+    /**
+     * Declares caches whose entries embed rows of this cache, they are cleared whenever this cache is evicted.
+     *
+     * @param caches the dependent caches.
+     * @return this cache.
+     */
+    ReferenceCache<T> invalidates(ReferenceCache<?>... caches) {
+        dependents.addAll(List.of(caches));
+        return this;
+    }
+
+    Mono<T> findById(Long id, Function<Long, Mono<T>> loader) {
+        if (!isEnabled() || id == null) {
+            return loader.apply(id);
+        }
+        Entry<T> cached = byId.get(id);
+        if (cached != null) {
+            hits.increment();
+            cached.usedAt = uses.incrementAndGet();
+            return cached.value.map(ReferenceCache::copyOf);
+        }
+        misses.increment();
+        if (byId.size() >= maxEntries) {
+            makeRoom();
+        }
+        Mono<T> loaded = loader
+            .apply(id)
+            .doOnSuccess(entity -> {
+                if (entity == null) {
+                    byId.remove(id);
+                }
+            })
+            .doOnError(e -> byId.remove(id))
+            .cache(entity -> timeToLive, e -> Duration.ZERO, () -> Duration.ZERO);
+        Entry<T> entry = new Entry<>(loaded, uses.incrementAndGet());
+        Entry<T> previous = byId.putIfAbsent(id, entry);
+        return (previous != null ? previous : entry).value.map(ReferenceCache::copyOf);
+    }
+
+    private synchronized void makeRoom() {
+        int target = maxEntries - Math.max(1, maxEntries / EVICTION_FRACTION);
+        if (byId.size() <= target) {
+            // Another thread has just made room
+            return;
+        }
+        List<Long> leastRecentlyUsed = byId
+            .entrySet()
+            .stream()
+            .sorted(Comparator.comparingLong(entry -> entry.getValue().usedAt))
+            .limit(byId.size() - target)
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList());
+        leastRecentlyUsed.forEach(id -> {
+            if (byId.remove(id) != null) {
+                evictions.increment();
+            }
+        });
+    }
+
+    Flux<T> findAll(Supplier<Flux<T>> loader) {
+        if (!isEnabled()) {
+            return loader.get();
+        }
+        Mono<List<T>> cached = all.get();
+        if (cached != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            cached =
+                all.updateAndGet(list ->
+                    list != null ? list : loader.get().collectList().cache(entities -> timeToLive, e -> Duration.ZERO, () -> Duration.ZERO)
+                );
+        }
+        return cached.flatMapIterable(Function.identity()).map(ReferenceCache::copyOf);
+    }
+
+    /**
+     * Forgets one row, the whole table and the dependent caches.
+     *
+     * @param id the id of the row written, or {@code null} to forget every row.
+     */
+    void evict(Long id) {
+        if (id == null) {
+            byId.clear();
+        } else {
+            byId.remove(id);
+        }
+        all.set(null);
+        dependents.forEach(ReferenceCache::clear);
+    }
+
+    void clear() {
+        evict(null);
+    }
+
+    /**
+     * Evicts now and once the current transaction has completed, see {@link AfterTransaction}.
+     *
+     * @param id the id of the row written, or {@code null} to forget every row.
+     * @return a {@link Mono} to chain after the write.
+     */
+    Mono<Void> evictAfterTransaction(Long id) {
+        return AfterTransaction.run(() -> evict(id));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T copyOf(T entity) {
+        // field by field: the relationship setters of the entities also update the other side
+        T copy = (T) BeanUtils.instantiateClass(entity.getClass());
+        ReflectionUtils.shallowCopyFieldState(entity, copy);
+        return copy;
+    }
+
+    private boolean isEnabled() {
+        return maxEntries > 0 && !timeToLive.isZero() && !timeToLive.isNegative();
+    }
+
+    @Override
+    public String toString() {
+        return "ReferenceCache{" + name + "}";
+    }
+
+    private static final class Entry<T> {
+
+        private final Mono<T> value;
+
+        private volatile long usedAt;
+
+        private Entry(Mono<T> value, long usedAt) {
+            this.value = value;
+            this.usedAt = usedAt;
+        }
+    }
+}
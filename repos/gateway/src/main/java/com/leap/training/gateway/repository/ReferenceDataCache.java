@@ -0,0 +1,41 @@
+package com.leap.training.gateway.repository;
+
+import com.leap.training.gateway.config.ApplicationProperties;
+import com.leap.training.gateway.domain.Country;
+import com.leap.training.gateway.domain.Department;
+import com.leap.training.gateway.domain.Job;
+import com.leap.training.gateway.domain.Location;
+import com.leap.training.gateway.domain.Region;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches of the reference entities read through their repositories, see {@link ReferenceCache}.
+ * <p>
+ * A country embeds its region, a location its country and a department its location and manager, so writing one of
+ * those rows also clears the caches that hold copies of it.
+ */
+@Component
+class ReferenceDataCache {
+
+    final ReferenceCache<Department> departments;
+
+    final ReferenceCache<Location> locations;
+
+    final ReferenceCache<Country> countries;
+
+    final ReferenceCache<Region> regions;
+
+    final ReferenceCache<Job> jobs;
+
+    ReferenceDataCache(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        Duration timeToLive = applicationProperties.getReferenceCache().getTimeToLive();
+        int maxEntries = applicationProperties.getReferenceCache().getMaxEntries();
+        this.departments = new ReferenceCache<>("department", timeToLive, maxEntries, meterRegistry);
+        this.locations = new ReferenceCache<Location>("location", timeToLive, maxEntries, meterRegistry).invalidates(departments);
+        this.countries = new ReferenceCache<Country>("country", timeToLive, maxEntries, meterRegistry).invalidates(locations);
+        this.regions = new ReferenceCache<Region>("region", timeToLive, maxEntries, meterRegistry).invalidates(countries);
+        this.jobs = new ReferenceCache<>("job", timeToLive, maxEntries, meterRegistry);
+    }
+}
@@ -1,6 +1,7 @@
 package com.leap.training.gateway.repository;
 
 import com.leap.training.gateway.domain.Region;
+import com.leap.training.gateway.service.EntityManager;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
@@ -26,15 +27,24 @@ public interface RegionRepository extends R2dbcRepository<Region, Long>, RegionR
 
     @Override
     <S extends Region> Mono<S> save(S entity);
+
+    @Override
+    <S extends Region> Flux<S> saveAll(Iterable<S> entities);
+
+    @Override
+    Mono<Void> deleteById(Long id);
 }
 
 interface RegionRepositoryInternal {
     <S extends Region> Mono<S> insert(S entity);
     <S extends Region> Mono<S> save(S entity);
+    <S extends Region> Flux<S> saveAll(Iterable<S> entities);
     Mono<Integer> update(Region entity);
+    Mono<Void> deleteById(Long id);
 
     Flux<Region> findAll();
     Mono<Region> findById(Long id);
     Flux<Region> findAllBy(Pageable pageable);
     Flux<Region> findAllBy(Pageable pageable, Criteria criteria);
+    Flux<Region> findAllAfter(Pageable pageable, EntityManager.Cursor after);
 }
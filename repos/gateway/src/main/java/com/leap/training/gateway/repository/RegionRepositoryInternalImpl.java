@@ -36,16 +36,23 @@ class RegionRepositoryInternalImpl implements RegionRepositoryInternal {
     private final DatabaseClient db;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final EntityManager entityManager;
+    private final ReferenceCache<Region> cache;
 
     private final RegionRowMapper regionMapper;
 
     private static final Table entityTable = Table.aliased("regions", EntityManager.ENTITY_ALIAS);
 
-    public RegionRepositoryInternalImpl(R2dbcEntityTemplate template, EntityManager entityManager, RegionRowMapper regionMapper) {
+    public RegionRepositoryInternalImpl(
+        R2dbcEntityTemplate template,
+        EntityManager entityManager,
+        RegionRowMapper regionMapper,
+        ReferenceDataCache referenceDataCache
+    ) {
         this.db = template.getDatabaseClient();
         this.r2dbcEntityTemplate = template;
         this.entityManager = entityManager;
         this.regionMapper = regionMapper;
+        this.cache = referenceDataCache.regions;
     }
 
     @Override
@@ -58,9 +65,13 @@ class RegionRepositoryInternalImpl implements RegionRepositoryInternal {
         return createQuery(pageable, criteria).all();
     }
 
+    @Override
+    public Flux<Region> findAllAfter(Pageable pageable, EntityManager.Cursor after) {
+        return createSeekQuery(pageable, after).all();
+    }
+
     RowsFetchSpec<Region> createQuery(Pageable pageable, Criteria criteria) {
-        List<Expression> columns = RegionSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
+        SelectFromAndJoin selectFrom = createSelectFrom();
 
         String select = entityManager.createSelect(selectFrom, Region.class, pageable, criteria);
         String alias = entityTable.getReferenceName().getReference();
@@ -80,14 +91,24 @@ class RegionRepositoryInternalImpl implements RegionRepositoryInternal {
         return db.sql(selectWhere).map(this::process);
     }
 
+    RowsFetchSpec<Region> createSeekQuery(Pageable pageable, EntityManager.Cursor after) {
+        String select = entityManager.createSeekSelect(createSelectFrom(), Region.class, pageable, after);
+        return entityManager.bindCursor(db.sql(select), after).map(this::process);
+    }
+
+    private SelectFromAndJoin createSelectFrom() {
+        List<Expression> columns = RegionSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+        return Select.builder().select(columns).from(entityTable);
+    }
+
     @Override
     public Flux<Region> findAll() {
-        return findAllBy(null, null);
+        return cache.findAll(() -> findAllBy(null, null));
     }
 
     @Override
     public Mono<Region> findById(Long id) {
-        return createQuery(null, where("id").is(id)).one();
+        return cache.findById(id, key -> createQuery(null, where("id").is(key)).one());
     }
 
     private Region process(Row row, RowMetadata metadata) {
@@ -103,7 +124,7 @@ class RegionRepositoryInternalImpl implements RegionRepositoryInternal {
     @Override
     public <S extends Region> Mono<S> save(S entity) {
         if (entity.getId() == null) {
-            return insert(entity);
+            return insert(entity).flatMap(saved -> cache.evictAfterTransaction(saved.getId()).thenReturn(saved));
         } else {
             return update(entity)
                 .map(numberOfUpdates -> {
@@ -111,10 +132,25 @@ class RegionRepositoryInternalImpl implements RegionRepositoryInternal {
                         throw new IllegalStateException("Unable to update Region with id = " + entity.getId());
                     }
                     return entity;
-                });
+                })
+                .flatMap(saved -> cache.evictAfterTransaction(saved.getId()).thenReturn(saved));
         }
     }
 
+    @Override
+    public <S extends Region> Flux<S> saveAll(Iterable<S> entities) {
+        return entityManager.saveAll(entities).concatWith(cache.evictAfterTransaction(null).then(Mono.empty()));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        return r2dbcEntityTemplate
+            .delete(Region.class)
+            .matching(query(where("id").is(id)))
+            .all()
+            .then(cache.evictAfterTransaction(id));
+    }
+
     @Override
     public Mono<Integer> update(Region entity) {
         //fixme is this the proper way?
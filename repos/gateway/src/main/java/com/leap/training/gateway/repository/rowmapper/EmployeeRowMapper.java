@@ -4,6 +4,7 @@ import com.leap.training.gateway.domain.Employee;
 import com.leap.training.gateway.service.ColumnConverter;
 import io.r2dbc.spi.Row;
 import java.time.Instant;
+import java.util.Set;
 import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
 
@@ -39,4 +40,44 @@ public class EmployeeRowMapper implements BiFunction<Row, String, Employee> {
         entity.setDepartmentId(converter.fromRow(row, prefix + "_department_id", Long.class));
         return entity;
     }
+
+    /**
+     * Take a {@link Row} and a column prefix, and extract the given fields only.
+     * @return the {@link Employee} stored in the database, with the other fields left empty.
+     */
+    public Employee apply(Row row, String prefix, Set<String> fields) {
+        Employee entity = new Employee();
+        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
+        if (fields.contains("firstName")) {
+            entity.setFirstName(converter.fromRow(row, prefix + "_first_name", String.class));
+        }
+        if (fields.contains("lastName")) {
+            entity.setLastName(converter.fromRow(row, prefix + "_last_name", String.class));
+        }
+        if (fields.contains("email")) {
+            entity.setEmail(converter.fromRow(row, prefix + "_email", String.class));
+        }
+        if (fields.contains("phoneNumber")) {
+            entity.setPhoneNumber(converter.fromRow(row, prefix + "_phone_number", String.class));
+        }
+        if (fields.contains("hireDate")) {
+            entity.setHireDate(converter.fromRow(row, prefix + "_hire_date", Instant.class));
+        }
+        if (fields.contains("salary")) {
+            entity.setSalary(converter.fromRow(row, prefix + "_salary", Long.class));
+        }
+        if (fields.contains("commissionPct")) {
+            entity.setCommissionPct(converter.fromRow(row, prefix + "_commission_pct", Long.class));
+        }
+        if (fields.contains("jobId")) {
+            entity.setJobId(converter.fromRow(row, prefix + "_job_id", Long.class));
+        }
+        if (fields.contains("managerId")) {
+            entity.setManagerId(converter.fromRow(row, prefix + "_manager_id", Long.class));
+        }
+        if (fields.contains("departmentId")) {
+            entity.setDepartmentId(converter.fromRow(row, prefix + "_department_id", Long.class));
+        }
+        return entity;
+    }
 }
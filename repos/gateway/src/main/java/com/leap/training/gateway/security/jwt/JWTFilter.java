@@ -17,6 +17,11 @@ public class JWTFilter implements WebFilter {
 
     public static final String AUTHORIZATION_HEADER = "Authorization";
 
+    /**
+     * Exchange attribute holding the {@link Authentication} resolved from the bearer token, when it is valid.
+     */
+    public static final String AUTHENTICATION_ATTRIBUTE = JWTFilter.class.getName() + ".AUTHENTICATION";
+
     private final TokenProvider tokenProvider;
 
     public JWTFilter(TokenProvider tokenProvider) {
@@ -26,8 +31,9 @@ public class JWTFilter implements WebFilter {
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
         String jwt = resolveToken(exchange.getRequest());
-        if (StringUtils.hasText(jwt) && this.tokenProvider.validateToken(jwt)) {
-            Authentication authentication = this.tokenProvider.getAuthentication(jwt);
+        Authentication authentication = StringUtils.hasText(jwt) ? this.tokenProvider.getValidAuthentication(jwt) : null;
+        if (authentication != null) {
+            exchange.getAttributes().put(AUTHENTICATION_ATTRIBUTE, authentication);
             return chain.filter(exchange).subscriberContext(ReactiveSecurityContextHolder.withAuthentication(authentication));
         }
         return chain.filter(exchange);
@@ -1,5 +1,6 @@
 package com.leap.training.gateway.security.jwt;
 
+import static com.leap.training.gateway.security.jwt.JWTFilter.AUTHENTICATION_ATTRIBUTE;
 import static com.leap.training.gateway.security.jwt.JWTFilter.AUTHORIZATION_HEADER;
 
 import org.springframework.cloud.gateway.filter.GatewayFilter;
@@ -8,36 +9,34 @@ import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
+/**
+ * Relays the bearer token of the incoming request to the downstream service.
+ * <p>
+ * The token is resolved and verified once per exchange by {@link JWTFilter}, which publishes the result under
+ * {@link JWTFilter#AUTHENTICATION_ATTRIBUTE}. The {@code Authorization} header is forwarded unchanged with the
+ * request, so the request is not rebuilt here.
+ */
 @Component
 public class JWTRelayGatewayFilterFactory extends AbstractGatewayFilterFactory<Object> {
 
-    private final TokenProvider tokenProvider;
-
-    public JWTRelayGatewayFilterFactory(TokenProvider tokenProvider) {
-        this.tokenProvider = tokenProvider;
-    }
-
     @Override
     public GatewayFilter apply(Object config) {
         return (exchange, chain) -> {
-            String token = this.extractJWTToken(exchange.getRequest());
-            if (StringUtils.hasText(token) && this.tokenProvider.validateToken(token)) {
-                ServerHttpRequest request = exchange.getRequest().mutate().header(AUTHORIZATION_HEADER, "Bearer " + token).build();
-
-                return chain.filter(exchange.mutate().request(request).build());
+            if (exchange.getAttribute(AUTHENTICATION_ATTRIBUTE) == null) {
+                // Not resolved by JWTFilter: still reject a malformed Authorization header
+                requireBearerTokenIfPresent(exchange.getRequest());
             }
             return chain.filter(exchange);
         };
     }
 
-    private String extractJWTToken(ServerHttpRequest request) {
+    /**
+     * @throws IllegalArgumentException if the request has an {@code Authorization} header which is not a bearer token.
+     */
+    private static void requireBearerTokenIfPresent(ServerHttpRequest request) {
         String bearerToken = request.getHeaders().getFirst(AUTHORIZATION_HEADER);
-        if (bearerToken == null) {
-            return null;
-        }
-        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
-            return bearerToken.substring(7);
+        if (bearerToken != null && !(StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer "))) {
+            throw new IllegalArgumentException("Invalid token in Authorization header");
         }
-        throw new IllegalArgumentException("Invalid token in Authorization header");
     }
 }
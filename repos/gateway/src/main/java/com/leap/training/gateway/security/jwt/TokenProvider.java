@@ -1,11 +1,14 @@
 package com.leap.training.gateway.security.jwt;
 
+import com.leap.training.gateway.config.ApplicationProperties;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.jackson.io.JacksonSerializer;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Clock;
 import java.util.*;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
@@ -34,7 +37,9 @@ public class TokenProvider {
 
     private final long tokenValidityInMillisecondsForRememberMe;
 
-    public TokenProvider(JHipsterProperties jHipsterProperties) {
+    private final TokenCache tokenCache;
+
+    public TokenProvider(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
         byte[] keyBytes;
         String secret = jHipsterProperties.getSecurity().getAuthentication().getJwt().getBase64Secret();
         if (!ObjectUtils.isEmpty(secret)) {
@@ -53,6 +58,7 @@ public class TokenProvider {
         this.tokenValidityInMilliseconds = 1000 * jHipsterProperties.getSecurity().getAuthentication().getJwt().getTokenValidityInSeconds();
         this.tokenValidityInMillisecondsForRememberMe =
             1000 * jHipsterProperties.getSecurity().getAuthentication().getJwt().getTokenValidityInSecondsForRememberMe();
+        this.tokenCache = new TokenCache(applicationProperties.getJwtCache().getMaxEntries(), meterRegistry, Clock.systemUTC());
     }
 
     public String createToken(Authentication authentication, boolean rememberMe) {
@@ -76,7 +82,18 @@ public class TokenProvider {
             .compact();
     }
 
+    /**
+     * Verify the token and build its authentication, or take it from the cache when the token was already verified.
+     *
+     * @param token the JWT.
+     * @return the authentication.
+     * @throws JwtException if the token is not valid.
+     */
     public Authentication getAuthentication(String token) {
+        Authentication cached = tokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
         Claims claims = jwtParser.parseClaimsJws(token).getBody();
 
         Collection<? extends GrantedAuthority> authorities = Arrays
@@ -87,17 +104,28 @@ public class TokenProvider {
 
         User principal = new User(claims.getSubject(), "", authorities);
 
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        Authentication authentication = new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        tokenCache.put(token, authentication, claims.getExpiration());
+        return authentication;
     }
 
-    public boolean validateToken(String authToken) {
+    /**
+     * Verify the token and build its authentication in one pass.
+     *
+     * @param token the JWT.
+     * @return the authentication, or {@code null} if the token is not valid.
+     */
+    public Authentication getValidAuthentication(String token) {
         try {
-            jwtParser.parseClaimsJws(authToken);
-            return true;
+            return getAuthentication(token);
         } catch (JwtException | IllegalArgumentException e) {
             log.info("Invalid JWT token.");
             log.trace("Invalid JWT token trace.", e);
         }
-        return false;
+        return null;
+    }
+
+    public boolean validateToken(String authToken) {
+        return getValidAuthentication(authToken) != null;
     }
 }
@@ -1,7 +1,9 @@
 package com.leap.training.gateway.service;
 
+import com.leap.training.gateway.config.ApplicationProperties;
 import com.leap.training.gateway.domain.Country;
 import com.leap.training.gateway.repository.CountryRepository;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
@@ -21,8 +23,11 @@ public class CountryService {
 
     private final CountryRepository countryRepository;
 
-    public CountryService(CountryRepository countryRepository) {
+    private final TotalCountCache totalCount;
+
+    public CountryService(CountryRepository countryRepository, ApplicationProperties applicationProperties) {
         this.countryRepository = countryRepository;
+        this.totalCount = new TotalCountCache(countryRepository::count, applicationProperties.getPagination().getTotalCountTimeToLive());
     }
 
     /**
@@ -33,7 +38,18 @@ public class CountryService {
      */
     public Mono<Country> save(Country country) {
         log.debug("Request to save Country : {}", country);
-        return countryRepository.save(country);
+        return countryRepository.save(country).flatMap(saved -> totalCount.invalidateAfterTransaction().thenReturn(saved));
+    }
+
+    /**
+     * Save several countries with batched statements.
+     *
+     * @param countries the entities to save.
+     * @return the persisted entities.
+     */
+    public Flux<Country> saveAll(List<Country> countries) {
+        log.debug("Request to save {} Countries", countries.size());
+        return countryRepository.saveAll(countries).concatWith(totalCount.invalidateAfterTransaction().then(Mono.empty()));
     }
 
     /**
@@ -69,6 +85,19 @@ public class CountryService {
         return countryRepository.findAllBy(pageable);
     }
 
+    /**
+     * Get the countries following the given cursor, in keyset pagination order.
+     *
+     * @param pageable the pagination information.
+     * @param after the position of the last entity already read, or {@code null} for the first page.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<Country> findAllAfter(Pageable pageable, EntityManager.Cursor after) {
+        log.debug("Request to get Countries after a cursor");
+        return countryRepository.findAllAfter(pageable, after);
+    }
+
     /**
      * Returns the number of countries available.
      * @return the number of entities in the database.
@@ -78,6 +107,14 @@ public class CountryService {
         return countryRepository.count();
     }
 
+    /**
+     * Returns the number of countries available, as counted at most {@code application.pagination.total-count-time-to-live} ago.
+     * @return the possibly stale number of entities in the database.
+     */
+    public Mono<Long> countAllCached() {
+        return totalCount.get();
+    }
+
     /**
      * Get one country by id.
      *
@@ -98,6 +135,6 @@ public class CountryService {
      */
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete Country : {}", id);
-        return countryRepository.deleteById(id);
+        return countryRepository.deleteById(id).then(totalCount.invalidateAfterTransaction());
     }
 }
@@ -1,7 +1,9 @@
 package com.leap.training.gateway.service;
 
+import com.leap.training.gateway.config.ApplicationProperties;
 import com.leap.training.gateway.domain.Department;
 import com.leap.training.gateway.repository.DepartmentRepository;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
@@ -21,8 +23,11 @@ public class DepartmentService {
 
     private final DepartmentRepository departmentRepository;
 
-    public DepartmentService(DepartmentRepository departmentRepository) {
+    private final TotalCountCache totalCount;
+
+    public DepartmentService(DepartmentRepository departmentRepository, ApplicationProperties applicationProperties) {
         this.departmentRepository = departmentRepository;
+        this.totalCount = new TotalCountCache(departmentRepository::count, applicationProperties.getPagination().getTotalCountTimeToLive());
     }
 
     /**
@@ -33,7 +38,18 @@ public class DepartmentService {
      */
     public Mono<Department> save(Department department) {
         log.debug("Request to save Department : {}", department);
-        return departmentRepository.save(department);
+        return departmentRepository.save(department).flatMap(saved -> totalCount.invalidateAfterTransaction().thenReturn(saved));
+    }
+
+    /**
+     * Save several departments with batched statements.
+     *
+     * @param departments the entities to save.
+     * @return the persisted entities.
+     */
+    public Flux<Department> saveAll(List<Department> departments) {
+        log.debug("Request to save {} Departments", departments.size());
+        return departmentRepository.saveAll(departments).concatWith(totalCount.invalidateAfterTransaction().then(Mono.empty()));
     }
 
     /**
@@ -69,6 +85,19 @@ public class DepartmentService {
         return departmentRepository.findAllBy(pageable);
     }
 
+    /**
+     * Get the departments following the given cursor, in keyset pagination order.
+     *
+     * @param pageable the pagination information.
+     * @param after the position of the last entity already read, or {@code null} for the first page.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<Department> findAllAfter(Pageable pageable, EntityManager.Cursor after) {
+        log.debug("Request to get Departments after a cursor");
+        return departmentRepository.findAllAfter(pageable, after);
+    }
+
     /**
      * Returns the number of departments available.
      * @return the number of entities in the database.
@@ -78,6 +107,14 @@ public class DepartmentService {
         return departmentRepository.count();
     }
 
+    /**
+     * Returns the number of departments available, as counted at most {@code application.pagination.total-count-time-to-live} ago.
+     * @return the possibly stale number of entities in the database.
+     */
+    public Mono<Long> countAllCached() {
+        return totalCount.get();
+    }
+
     /**
      * Get one department by id.
      *
@@ -98,6 +135,6 @@ public class DepartmentService {
      */
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete Department : {}", id);
-        return departmentRepository.deleteById(id);
+        return departmentRepository.deleteById(id).then(totalCount.invalidateAfterTransaction());
     }
 }
@@ -1,7 +1,10 @@
 package com.leap.training.gateway.service;
 
+import com.leap.training.gateway.config.ApplicationProperties;
 import com.leap.training.gateway.domain.Employee;
 import com.leap.training.gateway.repository.EmployeeRepository;
+import java.util.List;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
@@ -17,12 +20,35 @@ import reactor.core.publisher.Mono;
 @Transactional
 public class EmployeeService {
 
+    /**
+     * Fields that can be requested on their own when listing employees.
+     */
+    public static final Set<String> SELECTABLE_FIELDS = Set.of(
+        "id",
+        "firstName",
+        "lastName",
+        "email",
+        "phoneNumber",
+        "hireDate",
+        "salary",
+        "commissionPct",
+        "jobId",
+        "managerId",
+        "departmentId",
+        "job",
+        "manager",
+        "department"
+    );
+
     private final Logger log = LoggerFactory.getLogger(EmployeeService.class);
 
     private final EmployeeRepository employeeRepository;
 
-    public EmployeeService(EmployeeRepository employeeRepository) {
+    private final TotalCountCache totalCount;
+
+    public EmployeeService(EmployeeRepository employeeRepository, ApplicationProperties applicationProperties) {
         this.employeeRepository = employeeRepository;
+        this.totalCount = new TotalCountCache(employeeRepository::count, applicationProperties.getPagination().getTotalCountTimeToLive());
     }
 
     /**
@@ -33,7 +59,18 @@ public class EmployeeService {
      */
     public Mono<Employee> save(Employee employee) {
         log.debug("Request to save Employee : {}", employee);
-        return employeeRepository.save(employee);
+        return employeeRepository.save(employee).flatMap(saved -> totalCount.invalidateAfterTransaction().thenReturn(saved));
+    }
+
+    /**
+     * Save several employees with batched statements.
+     *
+     * @param employees the entities to save.
+     * @return the persisted entities.
+     */
+    public Flux<Employee> saveAll(List<Employee> employees) {
+        log.debug("Request to save {} Employees", employees.size());
+        return employeeRepository.saveAll(employees).concatWith(totalCount.invalidateAfterTransaction().then(Mono.empty()));
     }
 
     /**
@@ -87,6 +124,57 @@ public class EmployeeService {
         return employeeRepository.findAllBy(pageable);
     }
 
+    /**
+     * Get the employees following the given cursor, in keyset pagination order.
+     *
+     * @param pageable the pagination information.
+     * @param after the position of the last entity already read, or {@code null} for the first page.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<Employee> findAllAfter(Pageable pageable, EntityManager.Cursor after) {
+        log.debug("Request to get Employees after a cursor");
+        return employeeRepository.findAllAfter(pageable, after);
+    }
+
+    /**
+     * Get all the employees, reading only the given fields.
+     *
+     * @param pageable the pagination information.
+     * @param fields the fields to read, among {@link #SELECTABLE_FIELDS}.
+     * @return the list of entities, with the other fields left empty.
+     */
+    @Transactional(readOnly = true)
+    public Flux<Employee> findAll(Pageable pageable, Set<String> fields) {
+        log.debug("Request to get all Employees with fields {}", fields);
+        return employeeRepository.findAllWithFields(pageable, fields);
+    }
+
+    /**
+     * Get the employees following the given cursor, in keyset pagination order, reading only the given fields.
+     *
+     * @param pageable the pagination information.
+     * @param after the position of the last entity already read, or {@code null} for the first page.
+     * @param fields the fields to read, among {@link #SELECTABLE_FIELDS}.
+     * @return the list of entities, with the other fields left empty.
+     */
+    @Transactional(readOnly = true)
+    public Flux<Employee> findAllAfter(Pageable pageable, EntityManager.Cursor after, Set<String> fields) {
+        log.debug("Request to get Employees after a cursor with fields {}", fields);
+        return employeeRepository.findAllAfterWithFields(pageable, after, fields);
+    }
+
+    /**
+     * Stream all the employees, as the rows are read from the database.
+     *
+     * @return the entities, emitted on demand of the subscriber.
+     */
+    @Transactional(readOnly = true)
+    public Flux<Employee> streamAll() {
+        log.debug("Request to stream all Employees");
+        return employeeRepository.findAll();
+    }
+
     /**
      * Returns the number of employees available.
      * @return the number of entities in the database.
@@ -96,6 +184,14 @@ public class EmployeeService {
         return employeeRepository.count();
     }
 
+    /**
+     * Returns the number of employees available, as counted at most {@code application.pagination.total-count-time-to-live} ago.
+     * @return the possibly stale number of entities in the database.
+     */
+    public Mono<Long> countAllCached() {
+        return totalCount.get();
+    }
+
     /**
      * Get one employee by id.
      *
@@ -116,6 +212,6 @@ public class EmployeeService {
      */
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete Employee : {}", id);
-        return employeeRepository.deleteById(id);
+        return employeeRepository.deleteById(id).then(totalCount.invalidateAfterTransaction());
     }
 }
@@ -1,32 +1,54 @@
 package com.leap.training.gateway.service;
 
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import javax.validation.constraints.NotNull;
+import org.springframework.beans.PropertyAccessor;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.r2dbc.core.StatementMapper;
+import org.springframework.data.r2dbc.dialect.R2dbcDialect;
 import org.springframework.data.r2dbc.mapping.OutboundRow;
 import org.springframework.data.r2dbc.query.UpdateMapper;
 import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import org.springframework.data.relational.core.mapping.RelationalPersistentProperty;
 import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.OrderByField;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectOrdered;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectWhere;
 import org.springframework.data.relational.core.sql.SqlIdentifier;
 import org.springframework.data.relational.core.sql.Table;
 import org.springframework.data.relational.core.sql.render.SqlRenderer;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
 import org.springframework.r2dbc.core.Parameter;
+import org.springframework.r2dbc.core.binding.BindMarkers;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -39,6 +61,10 @@ public class EntityManager {
 
     public static final String ENTITY_ALIAS = "e";
     public static final String ALIAS_PREFIX = "e_";
+    public static final String ID_PROPERTY = "id";
+
+    private static final String KEYSET_VALUE_PARAMETER = "keyset_value";
+    private static final String KEYSET_ID_PARAMETER = "keyset_id";
 
     public static class LinkTable {
 
@@ -56,16 +82,123 @@ public class EntityManager {
         }
     }
 
+    /**
+     * The position of the last row returned to the client in keyset (seek) pagination: the value of the sort
+     * property and the id of that row. It travels to the client as an opaque token.
+     * <p>
+     * The sort property has to be the id or a {@link NotNull} property: a {@code NULL} value has no place in the
+     * ({@code sort property}, {@code id}) order, and the rows holding one would silently end the pagination.
+     */
+    public static class Cursor {
+
+        private static final String SEPARATOR = ":";
+
+        final String property;
+        final Object value;
+        final Long id;
+
+        Cursor(String property, Object value, Long id) {
+            Assert.notNull(property, "property is null");
+            Assert.notNull(id, "id is null");
+            this.property = property;
+            this.value = value;
+            this.id = id;
+        }
+
+        /**
+         * Creates the cursor positioned on the given entity, for the sort of the given page.
+         * @param entity the last entity returned to the client.
+         * @param pageable the pagination information used to read the entity.
+         * @return the cursor to resume from.
+         */
+        public static Cursor after(Object entity, Pageable pageable) {
+            String property = seekOrder(pageable).getProperty();
+            PropertyAccessor accessor = PropertyAccessorFactory.forDirectFieldAccess(entity);
+            Object value = ID_PROPERTY.equals(property) ? null : accessor.getPropertyValue(property);
+            return new Cursor(property, value, (Long) accessor.getPropertyValue(ID_PROPERTY));
+        }
+
+        /**
+         * Checks that the sort of the given page can be used for keyset pagination of the given entity.
+         * @param entityType the paged entity type.
+         * @param pageable the pagination information of the current request.
+         * @throws IllegalArgumentException if the sort property is unknown or nullable.
+         */
+        public static void checkSort(Class<?> entityType, Pageable pageable) {
+            seekField(entityType, pageable);
+        }
+
+        /**
+         * Decodes a token created by {@link #encode()}.
+         * @param token the opaque token sent back by the client.
+         * @param pageable the pagination information of the current request, which must use the same sort property.
+         * @param entityType the paged entity type, which holds the sort property.
+         * @return the decoded cursor.
+         * @throws IllegalArgumentException if the token is malformed or was created for another sort.
+         */
+        public static Cursor decode(String token, Pageable pageable, Class<?> entityType) {
+            Field field = seekField(entityType, pageable);
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(SEPARATOR, 3);
+            if (parts.length < 2 || (field != null && parts.length < 3)) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            if (!parts[1].equals(seekOrder(pageable).getProperty())) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort");
+            }
+            Long id = Long.valueOf(parts[0]);
+            return new Cursor(parts[1], field != null ? parseValue(parts[2], field.getType()) : null, id);
+        }
+
+        /**
+         * @return the field of the sort property, or null when sorting on the id.
+         */
+        private static Field seekField(Class<?> entityType, Pageable pageable) {
+            String property = seekOrder(pageable).getProperty();
+            if (ID_PROPERTY.equals(property)) {
+                return null;
+            }
+            Field field = ReflectionUtils.findField(entityType, property);
+            if (field == null || field.isAnnotationPresent(Transient.class)) {
+                throw new IllegalArgumentException("Unknown sort property " + property);
+            }
+            if (!field.isAnnotationPresent(NotNull.class)) {
+                throw new IllegalArgumentException("Nullable sort property " + property);
+            }
+            return field;
+        }
+
+        private static Object parseValue(String value, Class<?> type) {
+            try {
+                return Instant.class.equals(type)
+                    ? Instant.parse(value)
+                    : DefaultConversionService.getSharedInstance().convert(value, type);
+            } catch (DateTimeParseException | ConversionException e) {
+                throw new IllegalArgumentException("Malformed cursor value", e);
+            }
+        }
+
+        /**
+         * Encodes this cursor as an URL-safe token.
+         * @return the opaque token.
+         */
+        public String encode() {
+            String raw = id + SEPARATOR + property + (value != null ? SEPARATOR + value : "");
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
     private final SqlRenderer sqlRenderer;
     private final UpdateMapper updateMapper;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final StatementMapper statementMapper;
+    private final R2dbcDialect dialect;
 
-    public EntityManager(SqlRenderer sqlRenderer, UpdateMapper updateMapper, R2dbcEntityTemplate r2dbcEntityTemplate) {
+    public EntityManager(SqlRenderer sqlRenderer, UpdateMapper updateMapper, R2dbcEntityTemplate r2dbcEntityTemplate, R2dbcDialect dialect) {
         this.sqlRenderer = sqlRenderer;
         this.updateMapper = updateMapper;
         this.r2dbcEntityTemplate = r2dbcEntityTemplate;
         this.statementMapper = r2dbcEntityTemplate.getDataAccessStrategy().getStatementMapper();
+        this.dialect = dialect;
     }
 
     /**
@@ -142,6 +275,87 @@ public class EntityManager {
         return createSelect(selectFrom.build());
     }
 
+    /**
+     * Creates an SQL select statement for keyset (seek) pagination: instead of skipping {@code offset} rows, it reads
+     * the rows following the cursor in ({@code sort property}, {@code id}) order, so a deep page costs the same as
+     * the first one. Only the first order of the sort is used, checked by {@link Cursor#checkSort(Class, Pageable)}.
+     * The statement has to be bound with {@link #bindCursor(GenericExecuteSpec, Cursor)}.
+     * @param selectFrom a representation of a select statement.
+     * @param entityType the entity type which holds the table name.
+     * @param pageable page parameter, only the page size and the sort are used.
+     * @param after the position of the last row already read, or null for the first page.
+     * @return sql select statement
+     */
+    public String createSeekSelect(SelectFromAndJoin selectFrom, Class<?> entityType, Pageable pageable, Cursor after) {
+        return createSeekSelectImpl(selectFrom.limit(pageable.getPageSize()), entityType, pageable, after);
+    }
+
+    /**
+     * Creates an SQL select statement for keyset (seek) pagination.
+     * @param selectFrom a representation of a select statement.
+     * @param entityType the entity type which holds the table name.
+     * @param pageable page parameter, only the page size and the sort are used.
+     * @param after the position of the last row already read, or null for the first page.
+     * @return sql select statement
+     * @see #createSeekSelect(SelectFromAndJoin, Class, Pageable, Cursor)
+     */
+    public String createSeekSelect(SelectFromAndJoinCondition selectFrom, Class<?> entityType, Pageable pageable, Cursor after) {
+        return createSeekSelectImpl(selectFrom.limit(pageable.getPageSize()), entityType, pageable, after);
+    }
+
+    private <S extends SelectWhere & SelectOrdered> String createSeekSelectImpl(
+        S selectFrom,
+        Class<?> entityType,
+        Pageable pageable,
+        Cursor after
+    ) {
+        SelectOrdered select = after != null ? selectFrom.where(createSeekCondition(entityType, pageable, after)) : selectFrom;
+        return createSelectImpl(select, entityType, createSeekSort(pageable));
+    }
+
+    /**
+     * Binds the cursor values to a statement created by {@code createSeekSelect}.
+     * @param spec the statement to bind.
+     * @param after the position of the last row already read, or null for the first page.
+     * @return the bound statement.
+     */
+    public GenericExecuteSpec bindCursor(GenericExecuteSpec spec, Cursor after) {
+        if (after == null) {
+            return spec;
+        }
+        spec = spec.bind(KEYSET_ID_PARAMETER, after.id);
+        if (ID_PROPERTY.equals(after.property)) {
+            return spec;
+        }
+        return spec.bind(KEYSET_VALUE_PARAMETER, toDatabaseValue(after.value));
+    }
+
+    private static Sort.Order seekOrder(Pageable pageable) {
+        return pageable.getSort().stream().findFirst().orElse(Sort.Order.asc(ID_PROPERTY));
+    }
+
+    private static Sort createSeekSort(Pageable pageable) {
+        Sort.Order order = seekOrder(pageable);
+        if (ID_PROPERTY.equals(order.getProperty())) {
+            return Sort.by(order);
+        }
+        return Sort.by(order, new Sort.Order(order.getDirection(), ID_PROPERTY));
+    }
+
+    private Condition createSeekCondition(Class<?> entityType, Pageable pageable, Cursor after) {
+        Sort.Order order = seekOrder(pageable);
+        String comparator = order.isAscending() ? " > " : " < ";
+        RelationalPersistentEntity<?> entity = getPersistentEntity(entityType);
+        String idColumn = ENTITY_ALIAS + "." + entity.getRequiredPersistentProperty(ID_PROPERTY).getColumnName().getReference();
+        String idCondition = idColumn + comparator + ":" + KEYSET_ID_PARAMETER;
+        if (ID_PROPERTY.equals(order.getProperty())) {
+            return Conditions.just(idCondition);
+        }
+        String column = ENTITY_ALIAS + "." + entity.getRequiredPersistentProperty(order.getProperty()).getColumnName().getReference();
+        String value = ":" + KEYSET_VALUE_PARAMETER;
+        return Conditions.just("(" + column + comparator + value + " OR (" + column + " = " + value + " AND " + idCondition + "))");
+    }
+
     private RelationalPersistentEntity<?> getPersistentEntity(Class<?> entityType) {
         return r2dbcEntityTemplate.getConverter().getMappingContext().getPersistentEntity(entityType);
     }
@@ -184,6 +398,126 @@ public class EntityManager {
         return r2dbcEntityTemplate.insert(entity);
     }
 
+    /**
+     * Saves the given entities with at most two batched statements - one to insert the new entities, and one to update
+     * the existing ones - instead of one round-trip per entity.
+     * @param <S> the type of the persisted entities.
+     * @param entities the entities to be saved, all of the same type.
+     * @return the persisted entities, the inserted ones having their generated id set.
+     */
+    public <S> Flux<S> saveAll(Iterable<S> entities) {
+        List<S> newEntities = new ArrayList<>();
+        List<S> existingEntities = new ArrayList<>();
+        for (S entity : entities) {
+            RelationalPersistentEntity<?> persistentEntity = getPersistentEntity(entity.getClass());
+            if (persistentEntity.getIdentifierAccessor(entity).getIdentifier() == null) {
+                newEntities.add(entity);
+            } else {
+                existingEntities.add(entity);
+            }
+        }
+        return insertAll(newEntities).concatWith(updateAll(existingEntities).thenMany(Flux.fromIterable(existingEntities)));
+    }
+
+    /**
+     * Inserts the given entities into the database with a single batched statement, and sets their generated ids.
+     * @param <S> the type of the persisted entities.
+     * @param entities the new entities, all of the same type.
+     * @return the persisted entities.
+     */
+    public <S> Flux<S> insertAll(List<S> entities) {
+        if (entities.isEmpty()) {
+            return Flux.empty();
+        }
+        RelationalPersistentEntity<?> persistentEntity = getPersistentEntity(entities.get(0).getClass());
+        RelationalPersistentProperty idProperty = persistentEntity.getRequiredIdProperty();
+        List<OutboundRow> rows = new ArrayList<>();
+        for (S entity : entities) {
+            OutboundRow row = r2dbcEntityTemplate.getDataAccessStrategy().getOutboundRow(entity);
+            row.remove(idProperty.getColumnName());
+            rows.add(row);
+        }
+        List<SqlIdentifier> columns = new ArrayList<>(rows.get(0).keySet());
+        BindMarkers bindMarkers = dialect.getBindMarkersFactory().create();
+        String sql =
+            "INSERT INTO " +
+            toSql(persistentEntity.getTableName()) +
+            " (" +
+            columns.stream().map(this::toSql).collect(Collectors.joining(", ")) +
+            ") VALUES (" +
+            columns.stream().map(column -> bindMarkers.next().getPlaceholder()).collect(Collectors.joining(", ")) +
+            ")";
+        String idColumn = toSql(idProperty.getColumnName());
+
+        return r2dbcEntityTemplate
+            .getDatabaseClient()
+            .inConnectionMany(connection -> {
+                Statement statement = connection.createStatement(sql).returnGeneratedValues(idColumn);
+                bindAll(statement, rows, columns);
+                return Flux
+                    .from(statement.execute())
+                    .concatMap(result -> result.map((row, metadata) -> (Object) row.get(0, idProperty.getType())));
+            })
+            .zipWithIterable(entities, (id, entity) -> {
+                persistentEntity.getPropertyAccessor(entity).setProperty(idProperty, id);
+                return entity;
+            });
+    }
+
+    /**
+     * Updates the given entities in the database with a single batched statement.
+     * @param <S> the type of the persisted entities.
+     * @param entities the existing entities, all of the same type.
+     * @return the number of updated rows.
+     */
+    public <S> Mono<Integer> updateAll(List<S> entities) {
+        if (entities.isEmpty()) {
+            return Mono.just(0);
+        }
+        RelationalPersistentEntity<?> persistentEntity = getPersistentEntity(entities.get(0).getClass());
+        SqlIdentifier idColumn = persistentEntity.getRequiredIdProperty().getColumnName();
+        List<OutboundRow> rows = new ArrayList<>();
+        for (S entity : entities) {
+            OutboundRow row = r2dbcEntityTemplate.getDataAccessStrategy().getOutboundRow(entity);
+            // the id is bound last, for the where clause
+            Parameter id = row.remove(idColumn);
+            row.put(idColumn, id);
+            rows.add(row);
+        }
+        List<SqlIdentifier> columns = new ArrayList<>(rows.get(0).keySet());
+        BindMarkers bindMarkers = dialect.getBindMarkersFactory().create();
+        String sql =
+            "UPDATE " +
+            toSql(persistentEntity.getTableName()) +
+            " SET " +
+            columns
+                .subList(0, columns.size() - 1)
+                .stream()
+                .map(column -> toSql(column) + " = " + bindMarkers.next().getPlaceholder())
+                .collect(Collectors.joining(", ")) +
+            " WHERE " +
+            toSql(idColumn) +
+            " = " +
+            bindMarkers.next().getPlaceholder();
+
+        return r2dbcEntityTemplate
+            .getDatabaseClient()
+            .inConnectionMany(connection -> {
+                Statement statement = connection.createStatement(sql);
+                bindAll(statement, rows, columns);
+                return Flux.from(statement.execute()).concatMap(Result::getRowsUpdated);
+            })
+            .reduce(0, Integer::sum)
+            .map(numberOfUpdates -> {
+                if (numberOfUpdates < entities.size()) {
+                    throw new IllegalStateException(
+                        "Unable to update all " + persistentEntity.getName() + ", only " + numberOfUpdates + " of " + entities.size() + " rows found"
+                    );
+                }
+                return numberOfUpdates;
+            });
+    }
+
     /**
      * Updates the table, which links the entity with the referred entities.
      * @param table describes the link table, it contains a table name, the column name for the id, and for the referred entity id.
@@ -192,23 +526,49 @@ public class EntityManager {
      * @return the number of inserted rows.
      */
     public Mono<Integer> updateLinkTable(LinkTable table, Long entityId, Stream<Long> referencedIds) {
-        return deleteFromLinkTable(table, entityId)
-            .then(
-                Flux
-                    .fromStream(referencedIds)
-                    .flatMap((Long referenceId) -> {
-                        StatementMapper.InsertSpec insert = r2dbcEntityTemplate
-                            .getDataAccessStrategy()
-                            .getStatementMapper()
-                            .createInsert(table.tableName)
-                            .withColumn(table.idColumn, Parameter.from(entityId))
-                            .withColumn(table.referenceColumn, Parameter.from(referenceId));
-
-                        return r2dbcEntityTemplate.getDatabaseClient().sql(statementMapper.getMappedObject(insert)).fetch().rowsUpdated();
-                    })
-                    .collectList()
-                    .map((List<Integer> updates) -> updates.stream().reduce(Integer::sum).orElse(0))
-            );
+        return deleteFromLinkTable(table, entityId).then(insertIntoLinkTable(table, entityId, referencedIds.collect(Collectors.toList())));
+    }
+
+    /**
+     * Inserts the links between the entity and the referred entities, with a single batched statement.
+     * @param table describes the link table, it contains a table name, the column name for the id, and for the referred entity id.
+     * @param entityId the id of the entity, for which the links are created.
+     * @param referencedIds the id of the referred entities.
+     * @return the number of inserted rows.
+     */
+    public Mono<Integer> insertIntoLinkTable(LinkTable table, Object entityId, Collection<?> referencedIds) {
+        Assert.notNull(entityId, "entityId is null");
+        if (referencedIds.isEmpty()) {
+            return Mono.just(0);
+        }
+        BindMarkers bindMarkers = dialect.getBindMarkersFactory().create();
+        String sql =
+            "INSERT INTO " +
+            table.tableName +
+            " (" +
+            table.idColumn +
+            ", " +
+            table.referenceColumn +
+            ") VALUES (" +
+            bindMarkers.next().getPlaceholder() +
+            ", " +
+            bindMarkers.next().getPlaceholder() +
+            ")";
+
+        return r2dbcEntityTemplate
+            .getDatabaseClient()
+            .inConnectionMany(connection -> {
+                Statement statement = connection.createStatement(sql);
+                Iterator<?> iterator = referencedIds.iterator();
+                while (iterator.hasNext()) {
+                    statement.bind(0, entityId).bind(1, iterator.next());
+                    if (iterator.hasNext()) {
+                        statement.add();
+                    }
+                }
+                return Flux.from(statement.execute()).concatMap(Result::getRowsUpdated);
+            })
+            .reduce(0, Integer::sum);
     }
 
     public Mono<Void> deleteFromLinkTable(LinkTable table, Long entityId) {
@@ -221,6 +581,32 @@ public class EntityManager {
         return r2dbcEntityTemplate.getDatabaseClient().sql(statementMapper.getMappedObject(deleteSpec)).then();
     }
 
+    private static void bindAll(Statement statement, List<OutboundRow> rows, List<SqlIdentifier> columns) {
+        for (int i = 0; i < rows.size(); i++) {
+            if (i > 0) {
+                statement.add();
+            }
+            OutboundRow row = rows.get(i);
+            for (int index = 0; index < columns.size(); index++) {
+                Parameter parameter = row.get(columns.get(index));
+                if (parameter.hasValue()) {
+                    statement.bind(index, parameter.getValue());
+                } else {
+                    statement.bindNull(index, parameter.getType());
+                }
+            }
+        }
+    }
+
+    private Object toDatabaseValue(Object value) {
+        R2dbcConverter converter = r2dbcEntityTemplate.getConverter();
+        return converter.getConversionService().convert(value, converter.getTargetType(value.getClass()));
+    }
+
+    private String toSql(SqlIdentifier identifier) {
+        return r2dbcEntityTemplate.getDataAccessStrategy().toSql(identifier);
+    }
+
     private static Collection<? extends OrderByField> createOrderByFields(Table table, Sort sortToUse) {
         List<OrderByField> fields = new ArrayList<>();
 
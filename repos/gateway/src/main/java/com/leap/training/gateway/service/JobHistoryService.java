@@ -1,7 +1,9 @@
 package com.leap.training.gateway.service;
 
+import com.leap.training.gateway.config.ApplicationProperties;
 import com.leap.training.gateway.domain.JobHistory;
 import com.leap.training.gateway.repository.JobHistoryRepository;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
@@ -21,8 +23,11 @@ public class JobHistoryService {
 
     private final JobHistoryRepository jobHistoryRepository;
 
-    public JobHistoryService(JobHistoryRepository jobHistoryRepository) {
+    private final TotalCountCache totalCount;
+
+    public JobHistoryService(JobHistoryRepository jobHistoryRepository, ApplicationProperties applicationProperties) {
         this.jobHistoryRepository = jobHistoryRepository;
+        this.totalCount = new TotalCountCache(jobHistoryRepository::count, applicationProperties.getPagination().getTotalCountTimeToLive());
     }
 
     /**
@@ -33,7 +38,18 @@ public class JobHistoryService {
      */
     public Mono<JobHistory> save(JobHistory jobHistory) {
         log.debug("Request to save JobHistory : {}", jobHistory);
-        return jobHistoryRepository.save(jobHistory);
+        return jobHistoryRepository.save(jobHistory).flatMap(saved -> totalCount.invalidateAfterTransaction().thenReturn(saved));
+    }
+
+    /**
+     * Save several jobHistories with batched statements.
+     *
+     * @param jobHistories the entities to save.
+     * @return the persisted entities.
+     */
+    public Flux<JobHistory> saveAll(List<JobHistory> jobHistories) {
+        log.debug("Request to save {} JobHistories", jobHistories.size());
+        return jobHistoryRepository.saveAll(jobHistories).concatWith(totalCount.invalidateAfterTransaction().then(Mono.empty()));
     }
 
     /**
@@ -75,6 +91,19 @@ public class JobHistoryService {
         return jobHistoryRepository.findAllBy(pageable);
     }
 
+    /**
+     * Get the jobHistories following the given cursor, in keyset pagination order.
+     *
+     * @param pageable the pagination information.
+     * @param after the position of the last entity already read, or {@code null} for the first page.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<JobHistory> findAllAfter(Pageable pageable, EntityManager.Cursor after) {
+        log.debug("Request to get JobHistories after a cursor");
+        return jobHistoryRepository.findAllAfter(pageable, after);
+    }
+
     /**
      * Returns the number of jobHistories available.
      * @return the number of entities in the database.
@@ -84,6 +113,14 @@ public class JobHistoryService {
         return jobHistoryRepository.count();
     }
 
+    /**
+     * Returns the number of jobHistories available, as counted at most {@code application.pagination.total-count-time-to-live} ago.
+     * @return the possibly stale number of entities in the database.
+     */
+    public Mono<Long> countAllCached() {
+        return totalCount.get();
+    }
+
     /**
      * Get one jobHistory by id.
      *
@@ -104,6 +141,6 @@ public class JobHistoryService {
      */
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete JobHistory : {}", id);
-        return jobHistoryRepository.deleteById(id);
+        return jobHistoryRepository.deleteById(id).then(totalCount.invalidateAfterTransaction());
     }
 }
@@ -1,7 +1,9 @@
 package com.leap.training.gateway.service;
 
+import com.leap.training.gateway.config.ApplicationProperties;
 import com.leap.training.gateway.domain.Job;
 import com.leap.training.gateway.repository.JobRepository;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
@@ -21,8 +23,11 @@ public class JobService {
 
     private final JobRepository jobRepository;
 
-    public JobService(JobRepository jobRepository) {
+    private final TotalCountCache totalCount;
+
+    public JobService(JobRepository jobRepository, ApplicationProperties applicationProperties) {
         this.jobRepository = jobRepository;
+        this.totalCount = new TotalCountCache(jobRepository::count, applicationProperties.getPagination().getTotalCountTimeToLive());
     }
 
     /**
@@ -33,7 +38,18 @@ public class JobService {
      */
     public Mono<Job> save(Job job) {
         log.debug("Request to save Job : {}", job);
-        return jobRepository.save(job);
+        return jobRepository.save(job).flatMap(saved -> totalCount.invalidateAfterTransaction().thenReturn(saved));
+    }
+
+    /**
+     * Save several jobs with batched statements.
+     *
+     * @param jobs the entities to save.
+     * @return the persisted entities.
+     */
+    public Flux<Job> saveAll(List<Job> jobs) {
+        log.debug("Request to save {} Jobs", jobs.size());
+        return jobRepository.saveAll(jobs).concatWith(totalCount.invalidateAfterTransaction().then(Mono.empty()));
     }
 
     /**
@@ -75,6 +91,19 @@ public class JobService {
         return jobRepository.findAllBy(pageable);
     }
 
+    /**
+     * Get the jobs following the given cursor, in keyset pagination order.
+     *
+     * @param pageable the pagination information.
+     * @param after the position of the last entity already read, or {@code null} for the first page.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<Job> findAllAfter(Pageable pageable, EntityManager.Cursor after) {
+        log.debug("Request to get Jobs after a cursor");
+        return jobRepository.findAllAfter(pageable, after);
+    }
+
     /**
      * Returns the number of jobs available.
      * @return the number of entities in the database.
@@ -84,6 +113,14 @@ public class JobService {
         return jobRepository.count();
     }
 
+    /**
+     * Returns the number of jobs available, as counted at most {@code application.pagination.total-count-time-to-live} ago.
+     * @return the possibly stale number of entities in the database.
+     */
+    public Mono<Long> countAllCached() {
+        return totalCount.get();
+    }
+
     /**
      * Get one job by id.
      *
@@ -104,6 +141,6 @@ public class JobService {
      */
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete Job : {}", id);
-        return jobRepository.deleteById(id);
+        return jobRepository.deleteById(id).then(totalCount.invalidateAfterTransaction());
     }
 }
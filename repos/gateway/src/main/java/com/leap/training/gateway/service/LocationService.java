@@ -1,7 +1,9 @@
 package com.leap.training.gateway.service;
 
+import com.leap.training.gateway.config.ApplicationProperties;
 import com.leap.training.gateway.domain.Location;
 import com.leap.training.gateway.repository.LocationRepository;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
@@ -21,8 +23,11 @@ public class LocationService {
 
     private final LocationRepository locationRepository;
 
-    public LocationService(LocationRepository locationRepository) {
+    private final TotalCountCache totalCount;
+
+    public LocationService(LocationRepository locationRepository, ApplicationProperties applicationProperties) {
         this.locationRepository = locationRepository;
+        this.totalCount = new TotalCountCache(locationRepository::count, applicationProperties.getPagination().getTotalCountTimeToLive());
     }
 
     /**
@@ -33,7 +38,18 @@ public class LocationService {
      */
     public Mono<Location> save(Location location) {
         log.debug("Request to save Location : {}", location);
-        return locationRepository.save(location);
+        return locationRepository.save(location).flatMap(saved -> totalCount.invalidateAfterTransaction().thenReturn(saved));
+    }
+
+    /**
+     * Save several locations with batched statements.
+     *
+     * @param locations the entities to save.
+     * @return the persisted entities.
+     */
+    public Flux<Location> saveAll(List<Location> locations) {
+        log.debug("Request to save {} Locations", locations.size());
+        return locationRepository.saveAll(locations).concatWith(totalCount.invalidateAfterTransaction().then(Mono.empty()));
     }
 
     /**
@@ -78,6 +94,19 @@ public class LocationService {
         return locationRepository.findAllBy(pageable);
     }
 
+    /**
+     * Get the locations following the given cursor, in keyset pagination order.
+     *
+     * @param pageable the pagination information.
+     * @param after the position of the last entity already read, or {@code null} for the first page.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<Location> findAllAfter(Pageable pageable, EntityManager.Cursor after) {
+        log.debug("Request to get Locations after a cursor");
+        return locationRepository.findAllAfter(pageable, after);
+    }
+
     /**
      * Returns the number of locations available.
      * @return the number of entities in the database.
@@ -87,6 +116,14 @@ public class LocationService {
         return locationRepository.count();
     }
 
+    /**
+     * Returns the number of locations available, as counted at most {@code application.pagination.total-count-time-to-live} ago.
+     * @return the possibly stale number of entities in the database.
+     */
+    public Mono<Long> countAllCached() {
+        return totalCount.get();
+    }
+
     /**
      * Get one location by id.
      *
@@ -107,6 +144,6 @@ public class LocationService {
      */
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete Location : {}", id);
-        return locationRepository.deleteById(id);
+        return locationRepository.deleteById(id).then(totalCount.invalidateAfterTransaction());
     }
 }
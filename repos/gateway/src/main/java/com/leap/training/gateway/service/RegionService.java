@@ -1,7 +1,9 @@
 package com.leap.training.gateway.service;
 
+import com.leap.training.gateway.config.ApplicationProperties;
 import com.leap.training.gateway.domain.Region;
 import com.leap.training.gateway.repository.RegionRepository;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
@@ -21,8 +23,11 @@ public class RegionService {
 
     private final RegionRepository regionRepository;
 
-    public RegionService(RegionRepository regionRepository) {
+    private final TotalCountCache totalCount;
+
+    public RegionService(RegionRepository regionRepository, ApplicationProperties applicationProperties) {
         this.regionRepository = regionRepository;
+        this.totalCount = new TotalCountCache(regionRepository::count, applicationProperties.getPagination().getTotalCountTimeToLive());
     }
 
     /**
@@ -33,7 +38,18 @@ public class RegionService {
      */
     public Mono<Region> save(Region region) {
         log.debug("Request to save Region : {}", region);
-        return regionRepository.save(region);
+        return regionRepository.save(region).flatMap(saved -> totalCount.invalidateAfterTransaction().thenReturn(saved));
+    }
+
+    /**
+     * Save several regions with batched statements.
+     *
+     * @param regions the entities to save.
+     * @return the persisted entities.
+     */
+    public Flux<Region> saveAll(List<Region> regions) {
+        log.debug("Request to save {} Regions", regions.size());
+        return regionRepository.saveAll(regions).concatWith(totalCount.invalidateAfterTransaction().then(Mono.empty()));
     }
 
     /**
@@ -69,6 +85,19 @@ public class RegionService {
         return regionRepository.findAllBy(pageable);
     }
 
+    /**
+     * Get the regions following the given cursor, in keyset pagination order.
+     *
+     * @param pageable the pagination information.
+     * @param after the position of the last entity already read, or {@code null} for the first page.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<Region> findAllAfter(Pageable pageable, EntityManager.Cursor after) {
+        log.debug("Request to get Regions after a cursor");
+        return regionRepository.findAllAfter(pageable, after);
+    }
+
     /**
      * Returns the number of regions available.
      * @return the number of entities in the database.
@@ -78,6 +107,14 @@ public class RegionService {
         return regionRepository.count();
     }
 
+    /**
+     * Returns the number of regions available, as counted at most {@code application.pagination.total-count-time-to-live} ago.
+     * @return the possibly stale number of entities in the database.
+     */
+    public Mono<Long> countAllCached() {
+        return totalCount.get();
+    }
+
     /**
      * Get one region by id.
      *
@@ -98,6 +135,6 @@ public class RegionService {
      */
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete Region : {}", id);
-        return regionRepository.deleteById(id);
+        return regionRepository.deleteById(id).then(totalCount.invalidateAfterTransaction());
     }
 }
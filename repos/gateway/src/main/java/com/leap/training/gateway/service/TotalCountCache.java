@@ -0,0 +1,56 @@
+package com.leap.training.gateway.service;
+
+import com.leap.training.gateway.repository.AfterTransaction;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Mono;
+
+/**
+ * Keeps the total number of rows of an entity for a short time, so paginated list endpoints do not run
+ * a {@code count(*)} next to every page query. Services invalidate it from their write paths, once the
+ * transaction has completed.
+ */
+public class TotalCountCache {
+
+    private final Supplier<Mono<Long>> counter;
+
+    private final Duration timeToLive;
+
+    private final AtomicReference<Mono<Long>> cachedCount = new AtomicReference<>();
+
+    public TotalCountCache(Supplier<Mono<Long>> counter, Duration timeToLive) {
+        Assert.notNull(counter, "counter is null");
+        Assert.notNull(timeToLive, "timeToLive is null");
+        this.counter = counter;
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Returns the cached number of rows, counting them again once the time to live has elapsed.
+     * @return the number of rows, possibly stale by up to the time to live.
+     */
+    public Mono<Long> get() {
+        return cachedCount.updateAndGet(count ->
+            count != null ? count : counter.get().cache(value -> timeToLive, error -> Duration.ZERO, () -> Duration.ZERO)
+        );
+    }
+
+    /**
+     * Forgets the cached number of rows, so the next call counts them again.
+     */
+    public void invalidate() {
+        cachedCount.set(null);
+    }
+
+    /**
+     * Forgets the cached number of rows now and once the current transaction has completed, see
+     * {@link AfterTransaction}.
+     *
+     * @return a {@link Mono} to chain after the write.
+     */
+    public Mono<Void> invalidateAfterTransaction() {
+        return AfterTransaction.run(this::invalidate);
+    }
+}
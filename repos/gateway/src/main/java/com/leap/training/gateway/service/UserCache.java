@@ -0,0 +1,124 @@
+package com.leap.training.gateway.service;
+
+import com.leap.training.gateway.config.ApplicationProperties;
+import com.leap.training.gateway.domain.User;
+import com.leap.training.gateway.repository.AfterTransaction;
+import com.leap.training.gateway.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Bounded cache of the users loaded with their authorities by login, for {@code /api/account}.
+ * <p>
+ * The account endpoint reads the same user over and over; concurrent readers of a missing user share one query.
+ * {@link UserService} evicts a user when it writes or deletes it, and again once its transaction completes, so that a
+ * read made before the commit does not stay. Nothing evicts the users cached by the other gateway instances, hence the
+ * short {@code application.user-cache.time-to-live}; authentication never reads through this cache, a changed password
+ * or a deactivated account is checked against the database.
+ * <p>
+ * There is no lookup by email: the only reader of a user with its authorities by email is the authentication of
+ * {@code DomainUserDetailsService}, which stays on the database.
+ */
+@Component
+public class UserCache {
+
+    private static final String CACHE_NAME = "users";
+
+    private final UserRepository userRepository;
+
+    private final Duration timeToLive;
+
+    private final int maxEntries;
+
+    private final Map<String, Mono<User>> users = new ConcurrentHashMap<>();
+
+    private final Map<Long, Set<String>> keysByUserId = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    public UserCache(UserRepository userRepository, ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.timeToLive = applicationProperties.getUserCache().getTimeToLive();
+        this.maxEntries = applicationProperties.getUserCache().getMaxEntries();
+        this.hits = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "miss").register(meterRegistry);
+        Gauge.builder("cache.size", users, Map::size).tag("cache", CACHE_NAME).register(meterRegistry);
+    }
+
+    /**
+     * @param login the lowercase login.
+     * @return the user with its authorities, or an empty {@link Mono} if there is none.
+     */
+    public Mono<User> getWithAuthoritiesByLogin(String login) {
+        return get(loginKey(login), () -> userRepository.findOneWithAuthoritiesByLogin(login));
+    }
+
+    /**
+     * Forgets a user that has been written or deleted.
+     *
+     * @param user the user.
+     */
+    public void evict(User user) {
+        if (user.getLogin() != null) {
+            users.remove(loginKey(user.getLogin()));
+        }
+        if (user.getId() != null) {
+            Set<String> keys = keysByUserId.remove(user.getId());
+            if (keys != null) {
+                keys.forEach(users::remove);
+            }
+        }
+    }
+
+    /**
+     * Forgets a user that is written or deleted in the current transaction, now and once the transaction completes.
+     *
+     * @param user the user.
+     * @return a {@link Mono} completing once the eviction is done and registered with the transaction.
+     */
+    public Mono<Void> evictAfterTransaction(User user) {
+        return AfterTransaction.run(() -> evict(user));
+    }
+
+    private Mono<User> get(String key, Supplier<Mono<User>> loader) {
+        if (maxEntries <= 0 || timeToLive.isZero() || timeToLive.isNegative()) {
+            return loader.get();
+        }
+        Mono<User> cached = users.get(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        if (users.size() >= maxEntries) {
+            users.clear();
+            keysByUserId.clear();
+        }
+        Mono<User> loaded = loader
+            .get()
+            .doOnNext(user -> keysByUserId.computeIfAbsent(user.getId(), id -> ConcurrentHashMap.newKeySet()).add(key))
+            .doOnSuccess(user -> {
+                if (user == null) {
+                    users.remove(key);
+                }
+            })
+            .doOnError(e -> users.remove(key))
+            .cache(user -> timeToLive, e -> Duration.ZERO, () -> Duration.ZERO);
+        Mono<User> previous = users.putIfAbsent(key, loaded);
+        return previous != null ? previous : loaded;
+    }
+
+    private static String loginKey(String login) {
+        return "login:" + login;
+    }
+}
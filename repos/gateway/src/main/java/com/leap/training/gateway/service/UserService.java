@@ -1,6 +1,7 @@
 package com.leap.training.gateway.service;
 
 import com.leap.training.gateway.config.Constants;
+import com.leap.training.gateway.config.PasswordHashingConfiguration;
 import com.leap.training.gateway.domain.Authority;
 import com.leap.training.gateway.domain.User;
 import com.leap.training.gateway.repository.AuthorityRepository;
@@ -14,8 +15,10 @@ import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -23,6 +26,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 import tech.jhipster.security.RandomUtil;
 
@@ -34,16 +38,38 @@ public class UserService {
 
     private final Logger log = LoggerFactory.getLogger(UserService.class);
 
+    private static final EntityManager.LinkTable USER_AUTHORITY_TABLE = new EntityManager.LinkTable(
+        "jhi_user_authority",
+        "user_id",
+        "authority_name"
+    );
+
     private final UserRepository userRepository;
 
     private final PasswordEncoder passwordEncoder;
 
     private final AuthorityRepository authorityRepository;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, AuthorityRepository authorityRepository) {
+    private final EntityManager entityManager;
+
+    private final UserCache userCache;
+
+    private final Scheduler passwordHashingScheduler;
+
+    public UserService(
+        UserRepository userRepository,
+        PasswordEncoder passwordEncoder,
+        AuthorityRepository authorityRepository,
+        EntityManager entityManager,
+        UserCache userCache,
+        @Qualifier(PasswordHashingConfiguration.PASSWORD_HASHING_SCHEDULER) Scheduler passwordHashingScheduler
+    ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
+        this.entityManager = entityManager;
+        this.userCache = userCache;
+        this.passwordHashingScheduler = passwordHashingScheduler;
     }
 
     @Transactional
@@ -66,7 +92,7 @@ public class UserService {
         return userRepository
             .findOneByResetKey(key)
             .filter(user -> user.getResetDate().isAfter(Instant.now().minus(1, ChronoUnit.DAYS)))
-            .publishOn(Schedulers.boundedElastic())
+            .publishOn(passwordHashingScheduler)
             .map(user -> {
                 user.setPassword(passwordEncoder.encode(newPassword));
                 user.setResetKey(null);
@@ -96,7 +122,7 @@ public class UserService {
             .findOneByLogin(userDTO.getLogin().toLowerCase())
             .flatMap(existingUser -> {
                 if (!existingUser.isActivated()) {
-                    return userRepository.delete(existingUser);
+                    return userRepository.delete(existingUser).then(userCache.evictAfterTransaction(existingUser));
                 } else {
                     return Mono.error(new UsernameAlreadyUsedException());
                 }
@@ -104,32 +130,34 @@ public class UserService {
             .then(userRepository.findOneByEmailIgnoreCase(userDTO.getEmail()))
             .flatMap(existingUser -> {
                 if (!existingUser.isActivated()) {
-                    return userRepository.delete(existingUser);
+                    return userRepository.delete(existingUser).then(userCache.evictAfterTransaction(existingUser));
                 } else {
                     return Mono.error(new EmailAlreadyUsedException());
                 }
             })
-            .publishOn(Schedulers.boundedElastic())
             .then(
-                Mono.fromCallable(() -> {
-                    User newUser = new User();
-                    String encryptedPassword = passwordEncoder.encode(password);
-                    newUser.setLogin(userDTO.getLogin().toLowerCase());
-                    // new user gets initially a generated password
-                    newUser.setPassword(encryptedPassword);
-                    newUser.setFirstName(userDTO.getFirstName());
-                    newUser.setLastName(userDTO.getLastName());
-                    if (userDTO.getEmail() != null) {
-                        newUser.setEmail(userDTO.getEmail().toLowerCase());
-                    }
-                    newUser.setImageUrl(userDTO.getImageUrl());
-                    newUser.setLangKey(userDTO.getLangKey());
-                    // new user is not active
-                    newUser.setActivated(false);
-                    // new user gets registration key
-                    newUser.setActivationKey(RandomUtil.generateActivationKey());
-                    return newUser;
-                })
+                Mono
+                    .fromCallable(() -> {
+                        User newUser = new User();
+                        String encryptedPassword = passwordEncoder.encode(password);
+                        newUser.setLogin(userDTO.getLogin().toLowerCase());
+                        // new user gets initially a generated password
+                        newUser.setPassword(encryptedPassword);
+                        newUser.setFirstName(userDTO.getFirstName());
+                        newUser.setLastName(userDTO.getLastName());
+                        if (userDTO.getEmail() != null) {
+                            newUser.setEmail(userDTO.getEmail().toLowerCase());
+                        }
+                        newUser.setImageUrl(userDTO.getImageUrl());
+                        newUser.setLangKey(userDTO.getLangKey());
+                        // new user is not active
+                        newUser.setActivated(false);
+                        // new user gets registration key
+                        newUser.setActivationKey(RandomUtil.generateActivationKey());
+                        return newUser;
+                    })
+                    // BCrypt is CPU bound, keep it off the event loop and the bounded elastic scheduler
+                    .subscribeOn(passwordHashingScheduler)
             )
             .flatMap(newUser -> {
                 Set<Authority> authorities = new HashSet<>();
@@ -163,7 +191,7 @@ public class UserService {
             .flatMap(authorityRepository::findById)
             .doOnNext(authority -> user.getAuthorities().add(authority))
             .then(Mono.just(user))
-            .publishOn(Schedulers.boundedElastic())
+            .publishOn(passwordHashingScheduler)
             .map(newUser -> {
                 String encryptedPassword = passwordEncoder.encode(RandomUtil.generatePassword());
                 newUser.setPassword(encryptedPassword);
@@ -214,7 +242,7 @@ public class UserService {
     public Mono<Void> deleteUser(String login) {
         return userRepository
             .findOneByLogin(login)
-            .flatMap(user -> userRepository.delete(user).thenReturn(user))
+            .flatMap(user -> userRepository.delete(user).then(userCache.evictAfterTransaction(user)).thenReturn(user))
             .doOnNext(user -> log.debug("Deleted User: {}", user))
             .then();
     }
@@ -263,10 +291,14 @@ public class UserService {
                 return userRepository
                     .save(user)
                     .flatMap(savedUser ->
-                        Flux
-                            .fromIterable(user.getAuthorities())
-                            .flatMap(authority -> userRepository.saveUserAuthority(savedUser.getId(), authority.getName()))
-                            .then(Mono.just(savedUser))
+                        entityManager
+                            .insertIntoLinkTable(
+                                USER_AUTHORITY_TABLE,
+                                savedUser.getId(),
+                                user.getAuthorities().stream().map(Authority::getName).collect(Collectors.toList())
+                            )
+                            .then(userCache.evictAfterTransaction(user))
+                            .thenReturn(savedUser)
                     );
             });
     }
@@ -276,7 +308,7 @@ public class UserService {
         return SecurityUtils
             .getCurrentUserLogin()
             .flatMap(userRepository::findOneByLogin)
-            .publishOn(Schedulers.boundedElastic())
+            .publishOn(passwordHashingScheduler)
             .map(user -> {
                 String currentEncryptedPassword = user.getPassword();
                 if (!passwordEncoder.matches(currentClearTextPassword, currentEncryptedPassword)) {
@@ -308,12 +340,12 @@ public class UserService {
 
     @Transactional(readOnly = true)
     public Mono<User> getUserWithAuthoritiesByLogin(String login) {
-        return userRepository.findOneWithAuthoritiesByLogin(login);
+        return userCache.getWithAuthoritiesByLogin(login);
     }
 
     @Transactional(readOnly = true)
     public Mono<User> getUserWithAuthorities() {
-        return SecurityUtils.getCurrentUserLogin().flatMap(userRepository::findOneWithAuthoritiesByLogin);
+        return SecurityUtils.getCurrentUserLogin().flatMap(userCache::getWithAuthoritiesByLogin);
     }
 
     /**
@@ -332,7 +364,7 @@ public class UserService {
             .findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(
                 LocalDateTime.ofInstant(Instant.now().minus(3, ChronoUnit.DAYS), ZoneOffset.UTC)
             )
-            .flatMap(user -> userRepository.delete(user).thenReturn(user))
+            .flatMap(user -> userRepository.delete(user).then(userCache.evictAfterTransaction(user)).thenReturn(user))
             .doOnNext(user -> log.debug("Deleted User: {}", user));
     }
 
@@ -0,0 +1,133 @@
+package com.leap.training.gateway.web.filter;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+import com.leap.training.gateway.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Limits the number of requests in progress on each downstream service to what it currently handles without
+ * queueing.
+ * <p>
+ * The limit of each service is resized by {@link AdaptiveLimit} from the round trip time of its requests, starting
+ * from {@code application.adaptive-concurrency.initial-limit}. A request beyond the limit is answered at once with
+ * a {@code 503 (Service Unavailable)}. The limit, the requests in progress and the rejections are published by
+ * service.
+ */
+@Component
+public class AdaptiveConcurrencyGatewayFilterFactory extends AbstractGatewayFilterFactory<Object> {
+
+    private final ApplicationProperties.AdaptiveConcurrency properties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, ServiceLimit> limits = new ConcurrentHashMap<>();
+
+    public AdaptiveConcurrencyGatewayFilterFactory(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.properties = applicationProperties.getAdaptiveConcurrency();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Object config) {
+        return (exchange, chain) -> {
+            Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+            if (route == null) {
+                return chain.filter(exchange);
+            }
+            ServiceLimit serviceLimit = limits.computeIfAbsent(serviceId(route), this::createLimit);
+            AdaptiveLimit limit = serviceLimit.limit;
+            int inFlightBefore = limit.tryAcquire();
+            if (inFlightBefore < 0) {
+                serviceLimit.rejected.increment();
+                return reject(exchange);
+            }
+            long start = System.nanoTime();
+            return chain
+                .filter(exchange)
+                .doOnSuccess(v -> {
+                    if (isOverloaded(exchange.getResponse().getStatusCode())) {
+                        limit.onDropped();
+                    } else {
+                        limit.onSample(System.nanoTime() - start, inFlightBefore);
+                    }
+                })
+                .doOnError(e -> {
+                    // Response timeouts of the routing filter surface as a 504
+                    if (e instanceof ResponseStatusException && isOverloaded(((ResponseStatusException) e).getStatus())) {
+                        limit.onDropped();
+                    }
+                })
+                .doFinally(signal -> limit.release());
+        };
+    }
+
+    private static String serviceId(Route route) {
+        String host = route.getUri().getHost();
+        return (host != null ? host : route.getId()).toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isOverloaded(HttpStatus status) {
+        return status == HttpStatus.SERVICE_UNAVAILABLE || status == HttpStatus.GATEWAY_TIMEOUT || status == HttpStatus.TOO_MANY_REQUESTS;
+    }
+
+    private ServiceLimit createLimit(String serviceId) {
+        AdaptiveLimit limit = new AdaptiveLimit(
+            properties.getInitialLimit(),
+            properties.getMinLimit(),
+            properties.getMaxLimit(),
+            properties.getSmoothing()
+        );
+        Gauge
+            .builder("gateway.concurrency.limit", limit, AdaptiveLimit::getLimit)
+            .description("Number of requests the gateway lets in progress on the service")
+            .tag("service", serviceId)
+            .register(meterRegistry);
+        Gauge
+            .builder("gateway.concurrency.in.flight", limit, AdaptiveLimit::getInFlight)
+            .description("Number of requests in progress on the service")
+            .tag("service", serviceId)
+            .register(meterRegistry);
+        Counter rejected = Counter
+            .builder("gateway.requests.rejected")
+            .description("Requests refused by the admission control of the gateway")
+            .tag("service", serviceId)
+            .tag("reason", "service-limit")
+            .register(meterRegistry);
+        return new ServiceLimit(limit, rejected);
+    }
+
+    private static Mono<Void> reject(ServerWebExchange exchange) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+        return response.setComplete();
+    }
+
+    private static final class ServiceLimit {
+
+        private final AdaptiveLimit limit;
+
+        private final Counter rejected;
+
+        private ServiceLimit(AdaptiveLimit limit, Counter rejected) {
+            this.limit = limit;
+            this.rejected = rejected;
+        }
+    }
+}
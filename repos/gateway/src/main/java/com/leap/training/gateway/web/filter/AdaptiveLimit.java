@@ -0,0 +1,94 @@
+package com.leap.training.gateway.web.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit of one service, resized from the round trip times of its requests.
+ * <p>
+ * The limit follows the gradient between the long term average round trip time and the latest one: while they
+ * match the service is not queueing and the limit grows by about its square root, and as the latest round trip
+ * time rises above the average the limit shrinks in proportion, down to half per sample. A request that fails
+ * with a server error or a timeout cuts the limit by a tenth. The limit only grows while the service actually
+ * uses at least half of it.
+ */
+class AdaptiveLimit {
+
+    private static final int LONG_WINDOW = 600;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double smoothing;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+
+    private double longRtt;
+
+    private long samples;
+
+    AdaptiveLimit(int initialLimit, int minLimit, int maxLimit, double smoothing) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * @return the number of requests in progress before this one, or {@code -1} if the limit is reached.
+     */
+    int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current;
+            }
+        }
+    }
+
+    void release() {
+        inFlight.decrementAndGet();
+    }
+
+    int getLimit() {
+        return (int) limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @param rttNanos the round trip time of a successful request.
+     * @param inFlightBefore the number of requests in progress when it was sent.
+     */
+    synchronized void onSample(long rttNanos, int inFlightBefore) {
+        double rtt = Math.max(rttNanos, 1);
+        samples++;
+        // Plain average while warming up, then an exponential one over the long window
+        longRtt += (rtt - longRtt) / Math.min(samples, LONG_WINDOW);
+        if (longRtt / rtt > 2) {
+            // The latency went down for good: let the long term average catch up sooner
+            longRtt *= 0.95;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, longRtt / rtt));
+        if (gradient >= 1.0 && inFlightBefore < limit / 2) {
+            return;
+        }
+        double estimate = limit * gradient + Math.sqrt(limit);
+        limit = clamp(limit * (1 - smoothing) + estimate * smoothing);
+    }
+
+    synchronized void onDropped() {
+        limit = clamp(limit * 0.9);
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
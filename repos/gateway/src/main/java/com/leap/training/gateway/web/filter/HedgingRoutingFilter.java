@@ -0,0 +1,272 @@
+package com.leap.training.gateway.web.filter;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+import com.leap.training.gateway.config.ApplicationProperties;
+import com.leap.training.gateway.loadbalancer.InstanceStatistics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.netty.http.client.HttpClient;
+
+/**
+ * Hedges the GET requests of the services listed in {@code application.hedging.services}.
+ * <p>
+ * The request goes to the instance chosen by the load balancer. If it has not answered after the
+ * {@code delay-percentile} of the recent response times of the service, the same request is sent to the other
+ * instance with the lowest cost in {@link InstanceStatistics}, ejected ones left out, and the first answer wins, the
+ * other request being cancelled. The extra requests are capped by a
+ * {@link RetryBudget} shared by all the services, so a slow service does not get twice the load. The requests sent
+ * to the backup are measured in {@link InstanceStatistics} the way {@link InstanceStatisticsFilter} measures the
+ * others.
+ * <p>
+ * Runs right after the load balancer and its statistics, in place of the Netty routing filter, with the same
+ * {@code spring.cloud.gateway.httpclient} client. The race is decided on the status and headers: the body of the
+ * winning response is then streamed through as it comes. When no instance answers, the error is mapped as the
+ * Netty routing filter does: {@code 504 (Gateway Timeout)} on a timeout, {@code 502 (Bad Gateway)} otherwise.
+ */
+@Component
+public class HedgingRoutingFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = InstanceStatisticsFilter.ORDER + 1;
+
+    private static final int LATENCY_WINDOW = 200;
+
+    private final ApplicationProperties.Hedging properties;
+
+    private final ReactiveDiscoveryClient discoveryClient;
+
+    private final InstanceStatistics statistics;
+
+    private final WebClient webClient;
+
+    private final ObjectProvider<List<HttpHeadersFilter>> headersFilters;
+
+    private final MeterRegistry meterRegistry;
+
+    private final RetryBudget budget;
+
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+    public HedgingRoutingFilter(
+        ApplicationProperties applicationProperties,
+        ReactiveDiscoveryClient discoveryClient,
+        InstanceStatistics statistics,
+        WebClient.Builder webClientBuilder,
+        HttpClient httpClient,
+        ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+        MeterRegistry meterRegistry
+    ) {
+        this.properties = applicationProperties.getHedging();
+        this.discoveryClient = discoveryClient;
+        this.statistics = statistics;
+        // The gateway client: same connection pool, timeouts and TLS settings as the routes
+        this.webClient = webClientBuilder.clientConnector(new ReactorClientHttpConnector(httpClient)).build();
+        this.headersFilters = headersFilters;
+        this.meterRegistry = meterRegistry;
+        this.budget = new RetryBudget(properties.getBudgetRatio(), properties.getBudgetMinPerSecond(), System::nanoTime);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        URI primary = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+        if (
+            route == null ||
+            primary == null ||
+            exchange.getRequest().getMethod() != HttpMethod.GET ||
+            ServerWebExchangeUtils.isAlreadyRouted(exchange)
+        ) {
+            return chain.filter(exchange);
+        }
+        String serviceId = route.getUri().getHost() != null ? route.getUri().getHost().toLowerCase(Locale.ROOT) : null;
+        if (serviceId == null || !properties.getServices().contains(serviceId)) {
+            return chain.filter(exchange);
+        }
+        budget.deposit();
+        return discoveryClient
+            .getInstances(serviceId)
+            .filter(instance -> !(instance.getHost().equals(primary.getHost()) && instance.getPort() == primary.getPort()))
+            .collectList()
+            .flatMap(others ->
+                statistics
+                    .cheapest(others)
+                    .map(backup -> hedge(exchange, serviceId, primary, backup))
+                    .orElseGet(() -> chain.filter(exchange))
+            );
+    }
+
+    private Mono<Void> hedge(ServerWebExchange exchange, String serviceId, URI primary, ServiceInstance backup) {
+        ServerWebExchangeUtils.setAlreadyRouted(exchange);
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(HttpHeadersFilter.filterRequest(headersFilters.getIfAvailable(List::of), exchange));
+        headers.remove(HttpHeaders.HOST);
+        LatencyWindow latency = latencies.computeIfAbsent(serviceId, id -> new LatencyWindow(LATENCY_WINDOW));
+        long start = System.nanoTime();
+        AtomicReference<Throwable> primaryError = new AtomicReference<>();
+
+        Mono<ResponseEntity<Flux<DataBuffer>>> first = send(primary, headers).doOnError(primaryError::set);
+        Mono<ResponseEntity<Flux<DataBuffer>>> second = Mono
+            .delay(delay(latency))
+            .filter(tick -> {
+                boolean allowed = budget.tryWithdraw();
+                count(serviceId, allowed ? "sent" : "skipped");
+                return allowed;
+            })
+            .flatMap(tick -> measure(serviceId, backup, send(backupUri(primary, backup), headers)))
+            .doOnNext(response -> {
+                exchange.getAttributes().put(InstanceStatisticsFilter.ANSWERED_ELSEWHERE_ATTR, true);
+                count(serviceId, "won");
+            });
+
+        return Mono
+            .firstWithValue(first, second)
+            // With no answer at all, the error of the primary is the one the client would have had unhedged
+            .onErrorMap(error -> routingError(primaryError.get() != null ? primaryError.get() : error))
+            .flatMap(response -> {
+                latency.record(System.nanoTime() - start);
+                return write(exchange, response);
+            });
+    }
+
+    private Duration delay(LatencyWindow latency) {
+        long percentile = latency.percentile(properties.getDelayPercentile());
+        if (percentile < 0) {
+            return properties.getInitialDelay();
+        }
+        Duration delay = Duration.ofNanos(percentile);
+        return delay.compareTo(properties.getMinDelay()) < 0 ? properties.getMinDelay() : delay;
+    }
+
+    private static URI backupUri(URI primary, ServiceInstance backup) {
+        return UriComponentsBuilder
+            .fromUri(primary)
+            .scheme(backup.isSecure() ? "https" : "http")
+            .host(backup.getHost())
+            .port(backup.getPort())
+            .build(true)
+            .toUri();
+    }
+
+    /**
+     * Measures a request until its body has been read, or it is cancelled.
+     */
+    private Mono<ResponseEntity<Flux<DataBuffer>>> measure(
+        String serviceId,
+        ServiceInstance instance,
+        Mono<ResponseEntity<Flux<DataBuffer>>> request
+    ) {
+        String host = instance.getHost();
+        int port = instance.getPort();
+        return Mono.defer(() -> {
+            long start = statistics.start(host, port);
+            return request
+                .doOnError(error -> statistics.complete(serviceId, host, port, start, true))
+                .doOnCancel(() -> statistics.cancel(host, port, start))
+                .map(entity -> {
+                    boolean failed = InstanceStatisticsFilter.isGatewayFailure(entity.getStatusCode());
+                    Flux<DataBuffer> body = body(entity)
+                        .doFinally(signal -> {
+                            if (signal == SignalType.CANCEL) {
+                                statistics.cancel(host, port, start);
+                            } else {
+                                statistics.complete(serviceId, host, port, start, failed || signal == SignalType.ON_ERROR);
+                            }
+                        });
+                    return new ResponseEntity<>(body, entity.getHeaders(), entity.getStatusCode());
+                });
+        });
+    }
+
+    private Mono<ResponseEntity<Flux<DataBuffer>>> send(URI uri, HttpHeaders headers) {
+        return webClient
+            .get()
+            .uri(uri)
+            .headers(requestHeaders -> requestHeaders.addAll(headers))
+            .retrieve()
+            // Error statuses are answers too, passed to the client as they are
+            .onStatus(status -> true, clientResponse -> Mono.empty())
+            .toEntityFlux(DataBuffer.class);
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, ResponseEntity<Flux<DataBuffer>> entity) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(entity.getStatusCode());
+        HttpHeaders headers = HttpHeadersFilter.filter(
+            headersFilters.getIfAvailable(List::of),
+            entity.getHeaders(),
+            exchange,
+            HttpHeadersFilter.Type.RESPONSE
+        );
+        if (headers.containsKey(HttpHeaders.TRANSFER_ENCODING) && headers.containsKey(HttpHeaders.CONTENT_LENGTH)) {
+            // As the Netty routing filter: the body is sent with the length declared by the instance
+            headers.remove(HttpHeaders.TRANSFER_ENCODING);
+        }
+        response.getHeaders().putAll(headers);
+        return response.writeWith(body(entity));
+    }
+
+    private static Flux<DataBuffer> body(ResponseEntity<Flux<DataBuffer>> entity) {
+        return entity.getBody() != null ? entity.getBody() : Flux.empty();
+    }
+
+    private static ResponseStatusException routingError(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ResponseStatusException) {
+                return (ResponseStatusException) cause;
+            }
+            if (cause instanceof TimeoutException || cause instanceof io.netty.handler.timeout.TimeoutException) {
+                return new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, cause.getMessage(), error);
+            }
+        }
+        // Connection refused or reset, unknown host...
+        return new ResponseStatusException(HttpStatus.BAD_GATEWAY, error.getMessage(), error);
+    }
+
+    private void count(String serviceId, String result) {
+        Counter
+            .builder("gateway.hedges")
+            .description("Requests sent again to another instance of the service")
+            .tag("service", serviceId)
+            .tag("result", result)
+            .register(meterRegistry)
+            .increment();
+    }
+}
@@ -0,0 +1,76 @@
+package com.leap.training.gateway.web.filter;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+import com.leap.training.gateway.loadbalancer.InstanceStatistics;
+import java.net.URI;
+import java.util.Locale;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Measures the requests sent to the instance chosen by the load balancer, for {@link InstanceStatistics}.
+ * <p>
+ * An error, a {@code 502}, {@code 503} or {@code 504} is a failure of the instance; any other response is a sample
+ * of its response time. A request cancelled, by the circuit breaker timeout for instance, or answered by another
+ * instance through {@link HedgingRoutingFilter}, is not a failure, but its time so far is taken as a peak.
+ */
+@Component
+public class InstanceStatisticsFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+
+    /**
+     * Set when the response comes from another instance than the one chosen by the load balancer.
+     */
+    public static final String ANSWERED_ELSEWHERE_ATTR = InstanceStatisticsFilter.class.getName() + ".answeredElsewhere";
+
+    private static final String LOAD_BALANCED_SCHEME = "lb";
+
+    private final InstanceStatistics statistics;
+
+    public InstanceStatisticsFilter(InstanceStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        URI instance = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+        if (route == null || instance == null || !LOAD_BALANCED_SCHEME.equals(route.getUri().getScheme()) || instance.getHost() == null) {
+            return chain.filter(exchange);
+        }
+        String serviceId = route.getUri().getHost().toLowerCase(Locale.ROOT);
+        String host = instance.getHost();
+        int port = instance.getPort();
+        long start = statistics.start(host, port);
+        return chain
+            .filter(exchange)
+            .doFinally(signal -> {
+                if (signal == SignalType.CANCEL || Boolean.TRUE.equals(exchange.getAttribute(ANSWERED_ELSEWHERE_ATTR))) {
+                    statistics.cancel(host, port, start);
+                } else {
+                    boolean failed = signal == SignalType.ON_ERROR || isGatewayFailure(exchange.getResponse().getStatusCode());
+                    statistics.complete(serviceId, host, port, start, failed);
+                }
+            });
+    }
+
+    static boolean isGatewayFailure(HttpStatus status) {
+        return status == HttpStatus.BAD_GATEWAY || status == HttpStatus.SERVICE_UNAVAILABLE || status == HttpStatus.GATEWAY_TIMEOUT;
+    }
+}
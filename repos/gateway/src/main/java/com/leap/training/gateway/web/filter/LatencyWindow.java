@@ -0,0 +1,55 @@
+package com.leap.training.gateway.web.filter;
+
+import java.util.Arrays;
+
+/**
+ * The most recent response times of a service, to read a percentile from.
+ */
+class LatencyWindow {
+
+    private static final int MIN_SAMPLES = 20;
+
+    private static final int RECOMPUTE_EVERY = 16;
+
+    private final long[] samples;
+
+    private int count;
+
+    private int next;
+
+    private int sinceComputed;
+
+    private double computedPercentile;
+
+    private long computed = -1;
+
+    LatencyWindow(int size) {
+        this.samples = new long[size];
+    }
+
+    synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+        sinceComputed++;
+    }
+
+    /**
+     * @param percentile the percentile, between 0 and 1.
+     * @return the response time at this percentile in nanoseconds, or {@code -1} while too few are known.
+     */
+    synchronized long percentile(double percentile) {
+        if (count < MIN_SAMPLES) {
+            return -1;
+        }
+        // Sorting the window on every request is wasteful: the value moves slowly
+        if (computed < 0 || sinceComputed >= RECOMPUTE_EVERY || computedPercentile != percentile) {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            computed = sorted[Math.max(0, (int) Math.ceil(percentile * count) - 1)];
+            computedPercentile = percentile;
+            sinceComputed = 0;
+        }
+        return computed;
+    }
+}
@@ -0,0 +1,181 @@
+package com.leap.training.gateway.web.filter;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+import com.leap.training.gateway.config.ApplicationProperties;
+import com.leap.training.gateway.security.jwt.JWTFilter;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Bucket4j;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.InetSocketAddress;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Admission control of the requests of each user on each route.
+ * <p>
+ * A request is admitted if fewer than {@code max-in-flight} requests of the same user and route are in progress and
+ * if the token bucket of its user and route has a token left; otherwise it is answered at once with a
+ * {@code 429 (Too Many Requests)} and never reaches the service. A request refused for concurrency does not spend a
+ * token. The limits are set by service in
+ * {@code application.request-admission}.
+ * <p>
+ * Everything is kept in memory, so each gateway instance enforces its own limits. Once
+ * {@code application.request-admission.max-idle-buckets} buckets are kept, the full ones are dropped, as a full
+ * bucket is the same as a new one; if most users are active, the next sweep waits for a tenth more buckets.
+ */
+@Component
+public class RequestAdmissionGatewayFilterFactory extends AbstractGatewayFilterFactory<Object> {
+
+    public static final String RATE_LIMIT_REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private static final int SWEEP_FRACTION = 10;
+
+    private final ApplicationProperties.RequestAdmission properties;
+
+    private final int maxIdleBuckets;
+
+    private volatile int sweepSize;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, UserBucket> buckets = new ConcurrentHashMap<>();
+
+    private final Map<String, Integer> inFlight = new ConcurrentHashMap<>();
+
+    public RequestAdmissionGatewayFilterFactory(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.properties = applicationProperties.getRequestAdmission();
+        this.maxIdleBuckets = properties.getMaxIdleBuckets();
+        this.sweepSize = maxIdleBuckets;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Object config) {
+        return (exchange, chain) -> {
+            Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+            if (route == null) {
+                return chain.filter(exchange);
+            }
+            String serviceId = serviceId(route);
+            ApplicationProperties.RequestAdmission.Limits limits = properties.getLimits(serviceId);
+            String key = subject(exchange) + ' ' + route.getId();
+
+            if (!acquire(key, limits.getMaxInFlight())) {
+                return reject(exchange, serviceId, "concurrency", 1);
+            }
+            ConsumptionProbe probe = bucket(key, limits).tryConsumeAndReturnRemaining(1);
+            if (!probe.isConsumed()) {
+                release(key);
+                return reject(exchange, serviceId, "rate", TimeUnit.NANOSECONDS.toSeconds(probe.getNanosToWaitForRefill()) + 1);
+            }
+            exchange.getResponse().getHeaders().set(RATE_LIMIT_REMAINING_HEADER, String.valueOf(probe.getRemainingTokens()));
+            return chain.filter(exchange).doFinally(signal -> release(key));
+        };
+    }
+
+    private static String serviceId(Route route) {
+        String host = route.getUri().getHost();
+        return (host != null ? host : route.getId()).toLowerCase(Locale.ROOT);
+    }
+
+    private static String subject(ServerWebExchange exchange) {
+        Authentication authentication = exchange.getAttribute(JWTFilter.AUTHENTICATION_ATTRIBUTE);
+        if (authentication != null) {
+            return authentication.getName();
+        }
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        return "anonymous@" + (remoteAddress != null ? remoteAddress.getHostString() : "");
+    }
+
+    private Bucket bucket(String key, ApplicationProperties.RequestAdmission.Limits limits) {
+        UserBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket.bucket;
+        }
+        if (buckets.size() >= sweepSize) {
+            dropIdleBuckets();
+        }
+        return buckets.computeIfAbsent(key, k -> new UserBucket(limits)).bucket;
+    }
+
+    private synchronized void dropIdleBuckets() {
+        if (buckets.size() < sweepSize) {
+            // Another thread has just swept
+            return;
+        }
+        buckets.values().removeIf(UserBucket::isFull);
+        // Whatever this sweep freed, the next one only runs after a tenth more buckets have been added
+        sweepSize = Math.max(maxIdleBuckets, buckets.size() + Math.max(1, maxIdleBuckets / SWEEP_FRACTION));
+    }
+
+    private boolean acquire(String key, int maxInFlight) {
+        boolean[] acquired = { false };
+        inFlight.compute(
+            key,
+            (k, count) -> {
+                int current = count != null ? count : 0;
+                if (current >= maxInFlight) {
+                    return count;
+                }
+                acquired[0] = true;
+                return current + 1;
+            }
+        );
+        return acquired[0];
+    }
+
+    private void release(String key) {
+        inFlight.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, String serviceId, String reason, long retryAfterSeconds) {
+        Counter
+            .builder("gateway.requests.rejected")
+            .description("Requests refused by the admission control of the gateway")
+            .tag("service", serviceId)
+            .tag("reason", reason)
+            .register(meterRegistry)
+            .increment();
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return response.setComplete();
+    }
+
+    private static final class UserBucket {
+
+        private final Bucket bucket;
+
+        private final long capacity;
+
+        private UserBucket(ApplicationProperties.RequestAdmission.Limits limits) {
+            this.bucket =
+                Bucket4j
+                    .builder()
+                    .addLimit(Bandwidth.classic(limits.getCapacity(), Refill.greedy(limits.getRefillTokens(), limits.getRefillPeriod())))
+                    .build();
+            this.capacity = limits.getCapacity();
+        }
+
+        private boolean isFull() {
+            return bucket.getAvailableTokens() >= capacity;
+        }
+    }
+}
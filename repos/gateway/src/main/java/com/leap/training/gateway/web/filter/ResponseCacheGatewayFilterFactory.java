@@ -0,0 +1,429 @@
+package com.leap.training.gateway.web.filter;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ORIGINAL_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+import com.leap.training.gateway.config.ApplicationProperties;
+import com.leap.training.gateway.security.jwt.JWTFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Caches the GET responses of a route at the edge.
+ * <p>
+ * Only the paths listed in {@code application.response-cache.paths} are cached. A response is kept per route,
+ * authority set, path, query string, {@code Accept} and {@code Accept-Encoding}, and carries an {@code ETag}: a
+ * request whose {@code If-None-Match} matches it gets a {@code 304 (Not Modified)} without a body. It is only
+ * served to requests with the same values of the headers named in its {@code Vary}, and not kept at all with
+ * {@code Vary: *}. A successful write through the route drops all the
+ * responses cached for it, and a request sent with {@code Cache-Control: no-cache} is always forwarded.
+ * <p>
+ * When the route fails, typically while the circuit breaker of the service is open, the last response cached for
+ * the request is served for up to {@code stale-if-error} after its expiry, with a {@code Warning: 110} header.
+ * <p>
+ * The cached bodies are bounded in total size, shared by all the routes; when full, the expired responses and then
+ * the least recently used ones are dropped, a tenth of the size at once. The route can set its own
+ * {@code time-to-live}.
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    private static final String CACHE_NAME = "responses";
+
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    private static final int EVICTION_FRACTION = 10;
+
+    private final ApplicationProperties.ResponseCache properties;
+
+    private final Clock clock;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final Map<String, CachedResponse> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong size = new AtomicLong();
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter staleHits;
+
+    private final Counter evictions;
+
+    @Autowired
+    public ResponseCacheGatewayFilterFactory(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this(applicationProperties, meterRegistry, Clock.systemUTC());
+    }
+
+    ResponseCacheGatewayFilterFactory(ApplicationProperties applicationProperties, MeterRegistry meterRegistry, Clock clock) {
+        super(Config.class);
+        this.properties = applicationProperties.getResponseCache();
+        this.clock = clock;
+        this.hits = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "miss").register(meterRegistry);
+        this.staleHits = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "stale").register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", CACHE_NAME).register(meterRegistry);
+        Gauge.builder("cache.size", entries, Map::size).tag("cache", CACHE_NAME).register(meterRegistry);
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("timeToLive");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Duration timeToLive = config.getTimeToLive() != null ? config.getTimeToLive() : properties.getTimeToLive();
+        return (exchange, chain) -> {
+            String routeId = routeId(exchange);
+            HttpMethod method = exchange.getRequest().getMethod();
+            if (method != HttpMethod.GET) {
+                if (method == HttpMethod.HEAD || method == HttpMethod.OPTIONS || method == HttpMethod.TRACE) {
+                    return chain.filter(exchange);
+                }
+                // A write may change any response of the route, not only the one at its path
+                return chain
+                    .filter(exchange)
+                    .doOnSuccess(v -> {
+                        HttpStatus status = exchange.getResponse().getStatusCode();
+                        if (status == null || status.is2xxSuccessful()) {
+                            evictRoute(routeId);
+                        }
+                    });
+            }
+            if (!isCacheable(exchange)) {
+                return chain.filter(exchange);
+            }
+            String key = key(routeId, exchange);
+            if (!forcesRevalidation(exchange.getRequest())) {
+                CachedResponse cached = get(key, exchange.getRequest());
+                if (cached != null) {
+                    return write(exchange, cached);
+                }
+            }
+            return chain
+                .filter(exchange.mutate().response(new CachingResponse(exchange, key, timeToLive)).build())
+                .onErrorResume(e -> writeStale(exchange, key, e));
+        };
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "";
+    }
+
+    private boolean isCacheable(ServerWebExchange exchange) {
+        String path = originalUri(exchange).getPath();
+        return properties.getPaths().stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    private static URI originalUri(ServerWebExchange exchange) {
+        // Path rewriting filters may have run already: match what the client asked for
+        LinkedHashSet<URI> originalUris = exchange.getAttribute(GATEWAY_ORIGINAL_REQUEST_URL_ATTR);
+        if (originalUris != null && !originalUris.isEmpty()) {
+            return originalUris.iterator().next();
+        }
+        return exchange.getRequest().getURI();
+    }
+
+    private static boolean forcesRevalidation(ServerHttpRequest request) {
+        String cacheControl = request.getHeaders().getCacheControl();
+        return cacheControl != null && cacheControl.contains("no-cache");
+    }
+
+    private static String key(String routeId, ServerWebExchange exchange) {
+        Authentication authentication = exchange.getAttribute(JWTFilter.AUTHENTICATION_ATTRIBUTE);
+        String authorities = authentication == null
+            ? ""
+            : authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).sorted().collect(Collectors.joining(","));
+        ServerHttpRequest request = exchange.getRequest();
+        URI uri = request.getURI();
+        // A gzip body must not be replayed to a client that did not ask for it, nor JSON to one asking for CSV
+        return (
+            routeId +
+            ' ' +
+            authorities +
+            ' ' +
+            uri.getRawPath() +
+            '?' +
+            (uri.getRawQuery() != null ? uri.getRawQuery() : "") +
+            ' ' +
+            String.join(",", request.getHeaders().getOrEmpty(HttpHeaders.ACCEPT)) +
+            ' ' +
+            String.join(",", request.getHeaders().getOrEmpty(HttpHeaders.ACCEPT_ENCODING))
+        );
+    }
+
+    private CachedResponse get(String key, ServerHttpRequest request) {
+        CachedResponse cached = entries.get(key);
+        if (cached == null || !cached.varies.equals(varyingHeaders(request, cached.headers))) {
+            misses.increment();
+            return null;
+        }
+        long now = clock.millis();
+        if (cached.expiresAt <= now) {
+            // Kept a while longer to be served if the route fails
+            if (cached.expiresAt + properties.getStaleIfError().toMillis() <= now) {
+                remove(key, cached);
+            }
+            misses.increment();
+            return null;
+        }
+        cached.usedAt = now;
+        hits.increment();
+        return cached;
+    }
+
+    /**
+     * @return the values sent by the client for each header named in the {@code Vary} of the response.
+     */
+    private static Map<String, List<String>> varyingHeaders(ServerHttpRequest request, HttpHeaders responseHeaders) {
+        Map<String, List<String>> varies = new HashMap<>();
+        for (String name : responseHeaders.getVary()) {
+            varies.put(name.toLowerCase(Locale.ROOT), request.getHeaders().getOrEmpty(name));
+        }
+        return varies;
+    }
+
+    private void put(String key, CachedResponse cached) {
+        long maxSize = properties.getMaxSize().toBytes();
+        if (cached.body.length > maxSize) {
+            return;
+        }
+        if (size.get() + cached.body.length > maxSize) {
+            makeRoom(Math.min(maxSize - cached.body.length, maxSize - maxSize / EVICTION_FRACTION));
+        }
+        CachedResponse previous = entries.put(key, cached);
+        size.addAndGet(cached.body.length - (previous != null ? previous.body.length : 0));
+    }
+
+    private synchronized void makeRoom(long targetSize) {
+        if (size.get() <= targetSize) {
+            // Another thread has just made room
+            return;
+        }
+        long now = clock.millis();
+        entries.forEach((key, cached) -> {
+            if (cached.expiresAt <= now) {
+                remove(key, cached);
+            }
+        });
+        if (size.get() <= targetSize) {
+            return;
+        }
+        // Still full of live responses: drop the least recently used, they will simply be fetched again
+        List<Map.Entry<String, CachedResponse>> leastRecentlyUsed = entries
+            .entrySet()
+            .stream()
+            .sorted(Comparator.comparingLong(entry -> entry.getValue().usedAt))
+            .collect(Collectors.toList());
+        for (Map.Entry<String, CachedResponse> entry : leastRecentlyUsed) {
+            if (size.get() <= targetSize) {
+                return;
+            }
+            remove(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void evictRoute(String routeId) {
+        String prefix = routeId + ' ';
+        entries.forEach((key, cached) -> {
+            if (key.startsWith(prefix)) {
+                remove(key, cached);
+            }
+        });
+    }
+
+    private void remove(String key, CachedResponse cached) {
+        if (entries.remove(key, cached)) {
+            size.addAndGet(-cached.body.length);
+            evictions.increment();
+        }
+    }
+
+    private Mono<Void> writeStale(ServerWebExchange exchange, String key, Throwable error) {
+        CachedResponse cached = entries.get(key);
+        if (
+            cached == null ||
+            !cached.varies.equals(varyingHeaders(exchange.getRequest(), cached.headers)) ||
+            exchange.getResponse().isCommitted() ||
+            cached.expiresAt + properties.getStaleIfError().toMillis() <= clock.millis()
+        ) {
+            return Mono.error(error);
+        }
+        staleHits.increment();
+        exchange.getResponse().getHeaders().set(HttpHeaders.WARNING, STALE_WARNING);
+        return write(exchange, cached);
+    }
+
+    private static Mono<Void> write(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        if (matches(exchange.getRequest(), cached.headers.getETag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            response.getHeaders().setETag(cached.headers.getETag());
+            response.getHeaders().setCacheControl(CACHE_CONTROL);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().putAll(copy(cached.headers));
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body)));
+    }
+
+    private static HttpHeaders copy(HttpHeaders headers) {
+        HttpHeaders copy = new HttpHeaders();
+        headers.forEach((name, values) -> copy.put(name, new ArrayList<>(values)));
+        return copy;
+    }
+
+    private static boolean matches(ServerHttpRequest request, String etag) {
+        for (String ifNoneMatch : request.getHeaders().getIfNoneMatch()) {
+            if ("*".equals(ifNoneMatch) || weak(ifNoneMatch).equals(weak(etag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String weak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    /**
+     * Keeps a copy of a complete {@code 200 (OK)} response that fits within {@code max-body-size}, and answers
+     * {@code If-None-Match} from it before anything is sent to the client.
+     */
+    private class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerHttpRequest request;
+
+        private final String key;
+
+        private final Duration timeToLive;
+
+        private long received;
+
+        CachingResponse(ServerWebExchange exchange, String key, Duration timeToLive) {
+            super(exchange.getResponse());
+            this.request = exchange.getRequest();
+            this.key = key;
+            this.timeToLive = timeToLive;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (getStatusCode() != HttpStatus.OK || getHeaders().containsKey(HttpHeaders.SET_COOKIE)) {
+                return super.writeWith(body);
+            }
+            long maxBodySize = properties.getMaxBodySize().toBytes();
+            // The first group is the whole body if it ends before reaching the limit, the rest is passed as is
+            Flux<DataBuffer> buffers = Flux
+                .from(body)
+                .bufferUntil(buffer -> (received += buffer.readableByteCount()) > maxBodySize, true)
+                .concatMap(group -> received <= maxBodySize ? cache(group) : Flux.fromIterable(group));
+            return super.writeWith(buffers);
+        }
+
+        private Mono<DataBuffer> cache(List<? extends DataBuffer> group) {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            for (DataBuffer buffer : group) {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                DataBufferUtils.release(buffer);
+                content.writeBytes(bytes);
+            }
+            byte[] body = content.toByteArray();
+            HttpHeaders headers = getHeaders();
+            if (headers.getETag() == null) {
+                headers.setETag('"' + DigestUtils.md5DigestAsHex(body) + '"');
+            }
+            headers.setCacheControl(CACHE_CONTROL);
+            headers.remove(HttpHeaders.PRAGMA);
+            headers.remove(HttpHeaders.EXPIRES);
+            if (!headers.getVary().contains("*")) {
+                long now = clock.millis();
+                put(key, new CachedResponse(copy(headers), varyingHeaders(request, headers), body, now + timeToLive.toMillis(), now));
+            }
+            if (matches(request, headers.getETag())) {
+                setStatusCode(HttpStatus.NOT_MODIFIED);
+                headers.remove(HttpHeaders.CONTENT_LENGTH);
+                return Mono.empty();
+            }
+            return Mono.just(bufferFactory().wrap(body));
+        }
+    }
+
+    private static final class CachedResponse {
+
+        private final HttpHeaders headers;
+
+        private final Map<String, List<String>> varies;
+
+        private final byte[] body;
+
+        private final long expiresAt;
+
+        private volatile long usedAt;
+
+        private CachedResponse(HttpHeaders headers, Map<String, List<String>> varies, byte[] body, long expiresAt, long usedAt) {
+            this.headers = headers;
+            this.varies = varies;
+            this.body = body;
+            this.expiresAt = expiresAt;
+            this.usedAt = usedAt;
+        }
+    }
+
+    public static class Config {
+
+        private Duration timeToLive;
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
+}
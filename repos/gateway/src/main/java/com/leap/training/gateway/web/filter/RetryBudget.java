@@ -0,0 +1,53 @@
+package com.leap.training.gateway.web.filter;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Caps the extra requests sent by the gateway to a share of the requests it forwards.
+ * <p>
+ * Each request forwarded adds {@code ratio} to the balance and each extra request takes one from it. The balance
+ * also gains {@code minPerSecond} every second, so that a quiet service can still be helped, and holds at most ten
+ * seconds' worth of it so that a burst after a quiet period stays small.
+ */
+class RetryBudget {
+
+    private final double ratio;
+
+    private final double minPerSecond;
+
+    private final double maxBalance;
+
+    private final LongSupplier nanoTime;
+
+    private double balance;
+
+    private long refilledAt;
+
+    RetryBudget(double ratio, double minPerSecond, LongSupplier nanoTime) {
+        this.ratio = ratio;
+        this.minPerSecond = minPerSecond;
+        this.maxBalance = Math.max(1, minPerSecond * 10);
+        this.nanoTime = nanoTime;
+        this.refilledAt = nanoTime.getAsLong();
+    }
+
+    synchronized void deposit() {
+        refill();
+        balance = Math.min(maxBalance, balance + ratio);
+    }
+
+    synchronized boolean tryWithdraw() {
+        refill();
+        if (balance < 1) {
+            return false;
+        }
+        balance -= 1;
+        return true;
+    }
+
+    private void refill() {
+        long now = nanoTime.getAsLong();
+        balance = Math.min(maxBalance, balance + (now - refilledAt) / 1e9 * minPerSecond);
+        refilledAt = now;
+    }
+}
@@ -3,7 +3,9 @@ package com.leap.training.gateway.web.rest;
 import com.leap.training.gateway.domain.Department;
 import com.leap.training.gateway.repository.DepartmentRepository;
 import com.leap.training.gateway.service.DepartmentService;
+import com.leap.training.gateway.service.EntityManager;
 import com.leap.training.gateway.web.rest.errors.BadRequestAlertException;
+import com.leap.training.gateway.web.rest.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
@@ -173,13 +175,23 @@ public class DepartmentResource {
      *
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
+     * @param after the cursor of the last department already read, empty for the first page, or absent for offset pagination.
+     * @param exactCount whether {@code X-Total-Count} must be counted for this request instead of being served from cache.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of departments in body.
      */
     @GetMapping("/departments")
-    public Mono<ResponseEntity<List<Department>>> getAllDepartments(Pageable pageable, ServerHttpRequest request) {
+    public Mono<ResponseEntity<List<Department>>> getAllDepartments(
+        Pageable pageable,
+        ServerHttpRequest request,
+        @RequestParam(value = KeysetPaginationUtil.AFTER_PARAMETER, required = false) String after,
+        @RequestParam(value = "exactCount", defaultValue = "false") boolean exactCount
+    ) {
         log.debug("REST request to get a page of Departments");
-        return departmentService
-            .countAll()
+        if (after != null) {
+            EntityManager.Cursor cursor = KeysetPaginationUtil.parseCursor(after, pageable, Department.class, ENTITY_NAME);
+            return KeysetPaginationUtil.keysetPage(departmentService.findAllAfter(pageable, cursor), pageable, request);
+        }
+        return (exactCount ? departmentService.countAll() : departmentService.countAllCached())
             .zipWith(departmentService.findAll(pageable).collectList())
             .map(countWithEntities -> {
                 return ResponseEntity
@@ -1,15 +1,22 @@
 package com.leap.training.gateway.web.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.leap.training.gateway.domain.Employee;
 import com.leap.training.gateway.repository.EmployeeRepository;
 import com.leap.training.gateway.service.EmployeeService;
+import com.leap.training.gateway.service.EntityManager;
 import com.leap.training.gateway.web.rest.errors.BadRequestAlertException;
+import com.leap.training.gateway.web.rest.util.FieldsetUtil;
+import com.leap.training.gateway.web.rest.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -41,6 +48,11 @@ public class EmployeeResource {
 
     private static final String ENTITY_NAME = "employee";
 
+    private static final String CSV_MEDIA_TYPE = "text/csv";
+
+    private static final String CSV_HEADER =
+        "id,firstName,lastName,email,phoneNumber,hireDate,salary,commissionPct,jobId,managerId,departmentId\n";
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -48,9 +60,12 @@ public class EmployeeResource {
 
     private final EmployeeRepository employeeRepository;
 
-    public EmployeeResource(EmployeeService employeeService, EmployeeRepository employeeRepository) {
+    private final ObjectMapper objectMapper;
+
+    public EmployeeResource(EmployeeService employeeService, EmployeeRepository employeeRepository, ObjectMapper objectMapper) {
         this.employeeService = employeeService;
         this.employeeRepository = employeeRepository;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -171,14 +186,33 @@ public class EmployeeResource {
      *
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
+     * @param after the cursor of the last employee already read, empty for the first page, or absent for offset pagination.
+     * @param exactCount whether {@code X-Total-Count} must be counted for this request instead of being served from cache.
+     * @param fields the comma separated fields to return, or absent for the whole employee.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of employees in body.
      */
     @GetMapping("/employees")
-    public Mono<ResponseEntity<List<Employee>>> getAllEmployees(Pageable pageable, ServerHttpRequest request) {
+    public Mono<ResponseEntity<List<?>>> getAllEmployees(
+        Pageable pageable,
+        ServerHttpRequest request,
+        @RequestParam(value = KeysetPaginationUtil.AFTER_PARAMETER, required = false) String after,
+        @RequestParam(value = "exactCount", defaultValue = "false") boolean exactCount,
+        @RequestParam(value = FieldsetUtil.FIELDS_PARAMETER, required = false) String fields
+    ) {
         log.debug("REST request to get a page of Employees");
-        return employeeService
-            .countAll()
-            .zipWith(employeeService.findAll(pageable).collectList())
+        Set<String> selectedFields = FieldsetUtil.parseFields(fields, EmployeeService.SELECTABLE_FIELDS, ENTITY_NAME);
+        if (after != null) {
+            EntityManager.Cursor cursor = KeysetPaginationUtil.parseCursor(after, pageable, Employee.class, ENTITY_NAME);
+            Flux<Employee> employees = selectedFields == null
+                ? employeeService.findAllAfter(pageable, cursor)
+                : employeeService.findAllAfter(pageable, cursor, selectedFields);
+            return KeysetPaginationUtil.keysetPage(employees, pageable, request, entities -> render(entities, selectedFields));
+        }
+        Flux<Employee> employees = selectedFields == null
+            ? employeeService.findAll(pageable)
+            : employeeService.findAll(pageable, selectedFields);
+        return (exactCount ? employeeService.countAll() : employeeService.countAllCached())
+            .zipWith(employees.collectList())
             .map(countWithEntities -> {
                 return ResponseEntity
                     .ok()
@@ -188,10 +222,73 @@ public class EmployeeResource {
                             new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
                         )
                     )
-                    .body(countWithEntities.getT2());
+                    .body(render(countWithEntities.getT2(), selectedFields));
             });
     }
 
+    private List<?> render(List<Employee> employees, Set<String> fields) {
+        return fields == null ? employees : FieldsetUtil.narrow(objectMapper, employees, fields);
+    }
+
+    /**
+     * {@code GET  /employees/export} : stream all the employees, one JSON document per line.
+     * <p>
+     * Nothing is buffered: each employee is written as soon as its row is read, and rows are only read as fast as
+     * the client consumes them.
+     *
+     * @return the employees.
+     */
+    @GetMapping(value = "/employees/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Employee> exportEmployees() {
+        log.debug("REST request to export Employees as NDJSON");
+        return employeeService.streamAll();
+    }
+
+    /**
+     * {@code GET  /employees/export} : stream all the employees as CSV, with a header line.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the CSV lines in body.
+     */
+    @GetMapping(value = "/employees/export", produces = CSV_MEDIA_TYPE)
+    public ResponseEntity<Flux<String>> exportEmployeesAsCsv() {
+        log.debug("REST request to export Employees as CSV");
+        Flux<String> lines = employeeService.streamAll().map(EmployeeResource::toCsvLine);
+        return ResponseEntity
+            .ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"employees.csv\"")
+            .body(Flux.concat(Mono.just(CSV_HEADER), lines));
+    }
+
+    private static String toCsvLine(Employee employee) {
+        return Stream
+            .of(
+                employee.getId(),
+                employee.getFirstName(),
+                employee.getLastName(),
+                employee.getEmail(),
+                employee.getPhoneNumber(),
+                employee.getHireDate(),
+                employee.getSalary(),
+                employee.getCommissionPct(),
+                employee.getJobId(),
+                employee.getManagerId(),
+                employee.getDepartmentId()
+            )
+            .map(EmployeeResource::toCsvValue)
+            .collect(Collectors.joining(",", "", "\n"));
+    }
+
+    private static String toCsvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+
     /**
      * {@code GET  /employees/:id} : get the "id" employee.
      *
@@ -2,8 +2,10 @@ package com.leap.training.gateway.web.rest;
 
 import com.leap.training.gateway.domain.JobHistory;
 import com.leap.training.gateway.repository.JobHistoryRepository;
+import com.leap.training.gateway.service.EntityManager;
 import com.leap.training.gateway.service.JobHistoryService;
 import com.leap.training.gateway.web.rest.errors.BadRequestAlertException;
+import com.leap.training.gateway.web.rest.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
@@ -171,13 +173,23 @@ public class JobHistoryResource {
      *
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
+     * @param after the cursor of the last jobHistory already read, empty for the first page, or absent for offset pagination.
+     * @param exactCount whether {@code X-Total-Count} must be counted for this request instead of being served from cache.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of jobHistories in body.
      */
     @GetMapping("/job-histories")
-    public Mono<ResponseEntity<List<JobHistory>>> getAllJobHistories(Pageable pageable, ServerHttpRequest request) {
+    public Mono<ResponseEntity<List<JobHistory>>> getAllJobHistories(
+        Pageable pageable,
+        ServerHttpRequest request,
+        @RequestParam(value = KeysetPaginationUtil.AFTER_PARAMETER, required = false) String after,
+        @RequestParam(value = "exactCount", defaultValue = "false") boolean exactCount
+    ) {
         log.debug("REST request to get a page of JobHistories");
-        return jobHistoryService
-            .countAll()
+        if (after != null) {
+            EntityManager.Cursor cursor = KeysetPaginationUtil.parseCursor(after, pageable, JobHistory.class, ENTITY_NAME);
+            return KeysetPaginationUtil.keysetPage(jobHistoryService.findAllAfter(pageable, cursor), pageable, request);
+        }
+        return (exactCount ? jobHistoryService.countAll() : jobHistoryService.countAllCached())
             .zipWith(jobHistoryService.findAll(pageable).collectList())
             .map(countWithEntities -> {
                 return ResponseEntity
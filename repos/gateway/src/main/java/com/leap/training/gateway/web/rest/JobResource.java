@@ -2,8 +2,10 @@ package com.leap.training.gateway.web.rest;
 
 import com.leap.training.gateway.domain.Job;
 import com.leap.training.gateway.repository.JobRepository;
+import com.leap.training.gateway.service.EntityManager;
 import com.leap.training.gateway.service.JobService;
 import com.leap.training.gateway.web.rest.errors.BadRequestAlertException;
+import com.leap.training.gateway.web.rest.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
@@ -167,13 +169,23 @@ public class JobResource {
      *
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
+     * @param after the cursor of the last job already read, empty for the first page, or absent for offset pagination.
+     * @param exactCount whether {@code X-Total-Count} must be counted for this request instead of being served from cache.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of jobs in body.
      */
     @GetMapping("/jobs")
-    public Mono<ResponseEntity<List<Job>>> getAllJobs(Pageable pageable, ServerHttpRequest request) {
+    public Mono<ResponseEntity<List<Job>>> getAllJobs(
+        Pageable pageable,
+        ServerHttpRequest request,
+        @RequestParam(value = KeysetPaginationUtil.AFTER_PARAMETER, required = false) String after,
+        @RequestParam(value = "exactCount", defaultValue = "false") boolean exactCount
+    ) {
         log.debug("REST request to get a page of Jobs");
-        return jobService
-            .countAll()
+        if (after != null) {
+            EntityManager.Cursor cursor = KeysetPaginationUtil.parseCursor(after, pageable, Job.class, ENTITY_NAME);
+            return KeysetPaginationUtil.keysetPage(jobService.findAllAfter(pageable, cursor), pageable, request);
+        }
+        return (exactCount ? jobService.countAll() : jobService.countAllCached())
             .zipWith(jobService.findAll(pageable).collectList())
             .map(countWithEntities -> {
                 return ResponseEntity
@@ -2,8 +2,10 @@ package com.leap.training.gateway.web.rest;
 
 import com.leap.training.gateway.domain.Location;
 import com.leap.training.gateway.repository.LocationRepository;
+import com.leap.training.gateway.service.EntityManager;
 import com.leap.training.gateway.service.LocationService;
 import com.leap.training.gateway.web.rest.errors.BadRequestAlertException;
+import com.leap.training.gateway.web.rest.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
@@ -171,13 +173,23 @@ public class LocationResource {
      *
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
+     * @param after the cursor of the last location already read, empty for the first page, or absent for offset pagination.
+     * @param exactCount whether {@code X-Total-Count} must be counted for this request instead of being served from cache.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of locations in body.
      */
     @GetMapping("/locations")
-    public Mono<ResponseEntity<List<Location>>> getAllLocations(Pageable pageable, ServerHttpRequest request) {
+    public Mono<ResponseEntity<List<Location>>> getAllLocations(
+        Pageable pageable,
+        ServerHttpRequest request,
+        @RequestParam(value = KeysetPaginationUtil.AFTER_PARAMETER, required = false) String after,
+        @RequestParam(value = "exactCount", defaultValue = "false") boolean exactCount
+    ) {
         log.debug("REST request to get a page of Locations");
-        return locationService
-            .countAll()
+        if (after != null) {
+            EntityManager.Cursor cursor = KeysetPaginationUtil.parseCursor(after, pageable, Location.class, ENTITY_NAME);
+            return KeysetPaginationUtil.keysetPage(locationService.findAllAfter(pageable, cursor), pageable, request);
+        }
+        return (exactCount ? locationService.countAll() : locationService.countAllCached())
             .zipWith(locationService.findAll(pageable).collectList())
             .map(countWithEntities -> {
                 return ResponseEntity
@@ -2,8 +2,10 @@ package com.leap.training.gateway.web.rest;
 
 import com.leap.training.gateway.domain.Region;
 import com.leap.training.gateway.repository.RegionRepository;
+import com.leap.training.gateway.service.EntityManager;
 import com.leap.training.gateway.service.RegionService;
 import com.leap.training.gateway.web.rest.errors.BadRequestAlertException;
+import com.leap.training.gateway.web.rest.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
@@ -171,13 +173,23 @@ public class RegionResource {
      *
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
+     * @param after the cursor of the last region already read, empty for the first page, or absent for offset pagination.
+     * @param exactCount whether {@code X-Total-Count} must be counted for this request instead of being served from cache.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of regions in body.
      */
     @GetMapping("/regions")
-    public Mono<ResponseEntity<List<Region>>> getAllRegions(Pageable pageable, ServerHttpRequest request) {
+    public Mono<ResponseEntity<List<Region>>> getAllRegions(
+        Pageable pageable,
+        ServerHttpRequest request,
+        @RequestParam(value = KeysetPaginationUtil.AFTER_PARAMETER, required = false) String after,
+        @RequestParam(value = "exactCount", defaultValue = "false") boolean exactCount
+    ) {
         log.debug("REST request to get a page of Regions");
-        return regionService
-            .countAll()
+        if (after != null) {
+            EntityManager.Cursor cursor = KeysetPaginationUtil.parseCursor(after, pageable, Region.class, ENTITY_NAME);
+            return KeysetPaginationUtil.keysetPage(regionService.findAllAfter(pageable, cursor), pageable, request);
+        }
+        return (exactCount ? regionService.countAll() : regionService.countAllCached())
             .zipWith(regionService.findAll(pageable).collectList())
             .map(countWithEntities -> {
                 return ResponseEntity
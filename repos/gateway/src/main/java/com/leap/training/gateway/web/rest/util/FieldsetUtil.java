@@ -0,0 +1,72 @@
+package com.leap.training.gateway.web.rest.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.leap.training.gateway.web.rest.errors.BadRequestAlertException;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Utility class for handling sparse fieldsets.
+ * <p>
+ * A client asks for a subset of the fields of an entity by sending the {@code fields} parameter, a comma separated
+ * list of JSON property names. The {@code id} is always returned.
+ */
+public final class FieldsetUtil {
+
+    public static final String FIELDS_PARAMETER = "fields";
+
+    private static final String ID_FIELD = "id";
+
+    private FieldsetUtil() {}
+
+    /**
+     * Parses the {@code fields} request parameter.
+     *
+     * @param fields the value of the {@code fields} parameter.
+     * @param selectableFields the fields the entity accepts.
+     * @param entityName the name of the entity, for the error message.
+     * @return the requested fields including the {@code id}, or {@code null} if the parameter is absent or empty.
+     * @throws BadRequestAlertException if a field is not selectable.
+     */
+    public static Set<String> parseFields(String fields, Collection<String> selectableFields, String entityName) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> result = new LinkedHashSet<>();
+        result.add(ID_FIELD);
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!selectableFields.contains(name)) {
+                throw new BadRequestAlertException("Unknown field " + name, entityName, "fieldinvalid");
+            }
+            result.add(name);
+        }
+        return result;
+    }
+
+    /**
+     * Keeps only the requested fields in the JSON representation of the entities.
+     *
+     * @param mapper the object mapper used for the response.
+     * @param entities the entities to render.
+     * @param fields the requested fields.
+     * @return the JSON objects to send.
+     */
+    public static List<ObjectNode> narrow(ObjectMapper mapper, List<?> entities, Set<String> fields) {
+        return entities
+            .stream()
+            .map(entity -> {
+                ObjectNode node = mapper.valueToTree(entity);
+                node.retain(fields);
+                return node;
+            })
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,115 @@
+package com.leap.training.gateway.web.rest.util;
+
+import com.leap.training.gateway.service.EntityManager;
+import com.leap.training.gateway.web.rest.errors.BadRequestAlertException;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Utility class for handling keyset (seek) pagination.
+ * <p>
+ * A client asks for keyset pagination by sending the {@code after} parameter, empty for the first page. Each page then
+ * carries a {@code next} link holding the opaque cursor of its last entity, until a page is not full. The sort has to
+ * be on the id or on a required property.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final String AFTER_PARAMETER = "after";
+
+    private static final String HEADER_LINK_FORMAT = "<%s>; rel=\"%s\"";
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Decodes the {@code after} request parameter.
+     *
+     * @param after the value of the {@code after} parameter.
+     * @param pageable the pagination information of the request.
+     * @param entityType the paged entity type.
+     * @param entityName the name of the paged entity, for the error message.
+     * @return the cursor, or {@code null} for the first page.
+     * @throws BadRequestAlertException if the sort cannot be used for keyset pagination, or if the cursor is malformed
+     * or does not match the requested sort.
+     */
+    public static EntityManager.Cursor parseCursor(String after, Pageable pageable, Class<?> entityType, String entityName) {
+        try {
+            EntityManager.Cursor.checkSort(entityType, pageable);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid sort for keyset pagination", entityName, "sortinvalid");
+        }
+        if (after.isEmpty()) {
+            return null;
+        }
+        try {
+            return EntityManager.Cursor.decode(after, pageable, entityType);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", entityName, "cursorinvalid");
+        }
+    }
+
+    /**
+     * Builds the response of a keyset page, with its {@code next} link.
+     *
+     * @param entities the entities of the page.
+     * @param pageable the pagination information of the request.
+     * @param request the current request.
+     * @param <T> the type of the entities.
+     * @return the response holding the entities.
+     */
+    public static <T> Mono<ResponseEntity<List<T>>> keysetPage(Flux<T> entities, Pageable pageable, ServerHttpRequest request) {
+        return keysetPage(entities, pageable, request, Function.identity());
+    }
+
+    /**
+     * Builds the response of a keyset page, with its {@code next} link.
+     *
+     * @param entities the entities of the page.
+     * @param pageable the pagination information of the request.
+     * @param request the current request.
+     * @param body renders the entities as the response body.
+     * @param <T> the type of the entities.
+     * @param <R> the type of the body.
+     * @return the response holding the rendered entities.
+     */
+    public static <T, R> Mono<ResponseEntity<R>> keysetPage(
+        Flux<T> entities,
+        Pageable pageable,
+        ServerHttpRequest request,
+        Function<List<T>, R> body
+    ) {
+        return entities
+            .collectList()
+            .map(page ->
+                ResponseEntity
+                    .ok()
+                    .headers(generateKeysetPaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), pageable, page))
+                    .body(body.apply(page))
+            );
+    }
+
+    /**
+     * Generate the {@code next} link of a keyset page, if the page is full.
+     *
+     * @param uriBuilder the builder of the current request URI.
+     * @param pageable the pagination information of the request.
+     * @param entities the entities of the current page.
+     * @return http header.
+     */
+    public static HttpHeaders generateKeysetPaginationHttpHeaders(UriComponentsBuilder uriBuilder, Pageable pageable, List<?> entities) {
+        HttpHeaders headers = new HttpHeaders();
+        if (entities.size() < pageable.getPageSize()) {
+            return headers;
+        }
+        String after = EntityManager.Cursor.after(entities.get(entities.size() - 1), pageable).encode();
+        String next = uriBuilder.replaceQueryParam(AFTER_PARAMETER, after).replaceQueryParam("page").toUriString();
+        headers.add(HttpHeaders.LINK, String.format(HEADER_LINK_FORMAT, next, "next"));
+        return headers;
+    }
+}
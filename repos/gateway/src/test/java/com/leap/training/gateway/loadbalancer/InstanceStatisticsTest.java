@@ -0,0 +1,161 @@
+package com.leap.training.gateway.loadbalancer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.leap.training.gateway.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+class InstanceStatisticsTest {
+
+    private static final ServiceInstance INSTANCE = new DefaultServiceInstance("employee-1", "employee", "10.0.0.1", 8081, false);
+
+    private static final ServiceInstance REPLACEMENT = new DefaultServiceInstance("employee-2", "employee", "10.0.0.2", 8081, false);
+
+    private final AtomicLong nanoTime = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    private MeterRegistry meterRegistry;
+
+    private ApplicationProperties applicationProperties;
+
+    private InstanceStatistics statistics;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        applicationProperties = new ApplicationProperties();
+        statistics = new InstanceStatistics(applicationProperties, meterRegistry, nanoTime::get);
+    }
+
+    @Test
+    void testTakeSlowerResponsesAtOnceAndFasterOnesGradually() {
+        request(100, false);
+        double fast = statistics.cost(INSTANCE);
+
+        request(1000, false);
+        assertThat(statistics.cost(INSTANCE)).isGreaterThan(fast * 9);
+
+        for (int i = 0; i < 200; i++) {
+            request(100, false);
+        }
+        assertThat(statistics.cost(INSTANCE)).isLessThan(fast * 2);
+    }
+
+    @Test
+    void testCountRequestsInProgress() {
+        request(100, false);
+        double idle = statistics.cost(INSTANCE);
+
+        long start = statistics.start(INSTANCE.getHost(), INSTANCE.getPort());
+        assertThat(statistics.cost(INSTANCE)).isEqualTo(idle * 2);
+
+        statistics.cancel(INSTANCE.getHost(), INSTANCE.getPort(), start);
+        assertThat(statistics.cost(INSTANCE)).isEqualTo(idle);
+    }
+
+    @Test
+    void testTakeTheTimeOfACancelledRequestAsAPeak() {
+        request(100, false);
+        double fast = statistics.cost(INSTANCE);
+
+        long start = statistics.start(INSTANCE.getHost(), INSTANCE.getPort());
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        statistics.cancel(INSTANCE.getHost(), INSTANCE.getPort(), start);
+
+        assertThat(statistics.cost(INSTANCE)).isGreaterThan(fast * 90);
+        assertThat(statistics.isEjected(INSTANCE)).isFalse();
+    }
+
+    @Test
+    void testDoNotLowerTheLatencyOnAQuickCancel() {
+        request(1000, false);
+        double slow = statistics.cost(INSTANCE);
+
+        long start = statistics.start(INSTANCE.getHost(), INSTANCE.getPort());
+        statistics.cancel(INSTANCE.getHost(), INSTANCE.getPort(), start);
+
+        assertThat(statistics.cost(INSTANCE)).isEqualTo(slow);
+    }
+
+    @Test
+    void testFadeWhileIdle() {
+        request(1000, false);
+        double slow = statistics.cost(INSTANCE);
+
+        nanoTime.addAndGet(applicationProperties.getLoadBalancer().getDecayTime().toNanos() * 3);
+
+        assertThat(statistics.cost(INSTANCE)).isLessThan(slow / 10);
+    }
+
+    @Test
+    void testEjectAfterConsecutiveFailures() {
+        int failures = applicationProperties.getLoadBalancer().getConsecutiveFailures();
+        for (int i = 1; i < failures; i++) {
+            request(10, true);
+        }
+        request(10, false);
+        request(10, true);
+        assertThat(statistics.isEjected(INSTANCE)).isFalse();
+
+        for (int i = 1; i < failures; i++) {
+            request(10, true);
+        }
+        assertThat(statistics.isEjected(INSTANCE)).isTrue();
+        assertThat(meterRegistry.get("gateway.loadbalancer.ejections").tag("service", "employee").counter().count()).isEqualTo(1);
+
+        nanoTime.addAndGet(applicationProperties.getLoadBalancer().getEjectionTime().toNanos());
+        assertThat(statistics.isEjected(INSTANCE)).isFalse();
+    }
+
+    @Test
+    void testForgetInstancesLeftUnused() {
+        request(100, false);
+
+        nanoTime.addAndGet(applicationProperties.getLoadBalancer().getDecayTime().toNanos() * 11);
+        request(REPLACEMENT, 100, false);
+
+        assertThat(statistics.size()).isEqualTo(1);
+        assertThat(statistics.cost(INSTANCE)).isZero();
+    }
+
+    @Test
+    void testKeepInstancesInUse() {
+        request(100, false);
+        statistics.start(INSTANCE.getHost(), INSTANCE.getPort());
+
+        nanoTime.addAndGet(applicationProperties.getLoadBalancer().getDecayTime().toNanos() * 11);
+        request(REPLACEMENT, 100, false);
+
+        assertThat(statistics.size()).isEqualTo(2);
+    }
+
+    @Test
+    void testKeepEjectedInstances() {
+        applicationProperties.getLoadBalancer().setEjectionTime(applicationProperties.getLoadBalancer().getDecayTime().multipliedBy(20));
+        for (int i = 0; i < applicationProperties.getLoadBalancer().getConsecutiveFailures(); i++) {
+            request(10, true);
+        }
+
+        nanoTime.addAndGet(applicationProperties.getLoadBalancer().getDecayTime().toNanos() * 11);
+        request(REPLACEMENT, 100, false);
+
+        assertThat(statistics.isEjected(INSTANCE)).isTrue();
+        assertThat(statistics.size()).isEqualTo(2);
+    }
+
+    private void request(long millis, boolean failed) {
+        request(INSTANCE, millis, failed);
+    }
+
+    private void request(ServiceInstance instance, long millis, boolean failed) {
+        long start = statistics.start(instance.getHost(), instance.getPort());
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+        statistics.complete("employee", instance.getHost(), instance.getPort(), start, failed);
+    }
+}
@@ -0,0 +1,103 @@
+package com.leap.training.gateway.loadbalancer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.leap.training.gateway.config.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Flux;
+
+class PeakEwmaLoadBalancerTest {
+
+    private static final ServiceInstance FAST = new DefaultServiceInstance("employee-1", "employee", "10.0.0.1", 8081, false);
+
+    private static final ServiceInstance SLOW = new DefaultServiceInstance("employee-2", "employee", "10.0.0.2", 8081, false);
+
+    private final AtomicLong nanoTime = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    private InstanceStatistics statistics;
+
+    private PeakEwmaLoadBalancer loadBalancer;
+
+    @BeforeEach
+    public void setup() {
+        statistics = new InstanceStatistics(new ApplicationProperties(), new SimpleMeterRegistry(), nanoTime::get);
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("serviceInstanceListSupplier", new FixedServiceInstanceListSupplier(List.of(FAST, SLOW)));
+        loadBalancer = new PeakEwmaLoadBalancer(beanFactory.getBeanProvider(ServiceInstanceListSupplier.class), "employee", statistics);
+    }
+
+    @Test
+    void testPreferTheFasterInstance() {
+        request(FAST, 50, false);
+        request(SLOW, 500, false);
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(choose()).isEqualTo(FAST);
+        }
+    }
+
+    @Test
+    void testLeaveEjectedInstancesOut() {
+        request(FAST, 500, false);
+        for (int i = 0; i < new ApplicationProperties().getLoadBalancer().getConsecutiveFailures(); i++) {
+            request(SLOW, 1, true);
+        }
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(choose()).isEqualTo(FAST);
+        }
+    }
+
+    @Test
+    void testUseEjectedInstancesWhenNoOtherIsLeft() {
+        for (int i = 0; i < new ApplicationProperties().getLoadBalancer().getConsecutiveFailures(); i++) {
+            request(FAST, 1, true);
+            request(SLOW, 1, true);
+        }
+
+        assertThat(choose()).isIn(FAST, SLOW);
+    }
+
+    private ServiceInstance choose() {
+        Response<ServiceInstance> response = loadBalancer.choose(new DefaultRequest<>()).block();
+        assertThat(response).isNotNull();
+        assertThat(response.hasServer()).isTrue();
+        return response.getServer();
+    }
+
+    private void request(ServiceInstance instance, long millis, boolean failed) {
+        long start = statistics.start(instance.getHost(), instance.getPort());
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+        statistics.complete("employee", instance.getHost(), instance.getPort(), start, failed);
+    }
+
+    private static class FixedServiceInstanceListSupplier implements ServiceInstanceListSupplier {
+
+        private final List<ServiceInstance> instances;
+
+        FixedServiceInstanceListSupplier(List<ServiceInstance> instances) {
+            this.instances = instances;
+        }
+
+        @Override
+        public String getServiceId() {
+            return "employee";
+        }
+
+        @Override
+        public Flux<List<ServiceInstance>> get() {
+            return Flux.just(instances);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.leap.training.gateway.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.leap.training.gateway.IntegrationTest;
+import com.leap.training.gateway.domain.Region;
+import com.leap.training.gateway.service.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.util.context.Context;
+
+/**
+ * Integration tests for the {@link ReferenceCache} of the repositories, with the cache enabled.
+ */
+@IntegrationTest
+@TestPropertySource(properties = "application.reference-cache.time-to-live=10m")
+class ReferenceCacheIT {
+
+    private static final String DEFAULT_REGION_NAME = "AAAAAAAAAA";
+    private static final String UPDATED_REGION_NAME = "BBBBBBBBBB";
+
+    @Autowired
+    private RegionRepository regionRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private ReactiveTransactionManager transactionManager;
+
+    private Region region;
+
+    @BeforeEach
+    public void initTest() {
+        cleanup();
+        region = regionRepository.save(new Region().regionName(DEFAULT_REGION_NAME)).block();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        try {
+            em.deleteAll(Region.class).block();
+        } catch (Exception e) {
+            // It can fail, if other entities are still referring this - it will be removed later.
+        }
+    }
+
+    @Test
+    void testDoNotKeepRowReadBeforeTheCommit() {
+        Long id = region.getId();
+
+        // A request outside of the transaction reads the row between the update and the commit
+        regionRepository
+            .save(new Region().id(id).regionName(UPDATED_REGION_NAME))
+            .flatMap(updated -> regionRepository.findById(id).contextWrite(context -> Context.empty()))
+            .as(TransactionalOperator.create(transactionManager)::transactional)
+            .block();
+
+        assertThat(regionRepository.findById(id).block().getRegionName()).isEqualTo(UPDATED_REGION_NAME);
+    }
+
+    @Test
+    void testChangingAReadRegionDoesNotChangeTheCachedOne() {
+        Region read = regionRepository.findById(region.getId()).block();
+
+        read.setRegionName(UPDATED_REGION_NAME);
+
+        assertThat(regionRepository.findById(region.getId()).block().getRegionName()).isEqualTo(DEFAULT_REGION_NAME);
+        assertThat(regionRepository.findAll().collectList().block())
+            .extracting(Region::getRegionName)
+            .containsExactly(DEFAULT_REGION_NAME);
+    }
+
+    @Test
+    void testEvictDeletedRegion() {
+        regionRepository.findById(region.getId()).block();
+
+        regionRepository.deleteById(region.getId()).block();
+
+        assertThat(regionRepository.findById(region.getId()).blockOptional()).isEmpty();
+    }
+}
@@ -0,0 +1,137 @@
+package com.leap.training.gateway.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.leap.training.gateway.domain.Country;
+import com.leap.training.gateway.domain.Region;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class ReferenceCacheTest {
+
+    private MeterRegistry meterRegistry;
+
+    private AtomicInteger loads;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void testLoadEachIdOnce() {
+        ReferenceCache<Region> cache = new ReferenceCache<>("region", Duration.ofMinutes(1), 10, meterRegistry);
+
+        assertThat(cache.findById(1L, this::loadRegion).block().getRegionName()).isEqualTo("region-1");
+        assertThat(cache.findById(1L, this::loadRegion).block().getRegionName()).isEqualTo("region-1");
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "region").tag("result", "hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testReturnCopiesOfTheCachedEntity() {
+        ReferenceCache<Region> cache = new ReferenceCache<>("region", Duration.ofMinutes(1), 10, meterRegistry);
+        Region read = cache.findById(1L, this::loadRegion).block();
+
+        read.setRegionName("changed");
+
+        assertThat(cache.findById(1L, this::loadRegion).block().getRegionName()).isEqualTo("region-1");
+        assertThat(cache.findAll(() -> countLoad(Flux.just(new Region().regionName("all")))).blockFirst())
+            .isNotSameAs(cache.findAll(() -> countLoad(Flux.just(new Region().regionName("all")))).blockFirst());
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testDoNotKeepAbsentId() {
+        ReferenceCache<Region> cache = new ReferenceCache<>("region", Duration.ofMinutes(1), 10, meterRegistry);
+
+        assertThat(cache.findById(1L, id -> countLoad(Mono.<Region>empty())).block()).isNull();
+        assertThat(cache.findById(1L, this::loadRegion).block()).isNotNull();
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testReloadAfterEviction() {
+        ReferenceCache<Region> cache = new ReferenceCache<>("region", Duration.ofMinutes(1), 10, meterRegistry);
+        cache.findById(1L, this::loadRegion).block();
+        cache.findAll(() -> countLoad(Flux.just(new Region().regionName("all")))).collectList().block();
+
+        cache.evict(1L);
+        cache.findById(1L, this::loadRegion).block();
+        List<Region> all = cache.findAll(() -> countLoad(Flux.just(new Region().regionName("all")))).collectList().block();
+
+        assertThat(all).hasSize(1);
+        assertThat(loads.get()).isEqualTo(4);
+    }
+
+    @Test
+    void testEvictionClearsDependentCaches() {
+        ReferenceCache<Country> countries = new ReferenceCache<>("country", Duration.ofMinutes(1), 10, meterRegistry);
+        ReferenceCache<Region> regions = new ReferenceCache<Region>("region", Duration.ofMinutes(1), 10, meterRegistry)
+            .invalidates(countries);
+        countries.findById(1L, id -> countLoad(Mono.just(new Country().countryName("country")))).block();
+
+        regions.evict(1L);
+        countries.findById(1L, id -> countLoad(Mono.just(new Country().countryName("country")))).block();
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testEvictTheLeastRecentlyUsedWhenFull() {
+        ReferenceCache<Region> cache = new ReferenceCache<>("region", Duration.ofMinutes(1), 10, meterRegistry);
+        for (long id = 1; id <= 10; id++) {
+            cache.findById(id, this::loadRegion).block();
+        }
+        cache.findById(1L, this::loadRegion).block();
+
+        cache.findById(11L, this::loadRegion).block();
+        assertThat(loads.get()).isEqualTo(11);
+        assertThat(meterRegistry.get("cache.evictions").tag("cache", "region").counter().count()).isEqualTo(1);
+
+        // Only the least recently used id is read again
+        cache.findById(1L, this::loadRegion).block();
+        cache.findById(3L, this::loadRegion).block();
+        assertThat(loads.get()).isEqualTo(11);
+        cache.findById(2L, this::loadRegion).block();
+        assertThat(loads.get()).isEqualTo(12);
+    }
+
+    @Test
+    void testDisabledWithoutTimeToLive() {
+        ReferenceCache<Region> cache = new ReferenceCache<>("region", Duration.ZERO, 10, meterRegistry);
+
+        cache.findById(1L, this::loadRegion).block();
+        cache.findById(1L, this::loadRegion).block();
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private Mono<Region> loadRegion(Long id) {
+        return countLoad(Mono.just(new Region().regionName("region-" + id)));
+    }
+
+    private <T> Mono<T> countLoad(Mono<T> result) {
+        return Mono.defer(() -> {
+            loads.incrementAndGet();
+            return result;
+        });
+    }
+
+    private <T> Flux<T> countLoad(Flux<T> result) {
+        return Flux.defer(() -> {
+            loads.incrementAndGet();
+            return result;
+        });
+    }
+}
@@ -2,15 +2,18 @@ package com.leap.training.gateway.security.jwt;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.leap.training.gateway.config.ApplicationProperties;
 import com.leap.training.gateway.security.AuthoritiesConstants;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.Collections;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.security.core.context.SecurityContext;
@@ -29,7 +32,7 @@ class JWTFilterTest {
         JHipsterProperties jHipsterProperties = new JHipsterProperties();
         String base64Secret = "fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8";
         jHipsterProperties.getSecurity().getAuthentication().getJwt().setBase64Secret(base64Secret);
-        tokenProvider = new TokenProvider(jHipsterProperties);
+        tokenProvider = new TokenProvider(jHipsterProperties, new ApplicationProperties(), new SimpleMeterRegistry());
         ReflectionTestUtils.setField(tokenProvider, "key", Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret)));
 
         ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", 60000);
@@ -63,6 +66,24 @@ class JWTFilterTest {
             .block();
     }
 
+    @Test
+    void testJWTFilterSharesAuthentication() {
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+            "test-user",
+            "test-password",
+            Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.USER))
+        );
+        String jwt = tokenProvider.createToken(authentication, false);
+        MockServerHttpRequest.BaseBuilder request = MockServerHttpRequest
+            .get("/api/test")
+            .header(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + jwt);
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        jwtFilter.filter(exchange, it -> Mono.empty()).block();
+        Authentication shared = exchange.getAttribute(JWTFilter.AUTHENTICATION_ATTRIBUTE);
+        assertThat(shared).isNotNull();
+        assertThat(shared.getName()).isEqualTo("test-user");
+    }
+
     @Test
     void testJWTFilterInvalidToken() {
         String jwt = "wrong_jwt";
@@ -82,6 +103,7 @@ class JWTFilterTest {
                         .then()
             )
             .block();
+        assertThat((Object) exchange.getAttribute(JWTFilter.AUTHENTICATION_ATTRIBUTE)).isNull();
     }
 
     @Test
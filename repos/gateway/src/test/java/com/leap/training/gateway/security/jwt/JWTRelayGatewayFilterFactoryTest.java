@@ -0,0 +1,65 @@
+package com.leap.training.gateway.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+class JWTRelayGatewayFilterFactoryTest {
+
+    private GatewayFilter filter;
+
+    private AtomicReference<ServerWebExchange> relayed;
+
+    private GatewayFilterChain chain;
+
+    @BeforeEach
+    public void setup() {
+        filter = new JWTRelayGatewayFilterFactory().apply(new Object());
+        relayed = new AtomicReference<>();
+        chain =
+            exchange -> {
+                relayed.set(exchange);
+                return Mono.empty();
+            };
+    }
+
+    @Test
+    void testRelayBearerTokenWithoutAuthenticationAttribute() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/services/employee/api/employees").header(JWTFilter.AUTHORIZATION_HEADER, "Bearer token")
+        );
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(relayed.get()).isSameAs(exchange);
+        assertThat(relayed.get().getRequest().getHeaders().getFirst(JWTFilter.AUTHORIZATION_HEADER)).isEqualTo("Bearer token");
+    }
+
+    @Test
+    void testRelayRequestWithoutAuthorizationHeader() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/services/employee/api/employees"));
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(relayed.get()).isSameAs(exchange);
+    }
+
+    @Test
+    void testRejectMalformedAuthorizationHeaderWithoutAuthenticationAttribute() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/services/employee/api/employees").header(JWTFilter.AUTHORIZATION_HEADER, "Basic dXNlcjp1c2Vy")
+        );
+
+        assertThatThrownBy(() -> filter.filter(exchange, chain)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(relayed.get()).isNull();
+    }
+}
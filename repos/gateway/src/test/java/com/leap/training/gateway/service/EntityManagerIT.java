@@ -0,0 +1,132 @@
+package com.leap.training.gateway.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.leap.training.gateway.IntegrationTest;
+import com.leap.training.gateway.config.Constants;
+import com.leap.training.gateway.domain.Authority;
+import com.leap.training.gateway.domain.Region;
+import com.leap.training.gateway.domain.User;
+import com.leap.training.gateway.repository.RegionRepository;
+import com.leap.training.gateway.repository.UserRepository;
+import com.leap.training.gateway.security.AuthoritiesConstants;
+import java.util.List;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for the batched writes of {@link EntityManager}.
+ */
+@IntegrationTest
+class EntityManagerIT {
+
+    private static final String DEFAULT_LOGIN = "johndoe";
+
+    private static final EntityManager.LinkTable USER_AUTHORITY_TABLE = new EntityManager.LinkTable(
+        "jhi_user_authority",
+        "user_id",
+        "authority_name"
+    );
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private RegionRepository regionRepository;
+
+    @Autowired
+    private RegionService regionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    public void init() {
+        cleanup();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        try {
+            entityManager.deleteAll(Region.class).block();
+        } catch (Exception e) {
+            // It can fail, if other entities are still referring this - it will be removed later.
+        }
+        userRepository.deleteAllUserAuthorities().block();
+        userRepository.deleteAll().block();
+    }
+
+    @Test
+    void assertThatInsertAllSetsTheGeneratedIdsInOrder() {
+        List<Region> regions = List.of(
+            new Region().regionName("AAAAAAAAAA"),
+            new Region().regionName("BBBBBBBBBB"),
+            new Region().regionName("CCCCCCCCCC")
+        );
+
+        List<Region> inserted = entityManager.insertAll(regions).collectList().block();
+
+        assertThat(inserted).hasSize(3);
+        assertThat(inserted).extracting(Region::getId).doesNotContainNull().doesNotHaveDuplicates();
+        // each generated id has to be set on the entity whose row it belongs to
+        for (Region region : inserted) {
+            assertThat(regionRepository.findById(region.getId()).block().getRegionName()).isEqualTo(region.getRegionName());
+        }
+    }
+
+    @Test
+    void assertThatSaveAllInsertsNewAndUpdatesExistingEntities() {
+        Region existing = regionRepository.save(new Region().regionName("AAAAAAAAAA")).block();
+        existing.setRegionName("BBBBBBBBBB");
+        Region created = new Region().regionName("CCCCCCCCCC");
+
+        List<Region> saved = entityManager.saveAll(List.of(existing, created)).collectList().block();
+
+        assertThat(saved).containsExactlyInAnyOrder(existing, created);
+        assertThat(created.getId()).isNotNull().isNotEqualTo(existing.getId());
+        assertThat(regionRepository.findById(existing.getId()).block().getRegionName()).isEqualTo("BBBBBBBBBB");
+        assertThat(regionRepository.findById(created.getId()).block().getRegionName()).isEqualTo("CCCCCCCCCC");
+        assertThat(regionRepository.count().block()).isEqualTo(2);
+    }
+
+    @Test
+    void assertThatUpdateAllFailsWhenARowIsMissing() {
+        Region existing = regionRepository.save(new Region().regionName("AAAAAAAAAA")).block();
+        Region missing = new Region().id(existing.getId() + 1000).regionName("BBBBBBBBBB");
+
+        assertThatThrownBy(() -> entityManager.updateAll(List.of(existing, missing)).block()).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void assertThatInsertIntoLinkTableInsertsEveryLink() {
+        User user = new User();
+        user.setLogin(DEFAULT_LOGIN);
+        user.setPassword(RandomStringUtils.random(60));
+        user.setActivated(true);
+        user.setEmail("johndoe@localhost");
+        user.setCreatedBy(Constants.SYSTEM);
+        user = userRepository.save(user).block();
+
+        Integer inserted = entityManager
+            .insertIntoLinkTable(USER_AUTHORITY_TABLE, user.getId(), List.of(AuthoritiesConstants.USER, AuthoritiesConstants.ADMIN))
+            .block();
+
+        assertThat(inserted).isEqualTo(2);
+        assertThat(userRepository.findOneWithAuthoritiesByLogin(DEFAULT_LOGIN).block().getAuthorities())
+            .extracting(Authority::getName)
+            .containsExactlyInAnyOrder(AuthoritiesConstants.USER, AuthoritiesConstants.ADMIN);
+    }
+
+    @Test
+    void assertThatSaveAllInvalidatesTheCachedTotalCount() {
+        long countBefore = regionService.countAllCached().block();
+
+        regionService.saveAll(List.of(new Region().regionName("AAAAAAAAAA"), new Region().regionName("BBBBBBBBBB"))).blockLast();
+
+        assertThat(regionService.countAllCached().block()).isEqualTo(countBefore + 2);
+    }
+}
@@ -0,0 +1,85 @@
+package com.leap.training.gateway.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.leap.training.gateway.IntegrationTest;
+import com.leap.training.gateway.domain.Region;
+import com.leap.training.gateway.repository.RegionRepository;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Integration tests for the {@link TotalCountCache} of the services: a count read by another request between a write
+ * and its commit must not be kept.
+ */
+@IntegrationTest
+class TotalCountCacheIT {
+
+    private static final String DEFAULT_REGION_NAME = "AAAAAAAAAA";
+
+    @Autowired
+    private RegionService regionService;
+
+    @Autowired
+    private RegionRepository regionRepository;
+
+    @Autowired
+    private ReactiveTransactionManager transactionManager;
+
+    @AfterEach
+    public void cleanup() {
+        regionRepository
+            .findAll()
+            .filter(region -> DEFAULT_REGION_NAME.equals(region.getRegionName()))
+            .flatMap(regionRepository::delete)
+            .blockLast();
+    }
+
+    @Test
+    void assertThatCountReadBeforeTheCommitOfASaveIsNotKept() {
+        regionService
+            .save(new Region().regionName(DEFAULT_REGION_NAME))
+            .flatMap(saved -> countOutsideOfTheTransaction())
+            .as(TransactionalOperator.create(transactionManager)::transactional)
+            .block();
+
+        assertThat(regionService.countAllCached().block()).isEqualTo(regionRepository.count().block());
+    }
+
+    @Test
+    void assertThatCountReadBeforeTheCommitOfASaveAllIsNotKept() {
+        regionService
+            .saveAll(List.of(new Region().regionName(DEFAULT_REGION_NAME), new Region().regionName(DEFAULT_REGION_NAME)))
+            .then(countOutsideOfTheTransaction())
+            .as(TransactionalOperator.create(transactionManager)::transactional)
+            .block();
+
+        assertThat(regionService.countAllCached().block()).isEqualTo(regionRepository.count().block());
+    }
+
+    @Test
+    void assertThatCountReadBeforeTheCommitOfADeleteIsNotKept() {
+        Region region = regionRepository.save(new Region().regionName(DEFAULT_REGION_NAME)).block();
+
+        regionService
+            .delete(region.getId())
+            .then(countOutsideOfTheTransaction())
+            .as(TransactionalOperator.create(transactionManager)::transactional)
+            .block();
+
+        assertThat(regionService.countAllCached().block()).isEqualTo(regionRepository.count().block());
+    }
+
+    /**
+     * A request of another user, reading the count between the write and the commit.
+     */
+    private Mono<Long> countOutsideOfTheTransaction() {
+        return regionService.countAllCached().contextWrite(context -> Context.empty());
+    }
+}
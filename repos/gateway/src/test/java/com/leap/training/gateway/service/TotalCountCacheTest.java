@@ -0,0 +1,43 @@
+package com.leap.training.gateway.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+class TotalCountCacheTest {
+
+    private AtomicLong numberOfCounts;
+
+    private TotalCountCache totalCountCache;
+
+    @BeforeEach
+    public void setup() {
+        numberOfCounts = new AtomicLong();
+        totalCountCache = new TotalCountCache(() -> Mono.fromCallable(numberOfCounts::incrementAndGet), Duration.ofMinutes(1));
+    }
+
+    @Test
+    void testCountIsServedFromCache() {
+        assertThat(totalCountCache.get().block()).isEqualTo(1L);
+        assertThat(totalCountCache.get().block()).isEqualTo(1L);
+        assertThat(numberOfCounts.get()).isEqualTo(1L);
+    }
+
+    @Test
+    void testInvalidateCountsAgain() {
+        assertThat(totalCountCache.get().block()).isEqualTo(1L);
+        totalCountCache.invalidate();
+        assertThat(totalCountCache.get().block()).isEqualTo(2L);
+    }
+
+    @Test
+    void testExpiredCountIsCountedAgain() {
+        totalCountCache = new TotalCountCache(() -> Mono.fromCallable(numberOfCounts::incrementAndGet), Duration.ZERO);
+        assertThat(totalCountCache.get().block()).isEqualTo(1L);
+        assertThat(totalCountCache.get().block()).isEqualTo(2L);
+    }
+}
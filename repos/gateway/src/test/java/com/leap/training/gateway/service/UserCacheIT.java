@@ -0,0 +1,113 @@
+package com.leap.training.gateway.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.leap.training.gateway.IntegrationTest;
+import com.leap.training.gateway.config.Constants;
+import com.leap.training.gateway.domain.User;
+import com.leap.training.gateway.repository.UserRepository;
+import com.leap.training.gateway.service.dto.AdminUserDTO;
+import java.util.Collections;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.util.context.Context;
+
+/**
+ * Integration tests for the {@link UserCache}, with the cache enabled.
+ */
+@IntegrationTest
+@TestPropertySource(properties = "application.user-cache.time-to-live=10m")
+class UserCacheIT {
+
+    private static final String DEFAULT_LOGIN = "johndoe";
+
+    private static final String DEFAULT_PASSWORD = "johndoe-password";
+
+    private static final String UPDATED_PASSWORD = "johndoe-new-password";
+
+    private static final String DEFAULT_FIRSTNAME = "john";
+
+    private static final String UPDATED_FIRSTNAME = "jhipster";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ReactiveAuthenticationManager authenticationManager;
+
+    @Autowired
+    private ReactiveTransactionManager transactionManager;
+
+    private User user;
+
+    @BeforeEach
+    public void init() {
+        userRepository.deleteAllUserAuthorities().block();
+        userRepository.deleteAll().block();
+        user = new User();
+        user.setLogin(DEFAULT_LOGIN);
+        user.setPassword(passwordEncoder.encode(DEFAULT_PASSWORD));
+        user.setActivated(true);
+        user.setEmail("johndoe@localhost");
+        user.setFirstName(DEFAULT_FIRSTNAME);
+        user.setLastName("doe");
+        user.setLangKey("en");
+        user.setCreatedBy(Constants.SYSTEM);
+        user = userRepository.save(user).block();
+    }
+
+    @Test
+    void assertThatPreviousPasswordIsRejectedOnceChanged() {
+        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(DEFAULT_LOGIN, DEFAULT_PASSWORD)).block();
+        userService.getUserWithAuthoritiesByLogin(DEFAULT_LOGIN).block();
+
+        userService
+            .changePassword(DEFAULT_PASSWORD, UPDATED_PASSWORD)
+            .contextWrite(
+                ReactiveSecurityContextHolder.withAuthentication(
+                    new UsernamePasswordAuthenticationToken(DEFAULT_LOGIN, DEFAULT_PASSWORD, Collections.emptyList())
+                )
+            )
+            .block();
+
+        assertThatExceptionOfType(BadCredentialsException.class)
+            .isThrownBy(() ->
+                authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(DEFAULT_LOGIN, DEFAULT_PASSWORD)).block()
+            );
+        assertThat(
+            authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(DEFAULT_LOGIN, UPDATED_PASSWORD)).block()
+        )
+            .isNotNull();
+    }
+
+    @Test
+    void assertThatUserReadBeforeTheCommitIsNotKept() {
+        AdminUserDTO userDTO = new AdminUserDTO(userService.getUserWithAuthoritiesByLogin(DEFAULT_LOGIN).block());
+        userDTO.setFirstName(UPDATED_FIRSTNAME);
+
+        // A request outside of the transaction reads the user between the update and the commit
+        userService
+            .updateUser(userDTO)
+            .flatMap(updated -> userService.getUserWithAuthoritiesByLogin(DEFAULT_LOGIN).contextWrite(context -> Context.empty()))
+            .as(TransactionalOperator.create(transactionManager)::transactional)
+            .block();
+
+        assertThat(userService.getUserWithAuthoritiesByLogin(DEFAULT_LOGIN).block().getFirstName()).isEqualTo(UPDATED_FIRSTNAME);
+    }
+}
@@ -0,0 +1,67 @@
+package com.leap.training.gateway.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.leap.training.gateway.config.ApplicationProperties;
+import com.leap.training.gateway.domain.User;
+import com.leap.training.gateway.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+class UserCacheTest {
+
+    private UserRepository userRepository;
+
+    private UserCache userCache;
+
+    private User user;
+
+    @BeforeEach
+    public void setup() {
+        userRepository = mock(UserRepository.class);
+        userCache = new UserCache(userRepository, new ApplicationProperties(), new SimpleMeterRegistry());
+        user = new User();
+        user.setId(1L);
+        user.setLogin("johndoe");
+        user.setEmail("johndoe@localhost");
+        when(userRepository.findOneWithAuthoritiesByLogin("johndoe")).thenReturn(Mono.fromCallable(() -> user));
+    }
+
+    @Test
+    void testUserIsLoadedOnce() {
+        assertThat(userCache.getWithAuthoritiesByLogin("johndoe").block()).isSameAs(user);
+        assertThat(userCache.getWithAuthoritiesByLogin("johndoe").block()).isSameAs(user);
+
+        verify(userRepository, times(1)).findOneWithAuthoritiesByLogin("johndoe");
+    }
+
+    @Test
+    void testMissingUserIsNotKept() {
+        when(userRepository.findOneWithAuthoritiesByLogin("unknown")).thenReturn(Mono.empty());
+
+        assertThat(userCache.getWithAuthoritiesByLogin("unknown").block()).isNull();
+        assertThat(userCache.getWithAuthoritiesByLogin("unknown").block()).isNull();
+
+        verify(userRepository, times(2)).findOneWithAuthoritiesByLogin("unknown");
+    }
+
+    @Test
+    void testEvictForgetsEveryKeyOfTheUser() {
+        userCache.getWithAuthoritiesByLogin("johndoe").block();
+
+        // The login changed: the entry read with the previous login is found through the id
+        User renamed = new User();
+        renamed.setId(1L);
+        renamed.setLogin("janedoe");
+        userCache.evict(renamed);
+
+        userCache.getWithAuthoritiesByLogin("johndoe").block();
+        verify(userRepository, times(2)).findOneWithAuthoritiesByLogin("johndoe");
+    }
+}
@@ -0,0 +1,72 @@
+package com.leap.training.gateway.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptiveLimitTest {
+
+    private static final long RTT = 10_000_000L;
+
+    @Test
+    void testGrowWhileTheLatencyIsSteady() {
+        AdaptiveLimit limit = new AdaptiveLimit(20, 5, 100, 0.2);
+
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(RTT, limit.getLimit());
+        }
+
+        assertThat(limit.getLimit()).isGreaterThan(20).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    void testDoNotGrowWhenTheLimitIsNotUsed() {
+        AdaptiveLimit limit = new AdaptiveLimit(20, 5, 100, 0.2);
+
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(RTT, 2);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void testShrinkWhenTheLatencyRises() {
+        AdaptiveLimit limit = new AdaptiveLimit(50, 5, 100, 0.2);
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(RTT, 0);
+        }
+
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(4 * RTT, limit.getLimit());
+        }
+
+        assertThat(limit.getLimit()).isLessThan(50).isGreaterThanOrEqualTo(5);
+    }
+
+    @Test
+    void testShrinkOnDrops() {
+        AdaptiveLimit limit = new AdaptiveLimit(20, 5, 100, 0.2);
+
+        limit.onDropped();
+        assertThat(limit.getLimit()).isEqualTo(18);
+
+        for (int i = 0; i < 50; i++) {
+            limit.onDropped();
+        }
+        assertThat(limit.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void testRejectBeyondTheLimit() {
+        AdaptiveLimit limit = new AdaptiveLimit(2, 1, 10, 0.2);
+
+        assertThat(limit.tryAcquire()).isZero();
+        assertThat(limit.tryAcquire()).isEqualTo(1);
+        assertThat(limit.tryAcquire()).isNegative();
+
+        limit.release();
+        assertThat(limit.tryAcquire()).isEqualTo(1);
+        assertThat(limit.getInFlight()).isEqualTo(2);
+    }
+}
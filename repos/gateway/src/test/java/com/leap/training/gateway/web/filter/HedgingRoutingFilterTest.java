@@ -0,0 +1,244 @@
+package com.leap.training.gateway.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+import com.leap.training.gateway.config.ApplicationProperties;
+import com.leap.training.gateway.loadbalancer.InstanceStatistics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.timeout.ReadTimeoutException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+class HedgingRoutingFilterTest {
+
+    private static final ServiceInstance PRIMARY = new DefaultServiceInstance("employee-1", "employee", "10.0.0.1", 8081, false);
+
+    private static final ServiceInstance EJECTED = new DefaultServiceInstance("employee-2", "employee", "10.0.0.2", 8081, false);
+
+    private static final ServiceInstance SLOW = new DefaultServiceInstance("employee-3", "employee", "10.0.0.3", 8081, false);
+
+    private static final ServiceInstance FAST = new DefaultServiceInstance("employee-4", "employee", "10.0.0.4", 8081, false);
+
+    private static final String PATH = "/api/employees";
+
+    private final AtomicLong nanoTime = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    private final AtomicInteger forwarded = new AtomicInteger();
+
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.incrementAndGet();
+        exchange.getResponse().setStatusCode(HttpStatus.OK);
+        return exchange.getResponse().setComplete();
+    };
+
+    /**
+     * Hosts of the requests sent by the filter, in order.
+     */
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+
+    /**
+     * Responses of the instances by host; an instance left out never answers.
+     */
+    private final Map<String, ClientResponse> responses = new ConcurrentHashMap<>();
+
+    /**
+     * Errors of the instances by host, instead of a response.
+     */
+    private final Map<String, Throwable> errors = new ConcurrentHashMap<>();
+
+    private ApplicationProperties applicationProperties;
+
+    private MeterRegistry meterRegistry;
+
+    private InstanceStatistics statistics;
+
+    private List<ServiceInstance> instances;
+
+    @BeforeEach
+    public void setup() {
+        applicationProperties = new ApplicationProperties();
+        ApplicationProperties.Hedging hedging = applicationProperties.getHedging();
+        hedging.getServices().add("employee");
+        hedging.setInitialDelay(Duration.ofMillis(10));
+        hedging.setMinDelay(Duration.ofMillis(10));
+        // Every request may be hedged
+        hedging.setBudgetRatio(1);
+        meterRegistry = new SimpleMeterRegistry();
+        statistics = new InstanceStatistics(applicationProperties, meterRegistry, nanoTime::get);
+        instances = List.of(PRIMARY, FAST);
+    }
+
+    @Test
+    void testDoNotHedgeAFastAnswer() {
+        responses.put(PRIMARY.getHost(), ok("[{\"id\":1}]"));
+
+        MockServerWebExchange exchange = exchange();
+        filter().filter(exchange, chain).block(Duration.ofSeconds(5));
+
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("[{\"id\":1}]");
+        assertThat(sent).containsExactly(PRIMARY.getHost());
+        assertThat(forwarded).hasValue(0);
+    }
+
+    @Test
+    void testAnswerFromTheBackupWhenThePrimaryIsSlow() {
+        responses.put(FAST.getHost(), ok("[{\"id\":4}]"));
+
+        MockServerWebExchange exchange = exchange();
+        filter().filter(exchange, chain).block(Duration.ofSeconds(5));
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("[{\"id\":4}]");
+        assertThat(sent).containsExactly(PRIMARY.getHost(), FAST.getHost());
+        assertThat(meterRegistry.get("gateway.hedges").tag("result", "won").counter().count()).isEqualTo(1);
+        assertThat(exchange.<Boolean>getAttribute(InstanceStatisticsFilter.ANSWERED_ELSEWHERE_ATTR)).isTrue();
+    }
+
+    @Test
+    void testMeasureTheRequestsSentToTheBackup() {
+        for (int i = 0; i < applicationProperties.getLoadBalancer().getConsecutiveFailures(); i++) {
+            responses.put(FAST.getHost(), ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build());
+            filter().filter(exchange(), chain).block(Duration.ofSeconds(5));
+        }
+
+        assertThat(statistics.cheapest(List.of(FAST))).isEmpty();
+        assertThat(meterRegistry.get("gateway.loadbalancer.ejections").tag("service", "employee").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testSendTheBackupToTheCheapestInstanceLeftIn() {
+        instances = List.of(PRIMARY, EJECTED, SLOW, FAST);
+        for (int i = 0; i < applicationProperties.getLoadBalancer().getConsecutiveFailures(); i++) {
+            request(EJECTED, 1, true);
+        }
+        request(SLOW, 500, false);
+        request(FAST, 50, false);
+        responses.put(EJECTED.getHost(), ok("ejected"));
+        responses.put(SLOW.getHost(), ok("slow"));
+        responses.put(FAST.getHost(), ok("fast"));
+
+        MockServerWebExchange exchange = exchange();
+        filter().filter(exchange, chain).block(Duration.ofSeconds(5));
+
+        assertThat(sent).containsExactly(PRIMARY.getHost(), FAST.getHost());
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("fast");
+    }
+
+    @Test
+    void testStreamALargeResponseOnce() {
+        String body = "x".repeat((int) DataSize.ofMegabytes(1).toBytes());
+        responses.put(PRIMARY.getHost(), ok(body));
+
+        MockServerWebExchange exchange = exchange();
+        filter().filter(exchange, chain).block(Duration.ofSeconds(5));
+
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo(body);
+        assertThat(sent).containsExactly(PRIMARY.getHost());
+        assertThat(forwarded).hasValue(0);
+    }
+
+    @Test
+    void testAnswerBadGatewayWhenThePrimaryFailsAndTheBudgetIsEmpty() {
+        applicationProperties.getHedging().setBudgetRatio(0);
+        applicationProperties.getHedging().setBudgetMinPerSecond(0);
+        errors.put(PRIMARY.getHost(), new ConnectException("Connection refused"));
+
+        assertThatThrownBy(() -> filter().filter(exchange(), chain).block(Duration.ofSeconds(5)))
+            .isInstanceOf(ResponseStatusException.class)
+            .extracting("status")
+            .isEqualTo(HttpStatus.BAD_GATEWAY);
+        assertThat(sent).containsExactly(PRIMARY.getHost());
+        assertThat(meterRegistry.get("gateway.hedges").tag("result", "skipped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testAnswerGatewayTimeoutWhenThePrimaryTimesOutAndTheBackupFails() {
+        errors.put(PRIMARY.getHost(), ReadTimeoutException.INSTANCE);
+        errors.put(FAST.getHost(), new ConnectException("Connection refused"));
+
+        assertThatThrownBy(() -> filter().filter(exchange(), chain).block(Duration.ofSeconds(5)))
+            .isInstanceOf(ResponseStatusException.class)
+            .extracting("status")
+            .isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+        assertThat(sent).containsExactly(PRIMARY.getHost(), FAST.getHost());
+    }
+
+    @SuppressWarnings("unchecked")
+    private HedgingRoutingFilter filter() {
+        ReactiveDiscoveryClient discoveryClient = mock(ReactiveDiscoveryClient.class);
+        when(discoveryClient.getInstances("employee")).thenReturn(Flux.fromIterable(instances));
+        ObjectProvider<List<HttpHeadersFilter>> headersFilters = mock(ObjectProvider.class);
+        when(headersFilters.getIfAvailable(any())).thenReturn(List.of());
+        WebClient.Builder webClientBuilder = WebClient
+            .builder()
+            .exchangeFunction(request -> {
+                sent.add(request.url().getHost());
+                Throwable error = errors.get(request.url().getHost());
+                if (error != null) {
+                    return Mono.error(error);
+                }
+                ClientResponse response = responses.get(request.url().getHost());
+                return response != null ? Mono.just(response) : Mono.never();
+            });
+        return new HedgingRoutingFilter(
+            applicationProperties,
+            discoveryClient,
+            statistics,
+            webClientBuilder,
+            HttpClient.create(),
+            headersFilters,
+            meterRegistry
+        );
+    }
+
+    private MockServerWebExchange exchange() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/services/employee" + PATH));
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, Route.async().id("employee").uri("lb://employee").predicate(e -> true).build());
+        exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, URI.create("http://" + PRIMARY.getHost() + ":" + PRIMARY.getPort() + PATH));
+        return exchange;
+    }
+
+    private static ClientResponse ok(String body) {
+        return ClientResponse.create(HttpStatus.OK).body(body).build();
+    }
+
+    private void request(ServiceInstance instance, long millis, boolean failed) {
+        long start = statistics.start(instance.getHost(), instance.getPort());
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+        statistics.complete("employee", instance.getHost(), instance.getPort(), start, failed);
+    }
+}
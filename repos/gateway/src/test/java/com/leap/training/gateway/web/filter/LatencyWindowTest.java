@@ -0,0 +1,34 @@
+package com.leap.training.gateway.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyWindowTest {
+
+    @Test
+    void testUnknownUntilEnoughSamples() {
+        LatencyWindow window = new LatencyWindow(100);
+        for (int i = 1; i < 20; i++) {
+            window.record(i);
+        }
+        assertThat(window.percentile(0.95)).isEqualTo(-1);
+
+        window.record(20);
+        assertThat(window.percentile(0.95)).isEqualTo(19);
+    }
+
+    @Test
+    void testKeepOnlyTheMostRecentSamples() {
+        LatencyWindow window = new LatencyWindow(20);
+        for (int i = 1; i <= 20; i++) {
+            window.record(1000);
+        }
+        assertThat(window.percentile(0.5)).isEqualTo(1000);
+
+        for (int i = 1; i <= 20; i++) {
+            window.record(i);
+        }
+        assertThat(window.percentile(0.5)).isEqualTo(10);
+    }
+}
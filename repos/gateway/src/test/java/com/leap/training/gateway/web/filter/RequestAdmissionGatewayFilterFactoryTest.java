@@ -0,0 +1,141 @@
+package com.leap.training.gateway.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+import com.leap.training.gateway.config.ApplicationProperties;
+import com.leap.training.gateway.security.jwt.JWTFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class RequestAdmissionGatewayFilterFactoryTest {
+
+    private final AtomicInteger forwarded = new AtomicInteger();
+
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.incrementAndGet();
+        return Mono.empty();
+    };
+
+    private MeterRegistry meterRegistry;
+
+    private ApplicationProperties applicationProperties;
+
+    private GatewayFilter filter;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        applicationProperties = new ApplicationProperties();
+        ApplicationProperties.RequestAdmission.Limits limits = new ApplicationProperties.RequestAdmission.Limits();
+        limits.setCapacity(2);
+        limits.setRefillTokens(1);
+        limits.setRefillPeriod(Duration.ofHours(1));
+        limits.setMaxInFlight(1);
+        applicationProperties.getRequestAdmission().getServices().put("employee", limits);
+        filter = new RequestAdmissionGatewayFilterFactory(applicationProperties, meterRegistry).apply(new Object());
+    }
+
+    @Test
+    void testRejectBeyondTheBucketCapacity() {
+        MockServerWebExchange first = exchange("employee", "user");
+        filter.filter(first, chain).block();
+        filter.filter(exchange("employee", "user"), chain).block();
+        MockServerWebExchange third = exchange("employee", "user");
+        filter.filter(third, chain).block();
+
+        assertThat(forwarded).hasValue(2);
+        assertThat(first.getResponse().getHeaders().getFirst(RequestAdmissionGatewayFilterFactory.RATE_LIMIT_REMAINING_HEADER))
+            .isEqualTo("1");
+        assertThat(third.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(third.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isNotNull();
+        assertThat(meterRegistry.get("gateway.requests.rejected").tag("service", "employee").tag("reason", "rate").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testKeepABucketPerUserAndService() {
+        filter.filter(exchange("employee", "user"), chain).block();
+        filter.filter(exchange("employee", "user"), chain).block();
+        filter.filter(exchange("employee", "admin"), chain).block();
+        filter.filter(exchange("document", "user"), chain).block();
+
+        assertThat(forwarded).hasValue(4);
+    }
+
+    @Test
+    void testRejectBeyondMaxInFlight() {
+        applicationProperties.getRequestAdmission().getServices().get("employee").setCapacity(10);
+        Sinks.Empty<Void> response = Sinks.empty();
+        GatewayFilterChain slowChain = exchange -> {
+            forwarded.incrementAndGet();
+            return response.asMono();
+        };
+
+        filter.filter(exchange("employee", "user"), slowChain).subscribe();
+        MockServerWebExchange concurrent = exchange("employee", "user");
+        filter.filter(concurrent, slowChain).block();
+
+        assertThat(forwarded).hasValue(1);
+        assertThat(concurrent.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(meterRegistry.get("gateway.requests.rejected").tag("reason", "concurrency").counter().count()).isEqualTo(1);
+
+        response.tryEmitEmpty();
+        filter.filter(exchange("employee", "user"), chain).block();
+        assertThat(forwarded).hasValue(2);
+    }
+
+    @Test
+    void testDoNotSpendATokenOnARequestRejectedForConcurrency() {
+        Sinks.Empty<Void> response = Sinks.empty();
+        GatewayFilterChain slowChain = exchange -> {
+            forwarded.incrementAndGet();
+            return response.asMono();
+        };
+
+        filter.filter(exchange("employee", "user"), slowChain).subscribe();
+        filter.filter(exchange("employee", "user"), slowChain).block();
+        response.tryEmitEmpty();
+        MockServerWebExchange next = exchange("employee", "user");
+        filter.filter(next, chain).block();
+
+        assertThat(forwarded).hasValue(2);
+        assertThat(next.getResponse().getHeaders().getFirst(RequestAdmissionGatewayFilterFactory.RATE_LIMIT_REMAINING_HEADER))
+            .isEqualTo("0");
+    }
+
+    @Test
+    void testReleaseTheSlotOfARequestRejectedForRate() {
+        for (int i = 0; i < 4; i++) {
+            filter.filter(exchange("employee", "user"), chain).block();
+        }
+
+        // A slot kept by the first rejected request would turn the second rejection into a concurrency one
+        assertThat(meterRegistry.get("gateway.requests.rejected").tag("reason", "rate").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.find("gateway.requests.rejected").tag("reason", "concurrency").counter()).isNull();
+    }
+
+    private static MockServerWebExchange exchange(String serviceId, String login) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/services/" + serviceId + "/api/employees"));
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, Route.async().id(serviceId).uri("lb://" + serviceId).predicate(e -> true).build());
+        exchange
+            .getAttributes()
+            .put(JWTFilter.AUTHENTICATION_ATTRIBUTE, new UsernamePasswordAuthenticationToken(login, "token", Collections.emptyList()));
+        return exchange;
+    }
+}
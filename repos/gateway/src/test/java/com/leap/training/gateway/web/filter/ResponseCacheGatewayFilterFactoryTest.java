@@ -0,0 +1,257 @@
+package com.leap.training.gateway.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+import com.leap.training.gateway.config.ApplicationProperties;
+import com.leap.training.gateway.security.AuthoritiesConstants;
+import com.leap.training.gateway.security.jwt.JWTFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+class ResponseCacheGatewayFilterFactoryTest {
+
+    private static final String PATH = "/services/employee/api/regions";
+
+    private final AtomicInteger forwarded = new AtomicInteger();
+
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.incrementAndGet();
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.OK);
+        return response.writeWith(
+            Mono.fromSupplier(() -> response.bufferFactory().wrap(("[{\"id\":" + forwarded.get() + "}]").getBytes(StandardCharsets.UTF_8)))
+        );
+    };
+
+    private MeterRegistry meterRegistry;
+
+    private ApplicationProperties applicationProperties;
+
+    private MutableClock clock;
+
+    private GatewayFilter filter;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getResponseCache().getPaths().add("/services/*/api/regions/**");
+        clock = new MutableClock();
+        filter = new ResponseCacheGatewayFilterFactory(applicationProperties, meterRegistry, clock)
+            .apply(new ResponseCacheGatewayFilterFactory.Config());
+    }
+
+    @Test
+    void testServeRepeatedGetsFromCache() {
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get(PATH), AuthoritiesConstants.USER);
+        filter.filter(first, chain).block();
+        MockServerWebExchange second = exchange(MockServerHttpRequest.get(PATH), AuthoritiesConstants.USER);
+        filter.filter(second, chain).block();
+
+        assertThat(forwarded).hasValue(1);
+        assertThat(second.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo("[{\"id\":1}]");
+        assertThat(second.getResponse().getHeaders().getETag()).isEqualTo(first.getResponse().getHeaders().getETag()).isNotNull();
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "responses").tag("result", "hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testAnswerIfNoneMatchWithNotModified() {
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get(PATH), AuthoritiesConstants.USER);
+        filter.filter(first, chain).block();
+        String etag = first.getResponse().getHeaders().getETag();
+
+        MockServerWebExchange second = exchange(MockServerHttpRequest.get(PATH).ifNoneMatch(etag), AuthoritiesConstants.USER);
+        filter.filter(second, chain).block();
+
+        assertThat(forwarded).hasValue(1);
+        assertThat(second.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(second.getResponse().getBodyAsString().blockOptional()).isEmpty();
+    }
+
+    @Test
+    void testKeepResponsesPerAuthoritiesAndQuery() {
+        filter.filter(exchange(MockServerHttpRequest.get(PATH), AuthoritiesConstants.USER), chain).block();
+        filter.filter(exchange(MockServerHttpRequest.get(PATH), AuthoritiesConstants.ADMIN), chain).block();
+        filter.filter(exchange(MockServerHttpRequest.get(PATH + "?page=1"), AuthoritiesConstants.USER), chain).block();
+
+        assertThat(forwarded).hasValue(3);
+    }
+
+    @Test
+    void testKeepResponsesPerAcceptAndAcceptEncoding() {
+        filter.filter(exchange(getWithHeader(HttpHeaders.ACCEPT_ENCODING, "gzip"), AuthoritiesConstants.USER), chain).block();
+        filter.filter(exchange(MockServerHttpRequest.get(PATH), AuthoritiesConstants.USER), chain).block();
+        filter.filter(exchange(getWithHeader(HttpHeaders.ACCEPT, "text/csv"), AuthoritiesConstants.USER), chain).block();
+        assertThat(forwarded).hasValue(3);
+
+        MockServerWebExchange gzip = exchange(getWithHeader(HttpHeaders.ACCEPT_ENCODING, "gzip"), AuthoritiesConstants.USER);
+        filter.filter(gzip, chain).block();
+        assertThat(forwarded).hasValue(3);
+        assertThat(gzip.getResponse().getBodyAsString().block()).isEqualTo("[{\"id\":1}]");
+    }
+
+    @Test
+    void testServeOnlyToTheSameVaryingHeaders() {
+        GatewayFilterChain varyingChain = exchange -> {
+            exchange.getResponse().getHeaders().setVary(List.of(HttpHeaders.ORIGIN));
+            return chain.filter(exchange);
+        };
+        filter.filter(exchange(getWithHeader(HttpHeaders.ORIGIN, "http://a"), AuthoritiesConstants.USER), varyingChain).block();
+        filter.filter(exchange(getWithHeader(HttpHeaders.ORIGIN, "http://a"), AuthoritiesConstants.USER), varyingChain).block();
+        assertThat(forwarded).hasValue(1);
+
+        filter.filter(exchange(getWithHeader(HttpHeaders.ORIGIN, "http://b"), AuthoritiesConstants.USER), varyingChain).block();
+        assertThat(forwarded).hasValue(2);
+    }
+
+    @Test
+    void testDoNotCacheVaryStar() {
+        GatewayFilterChain varyingChain = exchange -> {
+            exchange.getResponse().getHeaders().setVary(List.of("*"));
+            return chain.filter(exchange);
+        };
+        filter.filter(exchange(MockServerHttpRequest.get(PATH), AuthoritiesConstants.USER), varyingChain).block();
+        filter.filter(exchange(MockServerHttpRequest.get(PATH), AuthoritiesConstants.USER), varyingChain).block();
+
+        assertThat(forwarded).hasValue(2);
+    }
+
+    @Test
+    void testDropLeastRecentlyUsedWhenFull() {
+        // Room for three bodies of 10 bytes
+        applicationProperties.getResponseCache().setMaxSize(DataSize.ofBytes(30));
+        for (int page = 1; page <= 3; page++) {
+            filter.filter(exchange(MockServerHttpRequest.get(PATH + "?page=" + page), AuthoritiesConstants.USER), chain).block();
+            clock.advance(Duration.ofSeconds(1));
+        }
+        filter.filter(exchange(MockServerHttpRequest.get(PATH + "?page=1"), AuthoritiesConstants.USER), chain).block();
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(forwarded).hasValue(3);
+
+        filter.filter(exchange(MockServerHttpRequest.get(PATH + "?page=4"), AuthoritiesConstants.USER), chain).block();
+        assertThat(forwarded).hasValue(4);
+
+        // Page 2 was the least recently used
+        filter.filter(exchange(MockServerHttpRequest.get(PATH + "?page=1"), AuthoritiesConstants.USER), chain).block();
+        filter.filter(exchange(MockServerHttpRequest.get(PATH + "?page=3"), AuthoritiesConstants.USER), chain).block();
+        assertThat(forwarded).hasValue(4);
+        filter.filter(exchange(MockServerHttpRequest.get(PATH + "?page=2"), AuthoritiesConstants.USER), chain).block();
+        assertThat(forwarded).hasValue(5);
+    }
+
+    @Test
+    void testForwardAfterExpiration() {
+        filter.filter(exchange(MockServerHttpRequest.get(PATH), AuthoritiesConstants.USER), chain).block();
+        clock.advance(applicationProperties.getResponseCache().getTimeToLive());
+        filter.filter(exchange(MockServerHttpRequest.get(PATH), AuthoritiesConstants.USER), chain).block();
+
+        assertThat(forwarded).hasValue(2);
+    }
+
+    @Test
+    void testEvictRouteOnWrite() {
+        filter.filter(exchange(MockServerHttpRequest.get(PATH), AuthoritiesConstants.USER), chain).block();
+        filter.filter(exchange(MockServerHttpRequest.post(PATH), AuthoritiesConstants.USER), chain).block();
+        filter.filter(exchange(MockServerHttpRequest.get(PATH), AuthoritiesConstants.USER), chain).block();
+
+        assertThat(forwarded).hasValue(3);
+    }
+
+    @Test
+    void testDoNotCacheOtherPathsNorLargeBodies() {
+        filter.filter(exchange(MockServerHttpRequest.get("/services/employee/api/employees"), AuthoritiesConstants.USER), chain).block();
+        filter.filter(exchange(MockServerHttpRequest.get("/services/employee/api/employees"), AuthoritiesConstants.USER), chain).block();
+        assertThat(forwarded).hasValue(2);
+
+        applicationProperties.getResponseCache().setMaxBodySize(DataSize.ofBytes(4));
+        MockServerWebExchange large = exchange(MockServerHttpRequest.get(PATH), AuthoritiesConstants.USER);
+        filter.filter(large, chain).block();
+        filter.filter(exchange(MockServerHttpRequest.get(PATH), AuthoritiesConstants.USER), chain).block();
+        assertThat(forwarded).hasValue(4);
+        assertThat(large.getResponse().getBodyAsString().block()).isEqualTo("[{\"id\":3}]");
+    }
+
+    @Test
+    void testServeStaleResponseWhenTheRouteFails() {
+        GatewayFilterChain failingChain = exchange -> Mono.error(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE));
+        filter.filter(exchange(MockServerHttpRequest.get(PATH), AuthoritiesConstants.USER), chain).block();
+        clock.advance(applicationProperties.getResponseCache().getTimeToLive());
+
+        MockServerWebExchange stale = exchange(MockServerHttpRequest.get(PATH), AuthoritiesConstants.USER);
+        filter.filter(stale, failingChain).block();
+
+        assertThat(stale.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(stale.getResponse().getBodyAsString().block()).isEqualTo("[{\"id\":1}]");
+        assertThat(stale.getResponse().getHeaders().getFirst(HttpHeaders.WARNING)).startsWith("110");
+
+        clock.advance(applicationProperties.getResponseCache().getStaleIfError());
+        assertThatThrownBy(() -> filter.filter(exchange(MockServerHttpRequest.get(PATH), AuthoritiesConstants.USER), failingChain).block())
+            .isInstanceOf(ResponseStatusException.class);
+    }
+
+    private static MockServerHttpRequest.BaseBuilder<?> getWithHeader(String name, String value) {
+        return MockServerHttpRequest.get(PATH).header(name, value);
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request, String authority) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, Route.async().id("employee").uri("lb://employee").predicate(e -> true).build());
+        exchange
+            .getAttributes()
+            .put(
+                JWTFilter.AUTHENTICATION_ATTRIBUTE,
+                new UsernamePasswordAuthenticationToken("user", "token", List.of(new SimpleGrantedAuthority(authority)))
+            );
+        return exchange;
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant = Instant.parse("2026-10-17T10:00:00Z");
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
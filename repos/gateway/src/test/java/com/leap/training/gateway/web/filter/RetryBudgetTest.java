@@ -0,0 +1,50 @@
+package com.leap.training.gateway.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class RetryBudgetTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    @Test
+    void testAllowAShareOfTheRequests() {
+        RetryBudget budget = new RetryBudget(0.25, 0, nanoTime::get);
+
+        for (int i = 0; i < 3; i++) {
+            budget.deposit();
+        }
+        assertThat(budget.tryWithdraw()).isFalse();
+
+        budget.deposit();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+    }
+
+    @Test
+    void testRefillTheMinimumEverySecond() {
+        RetryBudget budget = new RetryBudget(0.1, 2, nanoTime::get);
+        assertThat(budget.tryWithdraw()).isFalse();
+
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+    }
+
+    @Test
+    void testCapTheBalance() {
+        RetryBudget budget = new RetryBudget(0.1, 2, nanoTime::get);
+
+        nanoTime.addAndGet(TimeUnit.HOURS.toNanos(1));
+        int allowed = 0;
+        while (budget.tryWithdraw()) {
+            allowed++;
+        }
+
+        assertThat(allowed).isEqualTo(20);
+    }
+}
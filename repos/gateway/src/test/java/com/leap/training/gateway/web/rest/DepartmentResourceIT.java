@@ -8,6 +8,7 @@ import com.leap.training.gateway.IntegrationTest;
 import com.leap.training.gateway.domain.Department;
 import com.leap.training.gateway.repository.DepartmentRepository;
 import com.leap.training.gateway.service.EntityManager;
+import java.net.URI;
 import java.time.Duration;
 import java.util.List;
 import java.util.Random;
@@ -17,6 +18,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -175,6 +177,45 @@ class DepartmentResourceIT {
             .value(hasItem(DEFAULT_DEPARTMENT_NAME));
     }
 
+    @Test
+    void getAllDepartmentsWithKeysetPaginationOnName() {
+        // Initialize the database with two departments of the same name, ordered by their id
+        departmentRepository.save(department).block();
+        Department nextDepartment = createEntity(em);
+        departmentRepository.save(nextDepartment).block();
+
+        // Get the first page, which links to the following one
+        String link = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=departmentName,asc&size=1&after=")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(hasItem(department.getId().intValue()))
+            .returnResult()
+            .getResponseHeaders()
+            .getFirst(HttpHeaders.LINK);
+        assertThat(link).contains("rel=\"next\"");
+
+        // Follow the link to the second page
+        String next = link.substring(link.indexOf("/api/"), link.indexOf('>'));
+        webTestClient
+            .get()
+            .uri(URI.create(next))
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(hasItem(nextDepartment.getId().intValue()))
+            .jsonPath("$.length()")
+            .isEqualTo(1);
+    }
+
     @Test
     void getDepartment() {
         // Initialize the database
@@ -8,6 +8,7 @@ import com.leap.training.gateway.IntegrationTest;
 import com.leap.training.gateway.domain.Employee;
 import com.leap.training.gateway.repository.EmployeeRepository;
 import com.leap.training.gateway.service.EntityManager;
+import java.net.URI;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -19,6 +20,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -206,6 +208,157 @@ class EmployeeResourceIT {
             .value(hasItem(DEFAULT_COMMISSION_PCT.intValue()));
     }
 
+    @Test
+    void getAllEmployeesWithKeysetPagination() {
+        // Initialize the database
+        employeeRepository.save(employee).block();
+        Employee nextEmployee = createEntity(em);
+        employeeRepository.save(nextEmployee).block();
+
+        // Get the first page, which links to the following one
+        String link = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,asc&size=1&after=")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(hasItem(employee.getId().intValue()))
+            .returnResult()
+            .getResponseHeaders()
+            .getFirst(HttpHeaders.LINK);
+        assertThat(link).contains("rel=\"next\"");
+
+        // Follow the link to the second page
+        String next = link.substring(link.indexOf("/api/"), link.indexOf('>'));
+        webTestClient
+            .get()
+            .uri(URI.create(next))
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(hasItem(nextEmployee.getId().intValue()))
+            .jsonPath("$.length()")
+            .isEqualTo(1);
+    }
+
+    @Test
+    void getAllEmployeesWithInvalidCursor() {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,asc&after=not-a-cursor")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
+    @Test
+    void getAllEmployeesWithKeysetPaginationOnNullableProperty() {
+        // A null first name would have no place in the keyset order
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=firstName,asc&after=")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
+    @Test
+    void getAllEmployeesWithKeysetPaginationOnUnknownProperty() {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=unknown,asc&after=")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
+    @Test
+    void getAllEmployeesWithFields() {
+        // Initialize the database
+        employeeRepository.save(employee).block();
+
+        // Get only the names and emails
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc&fields=firstName,email")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(hasItem(employee.getId().intValue()))
+            .jsonPath("$.[*].firstName")
+            .value(hasItem(DEFAULT_FIRST_NAME))
+            .jsonPath("$.[*].email")
+            .value(hasItem(DEFAULT_EMAIL))
+            .jsonPath("$.[0].lastName")
+            .doesNotExist()
+            .jsonPath("$.[0].job")
+            .doesNotExist();
+    }
+
+    @Test
+    void getAllEmployeesWithUnknownField() {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?fields=firstName,password")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
+    @Test
+    void exportEmployeesAsNdjson() {
+        // Initialize the database
+        employeeRepository.save(employee).block();
+
+        List<Employee> exported = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/export")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .returnResult(Employee.class)
+            .getResponseBody()
+            .collectList()
+            .block(Duration.ofSeconds(10));
+
+        assertThat(exported).extracting(Employee::getId).contains(employee.getId());
+    }
+
+    @Test
+    void exportEmployeesAsCsv() {
+        // Initialize the database
+        employeeRepository.save(employee).block();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/export")
+            .accept(MediaType.parseMediaType("text/csv"))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(String.class)
+            .value(body -> {
+                assertThat(body).startsWith("id,firstName,lastName,");
+                assertThat(body).contains(employee.getId() + "," + DEFAULT_FIRST_NAME + "," + DEFAULT_LAST_NAME + ",");
+            });
+    }
+
     @Test
     void getEmployee() {
         // Initialize the database